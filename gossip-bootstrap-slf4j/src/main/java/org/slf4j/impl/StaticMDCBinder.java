@@ -15,7 +15,7 @@
  */
 package org.slf4j.impl;
 
-import org.slf4j.helpers.BasicMDCAdapter;
+import com.planet57.gossip.GossipMDCAdapter;
 import org.slf4j.spi.MDCAdapter;
 
 /**
@@ -29,7 +29,7 @@ public final class StaticMDCBinder
 {
   public static final StaticMDCBinder SINGLETON = new StaticMDCBinder();
 
-  private final BasicMDCAdapter adapter = new BasicMDCAdapter();
+  private final GossipMDCAdapter adapter = new GossipMDCAdapter();
 
   public MDCAdapter getMDCA() {
     return adapter;
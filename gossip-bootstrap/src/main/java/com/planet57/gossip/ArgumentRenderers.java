@@ -0,0 +1,245 @@
+/*
+ * Copyright (c) 2009-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.planet57.gossip;
+
+import java.lang.ref.WeakReference;
+import java.net.URL;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.annotation.Nullable;
+
+import org.slf4j.Logger;
+
+/**
+ * Registry of {@link ArgumentRenderer} by type.
+ *
+ * A renderer registered for a type is used for its sub-types, and implementations of interfaces; the renderer
+ * resolved for each argument class is cached, while any renderers are registered.  Registries are read from
+ * {@link #RESOURCE}, as properties of renderer class name by type name; types which are not present are ignored.
+ *
+ * Registered types and renderers are strongly held, as are their class-loaders; see {@link #unload(ClassLoader)}.
+ *
+ * @since 2.0.1
+ */
+public final class ArgumentRenderers
+{
+  private static final Logger log = Log.getLogger(ArgumentRenderers.class);
+
+  /**
+   * Registry resource; properties of renderer class name by type name.
+   */
+  public static final String RESOURCE = "META-INF/com.planet57.gossip/renderers.properties";
+
+  private static final ConcurrentMap<Class<?>, ArgumentRenderer<?>> renderers =
+      new ConcurrentHashMap<Class<?>, ArgumentRenderer<?>>();
+
+  /**
+   * Resolutions by argument class name; replaced when renderers change, so those made against stale renderers are
+   * dropped with the map they were added to.
+   */
+  private static volatile ConcurrentMap<String, Resolution> resolved = new ConcurrentHashMap<String, Resolution>();
+
+  /**
+   * Renderer resolved for an argument class, null if none; chained with classes of the same name from other
+   * class-loaders.  Classes are weakly referenced, so they may be unloaded.
+   */
+  private static final class Resolution
+  {
+    final WeakReference<Class<?>> type;
+
+    @Nullable
+    final ArgumentRenderer<?> renderer;
+
+    @Nullable
+    final Resolution next;
+
+    Resolution(final WeakReference<Class<?>> type,
+               @Nullable final ArgumentRenderer<?> renderer,
+               @Nullable final Resolution next)
+    {
+      this.type = type;
+      this.renderer = renderer;
+      this.next = next;
+    }
+  }
+
+  private static final Registries.Loader loader = new Registries.Loader()
+  {
+    public void load(final URL url, final Properties registry, @Nullable final ClassLoader cl) {
+      ArgumentRenderers.load(url, registry, cl);
+    }
+  };
+
+  static {
+    Registries.load(ArgumentRenderers.class, RESOURCE, loader);
+  }
+
+  private ArgumentRenderers() {
+    // empty
+  }
+
+  /**
+   * Load registries visible to the given class-loader; types and renderers are loaded from the same, and held until
+   * unregistered or {@link #unload(ClassLoader) unloaded}.
+   */
+  public static void load(@Nullable final ClassLoader cl) {
+    Registries.load(cl, RESOURCE, loader);
+  }
+
+  private static void load(final URL url, final Properties props, @Nullable final ClassLoader cl) {
+    for (Map.Entry<Object, Object> entry : props.entrySet()) {
+      String typeName = String.valueOf(entry.getKey()).trim();
+      String rendererName = String.valueOf(entry.getValue()).trim();
+      Class<?> type;
+      try {
+        type = Class.forName(typeName, false, cl);
+      }
+      catch (ClassNotFoundException e) {
+        log.trace("Ignoring renderer for missing type: {}", typeName);
+        continue;
+      }
+      try {
+        Class<?> rendererType = Class.forName(rendererName, true, cl);
+        renderers.put(type, (ArgumentRenderer<?>) rendererType.getDeclaredConstructor().newInstance());
+      }
+      catch (Exception e) {
+        log.warn("Failed to create renderer: {} in: {}", rendererName, url, e);
+      }
+    }
+    changed();
+  }
+
+  /**
+   * Register a renderer for the given type, and its sub-types; the renderer must accept values of the type.
+   *
+   * Not typed further, as class literals of generic types are raw; ie. {@code Collection.class}.
+   */
+  public static void register(final Class<?> type, final ArgumentRenderer<?> renderer) {
+    if (type == null || renderer == null) {
+      throw new NullPointerException();
+    }
+    renderers.put(type, renderer);
+    changed();
+  }
+
+  public static void unregister(final Class<?> type) {
+    if (type == null) {
+      throw new NullPointerException();
+    }
+    renderers.remove(type);
+    changed();
+  }
+
+  /**
+   * Unregister renderers for types, or implemented by classes, defined by the given class-loader; so it may be
+   * collected.
+   */
+  public static void unload(final ClassLoader cl) {
+    if (cl == null) {
+      throw new NullPointerException();
+    }
+    Iterator<Map.Entry<Class<?>, ArgumentRenderer<?>>> iter = renderers.entrySet().iterator();
+    while (iter.hasNext()) {
+      Map.Entry<Class<?>, ArgumentRenderer<?>> entry = iter.next();
+      if (entry.getKey().getClassLoader() == cl || entry.getValue().getClass().getClassLoader() == cl) {
+        iter.remove();
+      }
+    }
+    changed();
+  }
+
+  private static void changed() {
+    resolved = new ConcurrentHashMap<String, Resolution>();
+  }
+
+  /**
+   * Returns the renderer for arguments of the given class; null if none.
+   */
+  @Nullable
+  @SuppressWarnings("unchecked")
+  public static ArgumentRenderer<Object> forType(final Class<?> type) {
+    if (renderers.isEmpty()) {
+      return null;
+    }
+
+    ConcurrentMap<String, Resolution> cache = resolved;
+    String name = type.getName();
+    Resolution head = cache.get(name);
+    for (Resolution r = head; r != null; r = r.next) {
+      if (r.type.get() == type) {
+        return (ArgumentRenderer<Object>) r.renderer;
+      }
+    }
+
+    ArgumentRenderer<?> renderer = resolve(type);
+    // racing threads may drop each other's resolutions of same-named classes; they are resolved again
+    cache.put(name, new Resolution(new WeakReference<Class<?>>(type), renderer, prune(head)));
+    return (ArgumentRenderer<Object>) renderer;
+  }
+
+  /**
+   * Drop resolutions of unloaded classes.
+   */
+  @Nullable
+  private static Resolution prune(@Nullable Resolution r) {
+    while (r != null && r.type.get() == null) {
+      r = r.next;
+    }
+    if (r == null) {
+      return null;
+    }
+    Resolution next = prune(r.next);
+    return next == r.next ? r : new Resolution(r.type, r.renderer, next);
+  }
+
+  /**
+   * Closest registered class, or else the first registered interface.
+   */
+  @Nullable
+  private static ArgumentRenderer<?> resolve(final Class<?> type) {
+    for (Class<?> c = type; c != null; c = c.getSuperclass()) {
+      ArgumentRenderer<?> renderer = renderers.get(c);
+      if (renderer != null) {
+        return renderer;
+      }
+    }
+    for (Class<?> c = type; c != null; c = c.getSuperclass()) {
+      ArgumentRenderer<?> renderer = resolveInterfaces(c);
+      if (renderer != null) {
+        return renderer;
+      }
+    }
+    return null;
+  }
+
+  @Nullable
+  private static ArgumentRenderer<?> resolveInterfaces(final Class<?> type) {
+    for (Class<?> c : type.getInterfaces()) {
+      ArgumentRenderer<?> renderer = renderers.get(c);
+      if (renderer == null) {
+        renderer = resolveInterfaces(c);
+      }
+      if (renderer != null) {
+        return renderer;
+      }
+    }
+    return null;
+  }
+}
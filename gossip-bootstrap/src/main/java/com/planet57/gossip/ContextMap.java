@@ -0,0 +1,259 @@
+/*
+ * Copyright (c) 2009-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.planet57.gossip;
+
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import javax.annotation.Nullable;
+
+/**
+ * Immutable, array backed string map; for the small maps held by {@link GossipMDCAdapter}.
+ *
+ * Updates return a new map, so a map may be shared between threads and events without copying.
+ * Values need not be strings; other values are rendered with {@link Object#toString()} when read, and
+ * must be immutable.
+ *
+ * @since 2.0.1
+ */
+public final class ContextMap
+    extends AbstractMap<String, String>
+    implements Serializable
+{
+  private static final long serialVersionUID = 1;
+
+  public static final ContextMap EMPTY = new ContextMap(new Object[0]);
+
+  /**
+   * Keys and values; {@code key0, value0, key1, value1, ...}.
+   */
+  private final Object[] entries;
+
+  private ContextMap(final Object[] entries) {
+    this.entries = entries;
+  }
+
+  /**
+   * Returns a map containing the string keys and values of the given map.
+   */
+  public static ContextMap copyOf(@Nullable final Map<?, ?> map) {
+    if (map == null || map.isEmpty()) {
+      return EMPTY;
+    }
+    if (map instanceof ContextMap) {
+      return (ContextMap) map;
+    }
+
+    Object[] entries = new Object[map.size() * 2];
+    int i = 0;
+    for (Map.Entry<?, ?> entry : map.entrySet()) {
+      entries[i++] = String.valueOf(entry.getKey());
+      entries[i++] = entry.getValue() != null ? String.valueOf(entry.getValue()) : null;
+    }
+    return new ContextMap(entries);
+  }
+
+  private int indexOf(@Nullable final Object key) {
+    for (int i = 0; i < entries.length; i += 2) {
+      if (entries[i].equals(key)) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  @Override
+  public int size() {
+    return entries.length / 2;
+  }
+
+  @Override
+  public boolean containsKey(@Nullable final Object key) {
+    return indexOf(key) != -1;
+  }
+
+  @Override
+  @Nullable
+  public String get(@Nullable final Object key) {
+    int i = indexOf(key);
+    return i != -1 ? valueAt(i) : null;
+  }
+
+  @Nullable
+  private String valueAt(final int i) {
+    Object value = entries[i + 1];
+    return value != null ? value.toString() : null;
+  }
+
+  /**
+   * Returns a map with the given key set to the given value.
+   */
+  public ContextMap with(final String key, @Nullable final Object value) {
+    assert key != null;
+
+    int i = indexOf(key);
+    Object[] result;
+    if (i != -1) {
+      Object current = entries[i + 1];
+      if (current == null ? value == null : current.equals(value)) {
+        return this;
+      }
+      result = entries.clone();
+    }
+    else {
+      i = entries.length;
+      result = new Object[i + 2];
+      System.arraycopy(entries, 0, result, 0, i);
+      result[i] = key;
+    }
+    result[i + 1] = value;
+    return new ContextMap(result);
+  }
+
+  /**
+   * Returns a map without the given key.
+   */
+  public ContextMap without(final String key) {
+    int i = indexOf(key);
+    if (i == -1) {
+      return this;
+    }
+    if (entries.length == 2) {
+      return EMPTY;
+    }
+
+    Object[] result = new Object[entries.length - 2];
+    System.arraycopy(entries, 0, result, 0, i);
+    System.arraycopy(entries, i + 2, result, i, entries.length - i - 2);
+    return new ContextMap(result);
+  }
+
+  /**
+   * Append entries as {@code key=value} separated by {@code ", "}.
+   */
+  public void appendTo(final StringBuilder buff) {
+    assert buff != null;
+    for (int i = 0; i < entries.length; i += 2) {
+      if (i != 0) {
+        buff.append(", ");
+      }
+      buff.append(entries[i]).append('=').append(entries[i + 1]);
+    }
+  }
+
+  /**
+   * Serialized with values rendered, as they need not be serializable.
+   */
+  private Object writeReplace() {
+    Object[] rendered = null;
+    for (int i = 1; i < entries.length; i += 2) {
+      if (entries[i] != null && !(entries[i] instanceof String)) {
+        if (rendered == null) {
+          rendered = entries.clone();
+        }
+        rendered[i] = entries[i].toString();
+      }
+    }
+    return rendered != null ? new ContextMap(rendered) : this;
+  }
+
+  @Override
+  public Set<Map.Entry<String, String>> entrySet() {
+    return new AbstractSet<Map.Entry<String, String>>()
+    {
+      @Override
+      public int size() {
+        return ContextMap.this.size();
+      }
+
+      @Override
+      public Iterator<Map.Entry<String, String>> iterator() {
+        return new Iterator<Map.Entry<String, String>>()
+        {
+          private int i;
+
+          public boolean hasNext() {
+            return i < entries.length;
+          }
+
+          public Map.Entry<String, String> next() {
+            if (!hasNext()) {
+              throw new NoSuchElementException();
+            }
+            Map.Entry<String, String> entry = new Entry((String) entries[i], valueAt(i));
+            i += 2;
+            return entry;
+          }
+
+          public void remove() {
+            throw new UnsupportedOperationException();
+          }
+        };
+      }
+    };
+  }
+
+  private static final class Entry
+      implements Map.Entry<String, String>
+  {
+    private final String key;
+
+    @Nullable
+    private final String value;
+
+    private Entry(final String key, @Nullable final String value) {
+      this.key = key;
+      this.value = value;
+    }
+
+    public String getKey() {
+      return key;
+    }
+
+    @Nullable
+    public String getValue() {
+      return value;
+    }
+
+    public String setValue(final String value) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean equals(@Nullable final Object obj) {
+      if (!(obj instanceof Map.Entry)) {
+        return false;
+      }
+      Map.Entry that = (Map.Entry) obj;
+      return key.equals(that.getKey()) && (value == null ? that.getValue() == null : value.equals(that.getValue()));
+    }
+
+    @Override
+    public int hashCode() {
+      return key.hashCode() ^ (value == null ? 0 : value.hashCode());
+    }
+
+    @Override
+    public String toString() {
+      return key + "=" + value;
+    }
+  }
+}
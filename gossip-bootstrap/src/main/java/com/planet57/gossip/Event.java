@@ -16,6 +16,7 @@
 package com.planet57.gossip;
 
 import org.slf4j.Logger;
+import org.slf4j.Marker;
 
 import java.io.Serializable;
 import java.util.Arrays;
@@ -39,6 +40,9 @@ public final class Event
 
   private final Level level;
 
+  @Nullable
+  private final Marker marker;
+
   private final String message;
 
   @Nullable
@@ -48,18 +52,125 @@ public final class Event
 
   private final String threadName;
 
+  private final ContextMap context;
+
   private final StackTraceElement[] trace;
 
+  /**
+   * Class name the event was logged through; the caller is the frame following it.
+   */
+  private final String fqcn;
+
+  @Nullable
+  private final StackTraceElement caller;
+
+  @Nullable
+  private final Fields fields;
+
+  @Nullable
+  private final String template;
+
+  @Nullable
+  private final Fields arguments;
+
   public Event(final Logger logger, final Level level, final String message, @Nullable final Throwable cause) {
+    this(LoggerSupport.FQCN, logger, level, null, message, cause, null);
+  }
+
+  /**
+   * @param fqcn Class name the event was logged through, ie. a logger or bridge; see {@link #getCaller()}.
+   * @since 2.0.1
+   */
+  public Event(final String fqcn,
+               final Logger logger,
+               final Level level,
+               @Nullable final Marker marker,
+               final String message,
+               @Nullable final Throwable cause,
+               @Nullable final Fields fields)
+  {
+    this(fqcn, logger, level, marker, null, null, message, cause, fields);
+  }
+
+  /**
+   * @param template Message template the message was formatted from.
+   * @param arguments Positional arguments the template was formatted with.
+   * @since 2.0.1
+   */
+  public Event(final String fqcn,
+               final Logger logger,
+               final Level level,
+               @Nullable final Marker marker,
+               @Nullable final String template,
+               @Nullable final Fields arguments,
+               final String message,
+               @Nullable final Throwable cause,
+               @Nullable final Fields fields)
+  {
+    this.fqcn = fqcn;
     this.logger = logger;
     this.level = level;
+    this.marker = marker;
     this.message = message;
     this.cause = cause;
+    this.fields = fields;
+    this.template = template;
+    this.arguments = arguments;
     this.timeStamp = System.currentTimeMillis();
     this.threadName = Thread.currentThread().getName();
+    this.context = GossipMDCAdapter.getContext();
 
     // Trace here is for where the log message came from, not where the optional cause came from
     this.trace = traceEnable ? new Throwable().getStackTrace() : null;
+    this.caller = trace != null ? findCaller(trace, fqcn) : null;
+  }
+
+  /**
+   * Event restored from a record, ie. by a decoder; nothing is captured from the current thread.
+   *
+   * @since 2.0.1
+   */
+  public Event(final Logger logger,
+               final Level level,
+               @Nullable final Marker marker,
+               final String message,
+               @Nullable final Throwable cause,
+               @Nullable final Fields fields,
+               final long timeStamp,
+               final String threadName,
+               final ContextMap context)
+  {
+    this.fqcn = LoggerSupport.FQCN;
+    this.logger = logger;
+    this.level = level;
+    this.marker = marker;
+    this.message = message;
+    this.cause = cause;
+    this.fields = fields;
+    this.template = null;
+    this.arguments = null;
+    this.timeStamp = timeStamp;
+    this.threadName = threadName;
+    this.context = context;
+    this.trace = null;
+    this.caller = null;
+  }
+
+  /**
+   * Returns the frame following the last of the first run of frames from {@code fqcn}.
+   */
+  @Nullable
+  static StackTraceElement findCaller(final StackTraceElement[] trace, final String fqcn) {
+    boolean boundary = false;
+    for (StackTraceElement element : trace) {
+      if (fqcn.equals(element.getClassName())) {
+        boundary = true;
+      }
+      else if (boundary) {
+        return element;
+      }
+    }
+    return null;
   }
 
   public String getName() {
@@ -70,6 +181,14 @@ public final class Event
     return level;
   }
 
+  /**
+   * @since 2.0.1
+   */
+  @Nullable
+  public Marker getMarker() {
+    return marker;
+  }
+
   public String getMessage() {
     return message;
   }
@@ -87,20 +206,90 @@ public final class Event
     return threadName;
   }
 
+  /**
+   * Returns the MDC of the logging thread, as of when the event was created.
+   *
+   * @see GossipMDCAdapter
+   * @since 2.0.1
+   */
+  public ContextMap getContext() {
+    return context;
+  }
+
   @Nullable
   public StackTraceElement[] getTrace() {
     return trace;
   }
 
+  /**
+   * @since 2.0.1
+   */
+  public String getFqcn() {
+    return fqcn;
+  }
+
+  /**
+   * Location the event was logged from; only available when traces are enabled.
+   *
+   * @since 2.0.1
+   */
+  @Nullable
+  public StackTraceElement getCaller() {
+    return caller;
+  }
+
+  /**
+   * @since 2.0.1
+   */
+  @Nullable
+  public Fields getFields() {
+    return fields;
+  }
+
+  /**
+   * Returns the template the message was formatted from; null if logged already formatted.
+   *
+   * @since 2.0.1
+   */
+  @Nullable
+  public String getTemplate() {
+    return template;
+  }
+
+  /**
+   * Returns the id of the template; {@link Templates#UNKNOWN} if it has none, or if logged already formatted.
+   * Templates are not interned by this.
+   *
+   * @see Templates#lookup(String)
+   * @since 2.0.1
+   */
+  public int getTemplateId() {
+    return template != null ? Templates.lookup(template) : Templates.UNKNOWN;
+  }
+
+  /**
+   * Returns the positional arguments the message was formatted with; null if logged already formatted.
+   *
+   * @since 2.0.1
+   */
+  @Nullable
+  public Fields getArguments() {
+    return arguments;
+  }
+
   @Override
   public String toString() {
     return getClass().getSimpleName() +
         "{logger=" + logger +
         ", level=" + level +
+        ", marker=" + marker +
         ", message='" + message + '\'' +
         ", cause=" + cause +
+        ", fields=" + fields +
         ", timeStamp=" + timeStamp +
         ", threadName='" + threadName + '\'' +
+        ", context=" + context +
+        ", caller=" + caller +
         ", trace=" + (trace == null ? null : Arrays.asList(trace)) +
         '}';
   }
@@ -0,0 +1,317 @@
+/*
+ * Copyright (c) 2009-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.planet57.gossip;
+
+import javax.annotation.Nullable;
+
+import org.slf4j.Logger;
+import org.slf4j.Marker;
+
+/**
+ * Fluent event builder with primitive arguments and typed fields.
+ *
+ * Arguments and fields are held unboxed in a builder reused by the current thread:
+ *
+ * <pre>
+ * EventBuilder.at(log, Level.DEBUG)
+ *     .message("latency {} bytes {}").arg(millis).arg(bytes)
+ *     .field("user", user)
+ *     .log();
+ * </pre>
+ *
+ * The builder must not be used after {@link #log()}.  Loggers from other providers are supported;
+ * their message is formatted here and fields are appended as {@code key=value}.
+ *
+ * @since 2.0.1
+ */
+public final class EventBuilder
+{
+  private static final String FQCN = EventBuilder.class.getName();
+
+  private static final int CAPACITY = 8;
+
+  /**
+   * Returned when the level is disabled; ignores everything.
+   */
+  private static final EventBuilder DISABLED = new EventBuilder();
+
+  private static final ThreadLocal<EventBuilder> builders = new ThreadLocal<EventBuilder>()
+  {
+    @Override
+    protected EventBuilder initialValue() {
+      return new EventBuilder();
+    }
+  };
+
+  /**
+   * Null when idle, and always for {@link #DISABLED}.
+   */
+  @Nullable
+  private Logger logger;
+
+  private Level level;
+
+  private String fqcn = FQCN;
+
+  private String template = "";
+
+  @Nullable
+  private Marker marker;
+
+  @Nullable
+  private Throwable cause;
+
+  private final Fields args = new Fields(CAPACITY);
+
+  private final Fields fields = new Fields(CAPACITY);
+
+  private final StringBuilder buff = new StringBuilder();
+
+  private EventBuilder() {
+    // empty
+  }
+
+  public static EventBuilder at(final Logger logger, final Level level) {
+    if (logger == null || level == null) {
+      throw new NullPointerException();
+    }
+    if (level == Level.ALL || level == Level.OFF) {
+      throw new IllegalArgumentException("Invalid event level: " + level);
+    }
+
+    boolean enabled = logger instanceof LoggerSupport ? ((LoggerSupport) logger).isEnabled(level) : level.isEnabled(logger);
+    if (!enabled) {
+      return DISABLED;
+    }
+
+    EventBuilder builder = builders.get();
+    if (builder.logger != null) {
+      // already building; ie. an argument logged from toString()
+      builder = new EventBuilder();
+    }
+    builder.logger = logger;
+    builder.level = level;
+    return builder;
+  }
+
+  public boolean isEnabled() {
+    return logger != null;
+  }
+
+  /**
+   * Class name the event is logged through, when wrapping this builder; see {@link Event#getCaller()}.
+   */
+  public EventBuilder fqcn(final String fqcn) {
+    if (logger != null) {
+      this.fqcn = fqcn;
+    }
+    return this;
+  }
+
+  /**
+   * Message template; {@code {}} is replaced by the next argument.
+   */
+  public EventBuilder message(final String template) {
+    if (logger != null) {
+      this.template = template;
+    }
+    return this;
+  }
+
+  public EventBuilder arg(final int value) {
+    if (logger != null) {
+      args.add(null, value);
+    }
+    return this;
+  }
+
+  public EventBuilder arg(final long value) {
+    if (logger != null) {
+      args.add(null, value);
+    }
+    return this;
+  }
+
+  public EventBuilder arg(final double value) {
+    if (logger != null) {
+      args.add(null, value);
+    }
+    return this;
+  }
+
+  public EventBuilder arg(final boolean value) {
+    if (logger != null) {
+      args.add(null, value);
+    }
+    return this;
+  }
+
+  public EventBuilder arg(@Nullable final Object value) {
+    if (logger != null) {
+      args.add(null, value);
+    }
+    return this;
+  }
+
+  public EventBuilder field(final String key, final int value) {
+    if (logger != null) {
+      fields.add(key, value);
+    }
+    return this;
+  }
+
+  public EventBuilder field(final String key, final long value) {
+    if (logger != null) {
+      fields.add(key, value);
+    }
+    return this;
+  }
+
+  public EventBuilder field(final String key, final double value) {
+    if (logger != null) {
+      fields.add(key, value);
+    }
+    return this;
+  }
+
+  public EventBuilder field(final String key, final boolean value) {
+    if (logger != null) {
+      fields.add(key, value);
+    }
+    return this;
+  }
+
+  public EventBuilder field(final String key, @Nullable final Object value) {
+    if (logger != null) {
+      fields.add(key, value);
+    }
+    return this;
+  }
+
+  public EventBuilder marker(@Nullable final Marker marker) {
+    if (logger != null) {
+      this.marker = marker;
+    }
+    return this;
+  }
+
+  public EventBuilder cause(@Nullable final Throwable cause) {
+    if (logger != null) {
+      this.cause = cause;
+    }
+    return this;
+  }
+
+  public void log() {
+    Logger target = logger;
+    if (target == null) {
+      return;
+    }
+
+    try {
+      int used = format();
+
+      // as with MessageFormatter; a trailing throwable not used by the message is the cause
+      int last = args.size() - 1;
+      if (cause == null && used <= last && args.getType(last) == Fields.Type.OBJECT && args.getObject(last) instanceof Throwable) {
+        cause = (Throwable) args.getObject(last);
+      }
+
+      if (target instanceof LoggerSupport) {
+        Fields copy = fields.size() != 0 ? fields.copy() : null;
+        Fields arguments = used != 0 ? args.copy(used) : null;
+        ((LoggerSupport) target).doLog(new Event(fqcn, target, level, marker, template, arguments, buff.toString(), cause, copy));
+      }
+      else {
+        for (int i = 0; i < fields.size(); i++) {
+          buff.append(' ').append(fields.getKey(i)).append('=');
+          fields.appendValue(i, buff);
+        }
+        log(target, level, marker, buff.toString(), cause);
+      }
+    }
+    finally {
+      reset();
+    }
+  }
+
+  private static void log(final Logger logger,
+                          final Level level,
+                          @Nullable final Marker marker,
+                          final String message,
+                          @Nullable final Throwable cause)
+  {
+    if (marker == null) {
+      level.log(logger, message, cause);
+      return;
+    }
+    switch (level) {
+      case TRACE:
+        logger.trace(marker, message, cause);
+        break;
+      case DEBUG:
+        logger.debug(marker, message, cause);
+        break;
+      case INFO:
+        logger.info(marker, message, cause);
+        break;
+      case WARN:
+        logger.warn(marker, message, cause);
+        break;
+      case ERROR:
+        logger.error(marker, message, cause);
+        break;
+      default:
+        throw new UnsupportedOperationException();
+    }
+  }
+
+  /**
+   * Format the template into {@link #buff}.
+   *
+   * @return The number of arguments used.
+   */
+  private int format() {
+    buff.setLength(0);
+    return MessageTemplate.of(template).format(buff, args);
+  }
+
+  private void reset() {
+    logger = null;
+    level = null;
+    fqcn = FQCN;
+    template = "";
+    marker = null;
+    cause = null;
+    args.clear();
+    fields.clear();
+    if (buff.capacity() > 1024) {
+      buff.setLength(0);
+      buff.trimToSize();
+    }
+  }
+
+  @Override
+  public String toString() {
+    return getClass().getSimpleName() + "{" +
+        "logger=" + logger +
+        ", level=" + level +
+        ", template='" + template + '\'' +
+        ", args=" + args +
+        ", fields=" + fields +
+        '}';
+  }
+}
@@ -0,0 +1,386 @@
+/*
+ * Copyright (c) 2009-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.planet57.gossip;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.Arrays;
+
+import javax.annotation.Nullable;
+
+/**
+ * Typed key-value fields of an {@link Event}.
+ *
+ * Primitive values are held unboxed, so renderers can write them without creating objects.  Object values are
+ * serialized as rendered; see {@link #appendValue(int, StringBuilder)}.
+ *
+ * @see EventBuilder
+ * @since 2.0.1
+ */
+public final class Fields
+    implements Serializable
+{
+  private static final long serialVersionUID = 1;
+
+  public enum Type
+  {
+    INT,
+    LONG,
+    DOUBLE,
+    BOOLEAN,
+    OBJECT
+  }
+
+  private static final Type[] TYPES = Type.values();
+
+  /**
+   * Shape of wrapped arrays up to this size is shared; see {@link #wrap(Object[], int)}.
+   */
+  private static final int SHARED_SHAPE_SIZE = 16;
+
+  private static final String[] SHARED_KEYS = new String[SHARED_SHAPE_SIZE];
+
+  private static final byte[] SHARED_TYPES = new byte[SHARED_SHAPE_SIZE];
+
+  private static final long[] SHARED_BITS = new long[SHARED_SHAPE_SIZE];
+
+  static {
+    Arrays.fill(SHARED_TYPES, (byte) Type.OBJECT.ordinal());
+  }
+
+  /**
+   * Keys; entries are null for positional values.
+   */
+  private String[] keys;
+
+  private byte[] types;
+
+  /**
+   * Primitive values; doubles as raw long bits, booleans as 0 or 1.
+   */
+  private long[] bits;
+
+  /**
+   * Object values; arbitrary, so not serialized as-is.
+   */
+  @Nullable
+  private transient Object[] objects;
+
+  private int size;
+
+  Fields(final int capacity) {
+    this(new String[capacity], new byte[capacity], new long[capacity]);
+  }
+
+  private Fields(final String[] keys, final byte[] types, final long[] bits) {
+    this.keys = keys;
+    this.types = types;
+    this.bits = bits;
+  }
+
+  /**
+   * Returns positional object fields holding the first values given; copied, as callers may reuse the array.
+   */
+  static Fields wrap(final Object[] values, final int size) {
+    Object[] objects = new Object[size];
+    System.arraycopy(values, 0, objects, 0, size);
+
+    Fields result;
+    if (size <= SHARED_SHAPE_SIZE) {
+      result = new Fields(SHARED_KEYS, SHARED_TYPES, SHARED_BITS);
+    }
+    else {
+      result = new Fields(size);
+      Arrays.fill(result.types, (byte) Type.OBJECT.ordinal());
+    }
+    result.objects = objects;
+    result.size = size;
+    return result;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public String getKey(final int index) {
+    check(index);
+    return keys[index];
+  }
+
+  public Type getType(final int index) {
+    check(index);
+    return TYPES[types[index]];
+  }
+
+  public int getInt(final int index) {
+    return (int) get(index, Type.INT);
+  }
+
+  public long getLong(final int index) {
+    return get(index, Type.LONG);
+  }
+
+  public double getDouble(final int index) {
+    return Double.longBitsToDouble(get(index, Type.DOUBLE));
+  }
+
+  public boolean getBoolean(final int index) {
+    return get(index, Type.BOOLEAN) != 0;
+  }
+
+  @Nullable
+  public Object getObject(final int index) {
+    check(index);
+    if (types[index] != Type.OBJECT.ordinal()) {
+      throw new IllegalStateException("Field is not an object: " + index);
+    }
+    return objects[index];
+  }
+
+  /**
+   * Returns the value at the given index, boxing primitives.
+   */
+  @Nullable
+  public Object getValue(final int index) {
+    switch (getType(index)) {
+      case INT:
+        return getInt(index);
+      case LONG:
+        return getLong(index);
+      case DOUBLE:
+        return getDouble(index);
+      case BOOLEAN:
+        return getBoolean(index);
+      default:
+        return objects[index];
+    }
+  }
+
+  /**
+   * Append the value at the given index; primitives are appended without creating strings, objects as message arguments.
+   */
+  public void appendValue(final int index, final StringBuilder buff) {
+    assert buff != null;
+
+    switch (getType(index)) {
+      case INT:
+        buff.append((int) bits[index]);
+        break;
+      case LONG:
+        buff.append(bits[index]);
+        break;
+      case DOUBLE:
+        buff.append(Double.longBitsToDouble(bits[index]));
+        break;
+      case BOOLEAN:
+        buff.append(bits[index] != 0);
+        break;
+      default:
+        MessageTemplate.appendArgument(buff, objects[index]);
+    }
+  }
+
+  private void check(final int index) {
+    if (index < 0 || index >= size) {
+      throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size);
+    }
+  }
+
+  private long get(final int index, final Type type) {
+    check(index);
+    if (types[index] != type.ordinal()) {
+      throw new IllegalStateException("Field is not " + type + ": " + index);
+    }
+    return bits[index];
+  }
+
+  //
+  // Mutation; only by EventBuilder, before the fields are attached to an event
+  //
+
+  private int next(@Nullable final String key, final Type type) {
+    if (size == keys.length) {
+      int capacity = Math.max(4, size * 2);
+      keys = copyOf(keys, capacity);
+      types = copyOf(types, capacity);
+      bits = copyOf(bits, capacity);
+      if (objects != null) {
+        objects = copyOf(objects, capacity);
+      }
+    }
+    keys[size] = key;
+    types[size] = (byte) type.ordinal();
+    return size++;
+  }
+
+  void add(@Nullable final String key, final int value) {
+    bits[next(key, Type.INT)] = value;
+  }
+
+  void add(@Nullable final String key, final long value) {
+    bits[next(key, Type.LONG)] = value;
+  }
+
+  void add(@Nullable final String key, final double value) {
+    bits[next(key, Type.DOUBLE)] = Double.doubleToRawLongBits(value);
+  }
+
+  void add(@Nullable final String key, final boolean value) {
+    bits[next(key, Type.BOOLEAN)] = value ? 1 : 0;
+  }
+
+  void add(@Nullable final String key, @Nullable final Object value) {
+    int i = next(key, Type.OBJECT);
+    if (objects == null) {
+      objects = new Object[keys.length];
+    }
+    objects[i] = value;
+  }
+
+  void clear() {
+    if (objects != null) {
+      Arrays.fill(objects, 0, size, null);
+    }
+    Arrays.fill(keys, 0, size, null);
+    size = 0;
+  }
+
+  /**
+   * Returns a trimmed copy, suitable for attaching to an event.
+   */
+  Fields copy() {
+    return copy(size);
+  }
+
+  /**
+   * Returns a copy of the first {@code length} fields.
+   */
+  Fields copy(final int length) {
+    assert length <= size;
+    Fields result = new Fields(copyOf(keys, length), copyOf(types, length), copyOf(bits, length));
+    result.objects = objects != null ? copyOf(objects, length) : null;
+    result.size = length;
+    return result;
+  }
+
+  /**
+   * Builds fields other than through {@link EventBuilder}; ie. when decoding events.
+   */
+  public static final class Builder
+  {
+    private final Fields fields = new Fields(4);
+
+    public Builder add(@Nullable final String key, final int value) {
+      fields.add(key, value);
+      return this;
+    }
+
+    public Builder add(@Nullable final String key, final long value) {
+      fields.add(key, value);
+      return this;
+    }
+
+    public Builder add(@Nullable final String key, final double value) {
+      fields.add(key, value);
+      return this;
+    }
+
+    public Builder add(@Nullable final String key, final boolean value) {
+      fields.add(key, value);
+      return this;
+    }
+
+    public Builder add(@Nullable final String key, @Nullable final Object value) {
+      fields.add(key, value);
+      return this;
+    }
+
+    public Fields build() {
+      return fields.copy();
+    }
+  }
+
+  // NOTE: Arrays.copyOf is Java 6
+
+  private static String[] copyOf(final String[] array, final int length) {
+    String[] result = new String[length];
+    System.arraycopy(array, 0, result, 0, Math.min(array.length, length));
+    return result;
+  }
+
+  private static Object[] copyOf(final Object[] array, final int length) {
+    Object[] result = new Object[length];
+    System.arraycopy(array, 0, result, 0, Math.min(array.length, length));
+    return result;
+  }
+
+  private static byte[] copyOf(final byte[] array, final int length) {
+    byte[] result = new byte[length];
+    System.arraycopy(array, 0, result, 0, Math.min(array.length, length));
+    return result;
+  }
+
+  private static long[] copyOf(final long[] array, final int length) {
+    long[] result = new long[length];
+    System.arraycopy(array, 0, result, 0, Math.min(array.length, length));
+    return result;
+  }
+
+  private void writeObject(final ObjectOutputStream out) throws IOException {
+    out.defaultWriteObject();
+    StringBuilder buff = new StringBuilder();
+    for (int i = 0; i < size; i++) {
+      if (types[i] == Type.OBJECT.ordinal()) {
+        if (objects[i] == null) {
+          out.writeObject(null);
+        }
+        else {
+          buff.setLength(0);
+          appendValue(i, buff);
+          out.writeObject(buff.toString());
+        }
+      }
+    }
+  }
+
+  private void readObject(final ObjectInputStream in) throws IOException, ClassNotFoundException {
+    in.defaultReadObject();
+    for (int i = 0; i < size; i++) {
+      if (types[i] == Type.OBJECT.ordinal()) {
+        if (objects == null) {
+          objects = new Object[keys.length];
+        }
+        objects[i] = in.readObject();
+      }
+    }
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder buff = new StringBuilder();
+    buff.append('{');
+    for (int i = 0; i < size; i++) {
+      if (i != 0) {
+        buff.append(", ");
+      }
+      buff.append(keys[i]).append('=');
+      appendValue(i, buff);
+    }
+    return buff.append('}').toString();
+  }
+}
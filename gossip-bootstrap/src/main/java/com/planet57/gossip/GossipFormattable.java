@@ -0,0 +1,34 @@
+/*
+ * Copyright (c) 2009-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.planet57.gossip;
+
+import java.io.IOException;
+
+/**
+ * Message argument which formats itself, rather than through {@link Object#toString()}.
+ *
+ * Formatting appends directly to the buffer a message is formatted into, without an intermediate string.
+ *
+ * @see MessageTemplate#appendArgument(StringBuilder, Object)
+ * @since 2.0.1
+ */
+public interface GossipFormattable
+{
+  /**
+   * Append the formatted value; when formatting messages the target is a {@link StringBuilder}.
+   */
+  void formatTo(Appendable out) throws IOException;
+}
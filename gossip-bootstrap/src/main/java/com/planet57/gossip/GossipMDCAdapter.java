@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2009-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.planet57.gossip;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.annotation.Nullable;
+
+import org.slf4j.spi.MDCAdapter;
+
+/**
+ * Copy-on-write MDC adapter.
+ *
+ * Each thread holds an immutable {@link ContextMap}; updates replace it, so {@link Event} captures the
+ * context by reference and threads started inherit it without copying.
+ *
+ * @since 2.0.1
+ */
+public class GossipMDCAdapter
+    implements MDCAdapter
+{
+  private static final InheritableThreadLocal<ContextMap> context = new InheritableThreadLocal<ContextMap>();
+
+  /**
+   * Returns the context of the current thread.
+   */
+  public static ContextMap getContext() {
+    ContextMap map = context.get();
+    return map != null ? map : ContextMap.EMPTY;
+  }
+
+  private static void setContext(final ContextMap map) {
+    if (map.isEmpty()) {
+      context.remove();
+    }
+    else {
+      context.set(map);
+    }
+  }
+
+  public void put(final String key, @Nullable final String value) {
+    if (key == null) {
+      throw new IllegalArgumentException("key cannot be null");
+    }
+    setContext(getContext().with(key, value));
+  }
+
+  /**
+   * Set a value of the current thread context which is rendered with {@link Object#toString()} only when read.
+   *
+   * The value must be immutable; it is shared with captured events and inherited by child threads.
+   */
+  public static void putValue(final String key, @Nullable final Object value) {
+    if (key == null) {
+      throw new IllegalArgumentException("key cannot be null");
+    }
+    setContext(getContext().with(key, value));
+  }
+
+  @Nullable
+  public String get(final String key) {
+    return getContext().get(key);
+  }
+
+  public void remove(final String key) {
+    setContext(getContext().without(key));
+  }
+
+  public void clear() {
+    context.remove();
+  }
+
+  public Map<String, String> getCopyOfContextMap() {
+    return new HashMap<String, String>(getContext());
+  }
+
+  public void setContextMap(@Nullable final Map contextMap) {
+    setContext(ContextMap.copyOf(contextMap));
+  }
+}
@@ -198,4 +198,26 @@ public enum Level
         throw new UnsupportedOperationException();
     }
   }
-}
\ No newline at end of file
+
+  /**
+   * Returns the level for a {@link LocationAwareLogger} level int.
+   *
+   * @since 2.0.1
+   */
+  public static Level forId(final int id) {
+    switch (id) {
+      case LocationAwareLogger.TRACE_INT:
+        return TRACE;
+      case LocationAwareLogger.DEBUG_INT:
+        return DEBUG;
+      case LocationAwareLogger.INFO_INT:
+        return INFO;
+      case LocationAwareLogger.WARN_INT:
+        return WARN;
+      case LocationAwareLogger.ERROR_INT:
+        return ERROR;
+      default:
+        throw new IllegalArgumentException("Invalid level: " + id);
+    }
+  }
+}
@@ -22,8 +22,9 @@ import org.slf4j.Logger;
 import com.planet57.gossip.render.Renderer;
 
 import java.io.PrintStream;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * Provides internal logging support for Gossip.
@@ -33,7 +34,8 @@ import java.util.Map;
  */
 public final class Log
 {
-  private final static Map<String, LoggerDelegateAware> delegates = new HashMap<String, LoggerDelegateAware>();
+  private final static ConcurrentMap<String, LoggerDelegateAware> delegates =
+      new ConcurrentHashMap<String, LoggerDelegateAware>();
 
   /**
    * Prefix of logger-names that are considered internal.
@@ -48,9 +50,10 @@ public final class Log
 
   private static volatile PrintStream stream;
 
-  private static boolean configured;
-
-  private static ILoggerFactory configuredFactory;
+  /**
+   * Non-null once {@link #configure(ILoggerFactory)} has been called.
+   */
+  private static volatile ILoggerFactory configuredFactory;
 
   private enum StreamType
   {
@@ -144,34 +147,58 @@ public final class Log
     if (factory == null) {
       throw new NullPointerException();
     }
-    if (!configured) {
+    if (configuredFactory == null) {
+      // Publish first; any getLogger() racing with us will see the factory and replace its own delegate
       configuredFactory = factory;
 
       // Replace all logger delegates with real loggers
       for (Map.Entry<String, LoggerDelegateAware> entry : delegates.entrySet()) {
-        Logger logger = configuredFactory.getLogger(entry.getKey());
+        Logger logger = factory.getLogger(entry.getKey());
         entry.getValue().setDelegate(logger);
       }
       delegates.clear();
-      configured = true;
     }
   }
 
-  public static synchronized Logger getLogger(final String name) {
+  /**
+   * Restore the unconfigured state; pending delegates are forgotten.
+   *
+   * Visible for testing.
+   */
+  static synchronized void reset() {
+    configuredFactory = null;
+    delegates.clear();
+  }
+
+  public static Logger getLogger(final String name) {
     assert name != null;
 
     // Gossip loggers will always be internal
     if (name.startsWith(INTERNAL_PREFIX)) {
-      return new LoggerImpl(name);
+      return new LoggerImpl(name, true);
     }
 
-    if (!configured) {
-      Logger delegate = LoggerDelegateFactory.create(new LoggerImpl(name));
-      delegates.put(name, (LoggerDelegateAware) delegate);
-      return delegate;
+    ILoggerFactory factory = configuredFactory;
+    if (factory != null) {
+      return factory.getLogger(name);
     }
 
-    return configuredFactory.getLogger(name);
+    LoggerDelegateAware delegate = delegates.get(name);
+    if (delegate == null) {
+      delegate = (LoggerDelegateAware) LoggerDelegateFactory.create(new LoggerImpl(name, false));
+      LoggerDelegateAware existing = delegates.putIfAbsent(name, delegate);
+      if (existing != null) {
+        delegate = existing;
+      }
+    }
+
+    // configure() may have completed while we were registering; if so it may have missed us
+    factory = configuredFactory;
+    if (factory != null) {
+      delegate.setDelegate(factory.getLogger(name));
+    }
+
+    return (Logger) delegate;
   }
 
   public static Logger getLogger(final Class type) {
@@ -182,23 +209,22 @@ public final class Log
   private static class LoggerImpl
       extends LoggerSupport
   {
-    private LoggerImpl(final String name) {
+    /**
+     * True if this logger is internal and uses the fixed {@link Log#internalThreshold}.
+     */
+    private final boolean internal;
+
+    private LoggerImpl(final String name, final boolean internal) {
       super(name);
+      this.internal = internal;
     }
 
     @Override
     protected boolean isEnabled(final Level l) {
       assert l != null;
-
-      Level threshold = getThreshold();
-      if (getName().startsWith(INTERNAL_PREFIX)) {
-        threshold = Log.internalThreshold;
-      }
-
-      return threshold.id <= l.id;
+      return (internal ? internalThreshold : threshold).id <= l.id;
     }
 
-
     @Override
     protected void doLog(final Event event) {
       final PrintStream out = getStream();
@@ -15,12 +15,11 @@
  */
 package com.planet57.gossip;
 
+import javax.annotation.Nullable;
+
 import org.slf4j.Logger;
 import org.slf4j.Marker;
-
-import java.lang.reflect.InvocationHandler;
-import java.lang.reflect.Method;
-import java.lang.reflect.Proxy;
+import org.slf4j.spi.LocationAwareLogger;
 
 /**
  * Creates {@link Logger} delegates.
@@ -36,9 +35,7 @@ public final class LoggerDelegateFactory
    * Instances also implement {@link LoggerDelegateAware} to allow inspection/replacement of the delegate logger.
    */
   public static Logger create(final Logger target) {
-    return (Logger) Proxy.newProxyInstance(target.getClass().getClassLoader(),
-        new Class[]{Logger.class, LoggerDelegateAware.class},
-        new DelegateHandler(target));
+    return new DelegateLogger(target);
   }
 
   public static interface LoggerDelegateAware
@@ -48,12 +45,22 @@ public final class LoggerDelegateFactory
     void setDelegate(Logger delegate);
   }
 
-  private static class DelegateHandler
-      implements InvocationHandler, LoggerDelegateAware
+  /**
+   * Forwards directly to the current delegate; the delegate reference is volatile so replacement is atomic
+   * with respect to callers.
+   *
+   * Delegates supporting {@link LocationAwareLogger} are given this class name, so callers are found past it.
+   *
+   * @since 2.0.1
+   */
+  private static final class DelegateLogger
+      implements LocationAwareLogger, LoggerDelegateAware
   {
-    private Logger delegate;
+    private static final String FQCN = DelegateLogger.class.getName();
 
-    private DelegateHandler(final Logger delegate) {
+    private volatile Logger delegate;
+
+    private DelegateLogger(final Logger delegate) {
       setDelegate(delegate);
     }
 
@@ -68,11 +75,679 @@ public final class LoggerDelegateFactory
       this.delegate = delegate;
     }
 
-    public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
-      if (method.getDeclaringClass() == LoggerDelegateAware.class) {
-        return method.invoke(this, args);
+    @Override
+    public String toString() {
+      return delegate.toString();
+    }
+
+    public String getName() {
+      return delegate.getName();
+    }
+
+    /**
+     * Log on behalf of a wrapper, such as a bridge; the delegate is given the wrapper's class name when it supports
+     * it, otherwise the message is formatted here.
+     */
+    public void log(@Nullable final Marker marker,
+                    final String fqcn,
+                    final int level,
+                    final String message,
+                    @Nullable final Object[] args,
+                    @Nullable final Throwable cause)
+    {
+      Logger target = delegate;
+      if (target instanceof LocationAwareLogger) {
+        ((LocationAwareLogger) target).log(marker, fqcn, level, message, args, cause);
+        return;
+      }
+
+      Level l = Level.forId(level);
+      if (marker == null && !l.isEnabled(target)) {
+        return;
+      }
+      MessageTemplate template = MessageTemplate.of(message);
+      Throwable trailing = template.getCause(args);
+      log(target, marker, l, template.format(args), cause != null ? cause : trailing);
+    }
+
+    private static void log(final Logger target,
+                            @Nullable final Marker marker,
+                            final Level level,
+                            final String msg,
+                            @Nullable final Throwable cause)
+    {
+      switch (level) {
+        case TRACE:
+          target.trace(marker, msg, cause);
+          break;
+        case DEBUG:
+          target.debug(marker, msg, cause);
+          break;
+        case INFO:
+          target.info(marker, msg, cause);
+          break;
+        case WARN:
+          target.warn(marker, msg, cause);
+          break;
+        case ERROR:
+          target.error(marker, msg, cause);
+          break;
+        default:
+          throw new UnsupportedOperationException();
+      }
+    }
+
+    /**
+     * Forward to a {@link LocationAwareLogger} delegate, as logged through this class.
+     */
+    private static void forward(final Logger target,
+                                @Nullable final Marker marker,
+                                final int level,
+                                final String format,
+                                @Nullable final Object[] args,
+                                @Nullable final Throwable cause)
+    {
+      ((LocationAwareLogger) target).log(marker, FQCN, level, format, args, cause);
+    }
+
+    //
+    // TRACE
+    //
+
+    public boolean isTraceEnabled() {
+      return delegate.isTraceEnabled();
+    }
+
+    public void trace(final String msg) {
+      Logger target = delegate;
+      if (target instanceof LocationAwareLogger) {
+        forward(target, null, TRACE_INT, msg, null, null);
+      }
+      else {
+        target.trace(msg);
+      }
+    }
+
+    public void trace(final String format, final Object arg) {
+      Logger target = delegate;
+      if (target instanceof LocationAwareLogger) {
+        if (target.isTraceEnabled()) {
+          forward(target, null, TRACE_INT, format, new Object[]{arg}, null);
+        }
+      }
+      else {
+        target.trace(format, arg);
+      }
+    }
+
+    public void trace(final String format, final Object arg1, final Object arg2) {
+      Logger target = delegate;
+      if (target instanceof LocationAwareLogger) {
+        if (target.isTraceEnabled()) {
+          forward(target, null, TRACE_INT, format, new Object[]{arg1, arg2}, null);
+        }
+      }
+      else {
+        target.trace(format, arg1, arg2);
+      }
+    }
+
+    public void trace(final String format, final Object... args) {
+      Logger target = delegate;
+      if (target instanceof LocationAwareLogger) {
+        forward(target, null, TRACE_INT, format, args, null);
+      }
+      else {
+        target.trace(format, args);
+      }
+    }
+
+    public void trace(final String msg, final Throwable cause) {
+      Logger target = delegate;
+      if (target instanceof LocationAwareLogger) {
+        forward(target, null, TRACE_INT, msg, null, cause);
+      }
+      else {
+        target.trace(msg, cause);
+      }
+    }
+
+    public boolean isTraceEnabled(final Marker marker) {
+      return delegate.isTraceEnabled(marker);
+    }
+
+    public void trace(final Marker marker, final String msg) {
+      Logger target = delegate;
+      if (target instanceof LocationAwareLogger) {
+        forward(target, marker, TRACE_INT, msg, null, null);
+      }
+      else {
+        target.trace(marker, msg);
+      }
+    }
+
+    public void trace(final Marker marker, final String format, final Object arg) {
+      Logger target = delegate;
+      if (target instanceof LocationAwareLogger) {
+        if (target.isTraceEnabled(marker)) {
+          forward(target, marker, TRACE_INT, format, new Object[]{arg}, null);
+        }
+      }
+      else {
+        target.trace(marker, format, arg);
+      }
+    }
+
+    public void trace(final Marker marker, final String format, final Object arg1, final Object arg2) {
+      Logger target = delegate;
+      if (target instanceof LocationAwareLogger) {
+        if (target.isTraceEnabled(marker)) {
+          forward(target, marker, TRACE_INT, format, new Object[]{arg1, arg2}, null);
+        }
+      }
+      else {
+        target.trace(marker, format, arg1, arg2);
+      }
+    }
+
+    public void trace(final Marker marker, final String format, final Object... args) {
+      Logger target = delegate;
+      if (target instanceof LocationAwareLogger) {
+        forward(target, marker, TRACE_INT, format, args, null);
+      }
+      else {
+        target.trace(marker, format, args);
+      }
+    }
+
+    public void trace(final Marker marker, final String msg, final Throwable cause) {
+      Logger target = delegate;
+      if (target instanceof LocationAwareLogger) {
+        forward(target, marker, TRACE_INT, msg, null, cause);
+      }
+      else {
+        target.trace(marker, msg, cause);
+      }
+    }
+
+    //
+    // DEBUG
+    //
+
+    public boolean isDebugEnabled() {
+      return delegate.isDebugEnabled();
+    }
+
+    public void debug(final String msg) {
+      Logger target = delegate;
+      if (target instanceof LocationAwareLogger) {
+        forward(target, null, DEBUG_INT, msg, null, null);
+      }
+      else {
+        target.debug(msg);
+      }
+    }
+
+    public void debug(final String format, final Object arg) {
+      Logger target = delegate;
+      if (target instanceof LocationAwareLogger) {
+        if (target.isDebugEnabled()) {
+          forward(target, null, DEBUG_INT, format, new Object[]{arg}, null);
+        }
+      }
+      else {
+        target.debug(format, arg);
+      }
+    }
+
+    public void debug(final String format, final Object arg1, final Object arg2) {
+      Logger target = delegate;
+      if (target instanceof LocationAwareLogger) {
+        if (target.isDebugEnabled()) {
+          forward(target, null, DEBUG_INT, format, new Object[]{arg1, arg2}, null);
+        }
+      }
+      else {
+        target.debug(format, arg1, arg2);
+      }
+    }
+
+    public void debug(final String format, final Object... args) {
+      Logger target = delegate;
+      if (target instanceof LocationAwareLogger) {
+        forward(target, null, DEBUG_INT, format, args, null);
+      }
+      else {
+        target.debug(format, args);
+      }
+    }
+
+    public void debug(final String msg, final Throwable cause) {
+      Logger target = delegate;
+      if (target instanceof LocationAwareLogger) {
+        forward(target, null, DEBUG_INT, msg, null, cause);
+      }
+      else {
+        target.debug(msg, cause);
+      }
+    }
+
+    public boolean isDebugEnabled(final Marker marker) {
+      return delegate.isDebugEnabled(marker);
+    }
+
+    public void debug(final Marker marker, final String msg) {
+      Logger target = delegate;
+      if (target instanceof LocationAwareLogger) {
+        forward(target, marker, DEBUG_INT, msg, null, null);
+      }
+      else {
+        target.debug(marker, msg);
+      }
+    }
+
+    public void debug(final Marker marker, final String format, final Object arg) {
+      Logger target = delegate;
+      if (target instanceof LocationAwareLogger) {
+        if (target.isDebugEnabled(marker)) {
+          forward(target, marker, DEBUG_INT, format, new Object[]{arg}, null);
+        }
+      }
+      else {
+        target.debug(marker, format, arg);
+      }
+    }
+
+    public void debug(final Marker marker, final String format, final Object arg1, final Object arg2) {
+      Logger target = delegate;
+      if (target instanceof LocationAwareLogger) {
+        if (target.isDebugEnabled(marker)) {
+          forward(target, marker, DEBUG_INT, format, new Object[]{arg1, arg2}, null);
+        }
+      }
+      else {
+        target.debug(marker, format, arg1, arg2);
+      }
+    }
+
+    public void debug(final Marker marker, final String format, final Object... args) {
+      Logger target = delegate;
+      if (target instanceof LocationAwareLogger) {
+        forward(target, marker, DEBUG_INT, format, args, null);
+      }
+      else {
+        target.debug(marker, format, args);
+      }
+    }
+
+    public void debug(final Marker marker, final String msg, final Throwable cause) {
+      Logger target = delegate;
+      if (target instanceof LocationAwareLogger) {
+        forward(target, marker, DEBUG_INT, msg, null, cause);
+      }
+      else {
+        target.debug(marker, msg, cause);
+      }
+    }
+
+    //
+    // INFO
+    //
+
+    public boolean isInfoEnabled() {
+      return delegate.isInfoEnabled();
+    }
+
+    public void info(final String msg) {
+      Logger target = delegate;
+      if (target instanceof LocationAwareLogger) {
+        forward(target, null, INFO_INT, msg, null, null);
+      }
+      else {
+        target.info(msg);
+      }
+    }
+
+    public void info(final String format, final Object arg) {
+      Logger target = delegate;
+      if (target instanceof LocationAwareLogger) {
+        if (target.isInfoEnabled()) {
+          forward(target, null, INFO_INT, format, new Object[]{arg}, null);
+        }
+      }
+      else {
+        target.info(format, arg);
+      }
+    }
+
+    public void info(final String format, final Object arg1, final Object arg2) {
+      Logger target = delegate;
+      if (target instanceof LocationAwareLogger) {
+        if (target.isInfoEnabled()) {
+          forward(target, null, INFO_INT, format, new Object[]{arg1, arg2}, null);
+        }
+      }
+      else {
+        target.info(format, arg1, arg2);
+      }
+    }
+
+    public void info(final String format, final Object... args) {
+      Logger target = delegate;
+      if (target instanceof LocationAwareLogger) {
+        forward(target, null, INFO_INT, format, args, null);
+      }
+      else {
+        target.info(format, args);
+      }
+    }
+
+    public void info(final String msg, final Throwable cause) {
+      Logger target = delegate;
+      if (target instanceof LocationAwareLogger) {
+        forward(target, null, INFO_INT, msg, null, cause);
+      }
+      else {
+        target.info(msg, cause);
+      }
+    }
+
+    public boolean isInfoEnabled(final Marker marker) {
+      return delegate.isInfoEnabled(marker);
+    }
+
+    public void info(final Marker marker, final String msg) {
+      Logger target = delegate;
+      if (target instanceof LocationAwareLogger) {
+        forward(target, marker, INFO_INT, msg, null, null);
+      }
+      else {
+        target.info(marker, msg);
+      }
+    }
+
+    public void info(final Marker marker, final String format, final Object arg) {
+      Logger target = delegate;
+      if (target instanceof LocationAwareLogger) {
+        if (target.isInfoEnabled(marker)) {
+          forward(target, marker, INFO_INT, format, new Object[]{arg}, null);
+        }
+      }
+      else {
+        target.info(marker, format, arg);
+      }
+    }
+
+    public void info(final Marker marker, final String format, final Object arg1, final Object arg2) {
+      Logger target = delegate;
+      if (target instanceof LocationAwareLogger) {
+        if (target.isInfoEnabled(marker)) {
+          forward(target, marker, INFO_INT, format, new Object[]{arg1, arg2}, null);
+        }
+      }
+      else {
+        target.info(marker, format, arg1, arg2);
+      }
+    }
+
+    public void info(final Marker marker, final String format, final Object... args) {
+      Logger target = delegate;
+      if (target instanceof LocationAwareLogger) {
+        forward(target, marker, INFO_INT, format, args, null);
+      }
+      else {
+        target.info(marker, format, args);
+      }
+    }
+
+    public void info(final Marker marker, final String msg, final Throwable cause) {
+      Logger target = delegate;
+      if (target instanceof LocationAwareLogger) {
+        forward(target, marker, INFO_INT, msg, null, cause);
+      }
+      else {
+        target.info(marker, msg, cause);
+      }
+    }
+
+    //
+    // WARN
+    //
+
+    public boolean isWarnEnabled() {
+      return delegate.isWarnEnabled();
+    }
+
+    public void warn(final String msg) {
+      Logger target = delegate;
+      if (target instanceof LocationAwareLogger) {
+        forward(target, null, WARN_INT, msg, null, null);
+      }
+      else {
+        target.warn(msg);
+      }
+    }
+
+    public void warn(final String format, final Object arg) {
+      Logger target = delegate;
+      if (target instanceof LocationAwareLogger) {
+        if (target.isWarnEnabled()) {
+          forward(target, null, WARN_INT, format, new Object[]{arg}, null);
+        }
+      }
+      else {
+        target.warn(format, arg);
+      }
+    }
+
+    public void warn(final String format, final Object arg1, final Object arg2) {
+      Logger target = delegate;
+      if (target instanceof LocationAwareLogger) {
+        if (target.isWarnEnabled()) {
+          forward(target, null, WARN_INT, format, new Object[]{arg1, arg2}, null);
+        }
+      }
+      else {
+        target.warn(format, arg1, arg2);
+      }
+    }
+
+    public void warn(final String format, final Object... args) {
+      Logger target = delegate;
+      if (target instanceof LocationAwareLogger) {
+        forward(target, null, WARN_INT, format, args, null);
+      }
+      else {
+        target.warn(format, args);
+      }
+    }
+
+    public void warn(final String msg, final Throwable cause) {
+      Logger target = delegate;
+      if (target instanceof LocationAwareLogger) {
+        forward(target, null, WARN_INT, msg, null, cause);
+      }
+      else {
+        target.warn(msg, cause);
+      }
+    }
+
+    public boolean isWarnEnabled(final Marker marker) {
+      return delegate.isWarnEnabled(marker);
+    }
+
+    public void warn(final Marker marker, final String msg) {
+      Logger target = delegate;
+      if (target instanceof LocationAwareLogger) {
+        forward(target, marker, WARN_INT, msg, null, null);
+      }
+      else {
+        target.warn(marker, msg);
+      }
+    }
+
+    public void warn(final Marker marker, final String format, final Object arg) {
+      Logger target = delegate;
+      if (target instanceof LocationAwareLogger) {
+        if (target.isWarnEnabled(marker)) {
+          forward(target, marker, WARN_INT, format, new Object[]{arg}, null);
+        }
+      }
+      else {
+        target.warn(marker, format, arg);
+      }
+    }
+
+    public void warn(final Marker marker, final String format, final Object arg1, final Object arg2) {
+      Logger target = delegate;
+      if (target instanceof LocationAwareLogger) {
+        if (target.isWarnEnabled(marker)) {
+          forward(target, marker, WARN_INT, format, new Object[]{arg1, arg2}, null);
+        }
+      }
+      else {
+        target.warn(marker, format, arg1, arg2);
+      }
+    }
+
+    public void warn(final Marker marker, final String format, final Object... args) {
+      Logger target = delegate;
+      if (target instanceof LocationAwareLogger) {
+        forward(target, marker, WARN_INT, format, args, null);
+      }
+      else {
+        target.warn(marker, format, args);
+      }
+    }
+
+    public void warn(final Marker marker, final String msg, final Throwable cause) {
+      Logger target = delegate;
+      if (target instanceof LocationAwareLogger) {
+        forward(target, marker, WARN_INT, msg, null, cause);
+      }
+      else {
+        target.warn(marker, msg, cause);
+      }
+    }
+
+    //
+    // ERROR
+    //
+
+    public boolean isErrorEnabled() {
+      return delegate.isErrorEnabled();
+    }
+
+    public void error(final String msg) {
+      Logger target = delegate;
+      if (target instanceof LocationAwareLogger) {
+        forward(target, null, ERROR_INT, msg, null, null);
+      }
+      else {
+        target.error(msg);
+      }
+    }
+
+    public void error(final String format, final Object arg) {
+      Logger target = delegate;
+      if (target instanceof LocationAwareLogger) {
+        if (target.isErrorEnabled()) {
+          forward(target, null, ERROR_INT, format, new Object[]{arg}, null);
+        }
+      }
+      else {
+        target.error(format, arg);
+      }
+    }
+
+    public void error(final String format, final Object arg1, final Object arg2) {
+      Logger target = delegate;
+      if (target instanceof LocationAwareLogger) {
+        if (target.isErrorEnabled()) {
+          forward(target, null, ERROR_INT, format, new Object[]{arg1, arg2}, null);
+        }
+      }
+      else {
+        target.error(format, arg1, arg2);
+      }
+    }
+
+    public void error(final String format, final Object... args) {
+      Logger target = delegate;
+      if (target instanceof LocationAwareLogger) {
+        forward(target, null, ERROR_INT, format, args, null);
+      }
+      else {
+        target.error(format, args);
+      }
+    }
+
+    public void error(final String msg, final Throwable cause) {
+      Logger target = delegate;
+      if (target instanceof LocationAwareLogger) {
+        forward(target, null, ERROR_INT, msg, null, cause);
+      }
+      else {
+        target.error(msg, cause);
+      }
+    }
+
+    public boolean isErrorEnabled(final Marker marker) {
+      return delegate.isErrorEnabled(marker);
+    }
+
+    public void error(final Marker marker, final String msg) {
+      Logger target = delegate;
+      if (target instanceof LocationAwareLogger) {
+        forward(target, marker, ERROR_INT, msg, null, null);
+      }
+      else {
+        target.error(marker, msg);
+      }
+    }
+
+    public void error(final Marker marker, final String format, final Object arg) {
+      Logger target = delegate;
+      if (target instanceof LocationAwareLogger) {
+        if (target.isErrorEnabled(marker)) {
+          forward(target, marker, ERROR_INT, format, new Object[]{arg}, null);
+        }
+      }
+      else {
+        target.error(marker, format, arg);
+      }
+    }
+
+    public void error(final Marker marker, final String format, final Object arg1, final Object arg2) {
+      Logger target = delegate;
+      if (target instanceof LocationAwareLogger) {
+        if (target.isErrorEnabled(marker)) {
+          forward(target, marker, ERROR_INT, format, new Object[]{arg1, arg2}, null);
+        }
+      }
+      else {
+        target.error(marker, format, arg1, arg2);
+      }
+    }
+
+    public void error(final Marker marker, final String format, final Object... args) {
+      Logger target = delegate;
+      if (target instanceof LocationAwareLogger) {
+        forward(target, marker, ERROR_INT, format, args, null);
+      }
+      else {
+        target.error(marker, format, args);
+      }
+    }
+
+    public void error(final Marker marker, final String msg, final Throwable cause) {
+      Logger target = delegate;
+      if (target instanceof LocationAwareLogger) {
+        forward(target, marker, ERROR_INT, msg, null, cause);
+      }
+      else {
+        target.error(marker, msg, cause);
       }
-      return method.invoke(getDelegate(), args);
     }
   }
-}
\ No newline at end of file
+}
@@ -16,9 +16,9 @@
 package com.planet57.gossip;
 
 import org.slf4j.Logger;
-import org.slf4j.helpers.FormattingTuple;
+import org.slf4j.Marker;
 import org.slf4j.helpers.MarkerIgnoringBase;
-import org.slf4j.helpers.MessageFormatter;
+import org.slf4j.spi.LocationAwareLogger;
 
 import java.io.Serializable;
 
@@ -33,15 +33,24 @@ import static com.planet57.gossip.Level.WARN;
 /**
  * Support for the Gossip {@link Logger} implementation.
  *
+ * Markers are passed through to {@link Event#getMarker()}; level checks do not consider them.
+ *
  * @author <a href="mailto:jason@planet57.com">Jason Dillon</a>
  * @since 1.0
  */
 public abstract class LoggerSupport
     extends MarkerIgnoringBase
-    implements org.slf4j.Logger, Serializable
+    implements LocationAwareLogger, Serializable
 {
   private static final long serialVersionUID = 1;
 
+  /**
+   * Class name events logged through the {@link Logger} methods are logged through.
+   *
+   * @since 2.0.1
+   */
+  public static final String FQCN = LoggerSupport.class.getName();
+
   protected LoggerSupport(final String name) {
     this.name = name;
   }
@@ -88,34 +97,104 @@ public abstract class LoggerSupport
   protected abstract void doLog(Event event);
 
   protected void doLog(final Level level, final String message, @Nullable final Throwable cause) {
-    doLog(new Event(this, level, message, cause));
+    doLog(new Event(FQCN, this, level, null, message, cause, null));
+  }
+
+  /**
+   * Log an already formatted message, if the given level is enabled.
+   *
+   * Allows adapters which fan out to several loggers to format a message once and share the result.
+   *
+   * @since 2.0.1
+   */
+  public final void logFormatted(final Level level, final String message, @Nullable final Throwable cause) {
+    logFormatted(FQCN, level, message, cause);
+  }
+
+  /**
+   * Log an already formatted message on behalf of a wrapper, if the given level is enabled.
+   *
+   * @param fqcn Class name of the wrapper; see {@link Event#getCaller()}.
+   * @since 2.0.1
+   */
+  public final void logFormatted(final String fqcn, final Level level, final String message, @Nullable final Throwable cause) {
+    if (isEnabled(level)) {
+      doLog(new Event(fqcn, this, level, null, message, cause, null));
+    }
+  }
+
+  /**
+   * Log on behalf of a bridge, such as jcl-over-slf4j.
+   *
+   * @since 2.0.1
+   */
+  public final void log(@Nullable final Marker marker,
+                        final String fqcn,
+                        final int level,
+                        final String message,
+                        @Nullable final Object[] args,
+                        @Nullable final Throwable cause)
+  {
+    Level l = Level.forId(level);
+    if (isEnabled(l)) {
+      if (args != null && args.length != 0) {
+        log(fqcn, l, marker, message, args, cause);
+      }
+      else {
+        doLog(new Event(fqcn, this, l, marker, message, cause, null));
+      }
+    }
   }
 
-  private void log(final Level level, final FormattingTuple tuple) {
-    doLog(level, tuple.getMessage(), tuple.getThrowable());
+  private void log(final String fqcn,
+                   final Level level,
+                   @Nullable final Marker marker,
+                   final String format,
+                   final Object[] args,
+                   @Nullable Throwable cause)
+  {
+    MessageTemplate template = MessageTemplate.of(format);
+    Throwable trailing = template.getCause(args);
+    if (cause == null) {
+      cause = trailing;
+    }
+    // arguments used by the message; a trailing throwable taken as the cause is excluded
+    Fields arguments = Fields.wrap(args, trailing != null ? args.length - 1 : args.length);
+    doLog(new Event(fqcn, this, level, marker, format, arguments, template.format(args), cause, null));
   }
 
-  private void log(final Level level, final String msg) {
+  private void log(final Level level, @Nullable final Marker marker, final String msg) {
     if (isEnabled(level)) {
-      doLog(level, msg, null);
+      doLog(new Event(FQCN, this, level, marker, msg, null, null));
     }
   }
 
-  private void log(final Level level, final String format, final Object arg) {
+  private void log(final Level level, @Nullable final Marker marker, final String msg, @Nullable final Throwable cause) {
     if (isEnabled(level)) {
-      log(level, MessageFormatter.format(format, arg));
+      doLog(new Event(FQCN, this, level, marker, msg, cause, null));
     }
   }
 
-  private void log(final Level level, final String format, final Object arg1, final Object arg2) {
+  private void log(final Level level, @Nullable final Marker marker, final String format, final Object arg) {
     if (isEnabled(level)) {
-      log(level, MessageFormatter.format(format, arg1, arg2));
+      log(FQCN, level, marker, format, new Object[]{arg}, null);
     }
   }
 
-  private void log(final Level level, final String format, final Object[] args) {
+  private void log(final Level level, @Nullable final Marker marker, final String format, final Object arg1, final Object arg2) {
     if (isEnabled(level)) {
-      log(level, MessageFormatter.arrayFormat(format, args));
+      log(FQCN, level, marker, format, new Object[]{arg1, arg2}, null);
+    }
+  }
+
+  private void log(final Level level, @Nullable final Marker marker, final String format, final Object[] args) {
+    if (isEnabled(level)) {
+      if (args != null) {
+        log(FQCN, level, marker, format, args, null);
+      }
+      else {
+        doLog(new Event(FQCN, this, level, marker, format, null, format, null, null));
+      }
     }
   }
 
@@ -128,23 +207,53 @@ public abstract class LoggerSupport
   }
 
   public final void trace(final String msg) {
-    log(TRACE, msg);
+    log(TRACE, null, msg);
   }
 
   public final void trace(final String format, final Object arg) {
-    log(TRACE, format, arg);
+    log(TRACE, null, format, arg);
   }
 
   public final void trace(final String format, final Object arg1, final Object arg2) {
-    log(TRACE, format, arg1, arg2);
+    log(TRACE, null, format, arg1, arg2);
   }
 
   public final void trace(final String format, final Object... args) {
-    log(TRACE, format, args);
+    log(TRACE, null, format, args);
   }
 
   public final void trace(final String msg, final Throwable cause) {
-    log(TRACE, msg, cause);
+    log(TRACE, null, msg, cause);
+  }
+
+  @Override
+  public final boolean isTraceEnabled(final Marker marker) {
+    return isEnabled(TRACE);
+  }
+
+  @Override
+  public final void trace(final Marker marker, final String msg) {
+    log(TRACE, marker, msg);
+  }
+
+  @Override
+  public final void trace(final Marker marker, final String format, final Object arg) {
+    log(TRACE, marker, format, arg);
+  }
+
+  @Override
+  public final void trace(final Marker marker, final String format, final Object arg1, final Object arg2) {
+    log(TRACE, marker, format, arg1, arg2);
+  }
+
+  @Override
+  public final void trace(final Marker marker, final String format, final Object... args) {
+    log(TRACE, marker, format, args);
+  }
+
+  @Override
+  public final void trace(final Marker marker, final String msg, final Throwable cause) {
+    log(TRACE, marker, msg, cause);
   }
 
   //
@@ -156,23 +265,53 @@ public abstract class LoggerSupport
   }
 
   public final void debug(final String msg) {
-    log(DEBUG, msg);
+    log(DEBUG, null, msg);
   }
 
   public final void debug(final String format, final Object arg) {
-    log(DEBUG, format, arg);
+    log(DEBUG, null, format, arg);
   }
 
   public final void debug(final String format, final Object arg1, final Object arg2) {
-    log(DEBUG, format, arg1, arg2);
+    log(DEBUG, null, format, arg1, arg2);
   }
 
   public final void debug(final String format, final Object... args) {
-    log(DEBUG, format, args);
+    log(DEBUG, null, format, args);
   }
 
   public final void debug(final String msg, final Throwable cause) {
-    log(DEBUG, msg, cause);
+    log(DEBUG, null, msg, cause);
+  }
+
+  @Override
+  public final boolean isDebugEnabled(final Marker marker) {
+    return isEnabled(DEBUG);
+  }
+
+  @Override
+  public final void debug(final Marker marker, final String msg) {
+    log(DEBUG, marker, msg);
+  }
+
+  @Override
+  public final void debug(final Marker marker, final String format, final Object arg) {
+    log(DEBUG, marker, format, arg);
+  }
+
+  @Override
+  public final void debug(final Marker marker, final String format, final Object arg1, final Object arg2) {
+    log(DEBUG, marker, format, arg1, arg2);
+  }
+
+  @Override
+  public final void debug(final Marker marker, final String format, final Object... args) {
+    log(DEBUG, marker, format, args);
+  }
+
+  @Override
+  public final void debug(final Marker marker, final String msg, final Throwable cause) {
+    log(DEBUG, marker, msg, cause);
   }
 
   //
@@ -184,23 +323,53 @@ public abstract class LoggerSupport
   }
 
   public final void info(final String msg) {
-    log(INFO, msg);
+    log(INFO, null, msg);
   }
 
   public final void info(final String format, final Object arg) {
-    log(INFO, format, arg);
+    log(INFO, null, format, arg);
   }
 
   public final void info(final String format, final Object arg1, final Object arg2) {
-    log(INFO, format, arg1, arg2);
+    log(INFO, null, format, arg1, arg2);
   }
 
   public final void info(final String format, final Object... args) {
-    log(INFO, format, args);
+    log(INFO, null, format, args);
   }
 
   public final void info(final String msg, final Throwable cause) {
-    log(INFO, msg, cause);
+    log(INFO, null, msg, cause);
+  }
+
+  @Override
+  public final boolean isInfoEnabled(final Marker marker) {
+    return isEnabled(INFO);
+  }
+
+  @Override
+  public final void info(final Marker marker, final String msg) {
+    log(INFO, marker, msg);
+  }
+
+  @Override
+  public final void info(final Marker marker, final String format, final Object arg) {
+    log(INFO, marker, format, arg);
+  }
+
+  @Override
+  public final void info(final Marker marker, final String format, final Object arg1, final Object arg2) {
+    log(INFO, marker, format, arg1, arg2);
+  }
+
+  @Override
+  public final void info(final Marker marker, final String format, final Object... args) {
+    log(INFO, marker, format, args);
+  }
+
+  @Override
+  public final void info(final Marker marker, final String msg, final Throwable cause) {
+    log(INFO, marker, msg, cause);
   }
 
   //
@@ -212,23 +381,53 @@ public abstract class LoggerSupport
   }
 
   public final void warn(final String msg) {
-    log(WARN, msg);
+    log(WARN, null, msg);
   }
 
   public final void warn(final String format, final Object arg) {
-    log(WARN, format, arg);
+    log(WARN, null, format, arg);
   }
 
-  public final void warn(final String format, final Object... args) {
-    log(WARN, format, args);
+  public final void warn(final String format, final Object arg1, final Object arg2) {
+    log(WARN, null, format, arg1, arg2);
   }
 
-  public final void warn(final String format, final Object arg1, final Object arg2) {
-    log(WARN, format, arg1, arg2);
+  public final void warn(final String format, final Object... args) {
+    log(WARN, null, format, args);
   }
 
   public final void warn(final String msg, final Throwable cause) {
-    log(WARN, msg, cause);
+    log(WARN, null, msg, cause);
+  }
+
+  @Override
+  public final boolean isWarnEnabled(final Marker marker) {
+    return isEnabled(WARN);
+  }
+
+  @Override
+  public final void warn(final Marker marker, final String msg) {
+    log(WARN, marker, msg);
+  }
+
+  @Override
+  public final void warn(final Marker marker, final String format, final Object arg) {
+    log(WARN, marker, format, arg);
+  }
+
+  @Override
+  public final void warn(final Marker marker, final String format, final Object arg1, final Object arg2) {
+    log(WARN, marker, format, arg1, arg2);
+  }
+
+  @Override
+  public final void warn(final Marker marker, final String format, final Object... args) {
+    log(WARN, marker, format, args);
+  }
+
+  @Override
+  public final void warn(final Marker marker, final String msg, final Throwable cause) {
+    log(WARN, marker, msg, cause);
   }
 
   //
@@ -240,22 +439,52 @@ public abstract class LoggerSupport
   }
 
   public final void error(final String msg) {
-    log(ERROR, msg);
+    log(ERROR, null, msg);
   }
 
   public final void error(final String format, final Object arg) {
-    log(ERROR, format, arg);
+    log(ERROR, null, format, arg);
   }
 
   public final void error(final String format, final Object arg1, final Object arg2) {
-    log(ERROR, format, arg1, arg2);
+    log(ERROR, null, format, arg1, arg2);
   }
 
   public final void error(final String format, final Object... args) {
-    log(ERROR, format, args);
+    log(ERROR, null, format, args);
   }
 
   public final void error(final String msg, final Throwable cause) {
-    log(ERROR, msg, cause);
+    log(ERROR, null, msg, cause);
+  }
+
+  @Override
+  public final boolean isErrorEnabled(final Marker marker) {
+    return isEnabled(ERROR);
+  }
+
+  @Override
+  public final void error(final Marker marker, final String msg) {
+    log(ERROR, marker, msg);
+  }
+
+  @Override
+  public final void error(final Marker marker, final String format, final Object arg) {
+    log(ERROR, marker, format, arg);
+  }
+
+  @Override
+  public final void error(final Marker marker, final String format, final Object arg1, final Object arg2) {
+    log(ERROR, marker, format, arg1, arg2);
+  }
+
+  @Override
+  public final void error(final Marker marker, final String format, final Object... args) {
+    log(ERROR, marker, format, args);
+  }
+
+  @Override
+  public final void error(final Marker marker, final String msg, final Throwable cause) {
+    log(ERROR, marker, msg, cause);
   }
-}
\ No newline at end of file
+}
@@ -0,0 +1,414 @@
+/*
+ * Copyright (c) 2009-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.planet57.gossip;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.annotation.Nullable;
+
+import org.slf4j.Logger;
+
+/**
+ * Compiled message template.
+ *
+ * Templates are parsed once into the literal text before each {@code {}} anchor, and formatted by appending
+ * segments and arguments; output, escapes and the trailing throwable convention follow
+ * {@link org.slf4j.helpers.MessageFormatter} of slf4j 1.6, the version Gossip is built against.
+ *
+ * Compiled templates are cached, up to a limit; past it, adding a template evicts one not used since the last
+ * eviction pass, so templates in use stay compiled.
+ *
+ * @since 2.0.1
+ */
+public final class MessageTemplate
+{
+  private static final Logger log = Log.getLogger(MessageTemplate.class);
+
+  private static final int CACHE_SIZE = Integer.getInteger(MessageTemplate.class.getName() + ".cacheSize", 4 * 1024);
+
+  private static final int MAX_BUFFER = 64 * 1024;
+
+  private static final ConcurrentMap<String, MessageTemplate> cache = new ConcurrentHashMap<String, MessageTemplate>();
+
+  private static final ThreadLocal<Buffer> buffers = new ThreadLocal<Buffer>()
+  {
+    @Override
+    protected Buffer initialValue() {
+      return new Buffer();
+    }
+  };
+
+  private static final class Buffer
+  {
+    final StringBuilder buff = new StringBuilder();
+
+    boolean busy;
+  }
+
+  @Nullable
+  private final String template;
+
+  /**
+   * Text before each anchor, with escapes applied.
+   */
+  private final String[] segments;
+
+  /**
+   * Offset of the template following each anchor; text left when arguments run out is appended as-is.
+   */
+  private final int[] offsets;
+
+  /**
+   * Text following the last anchor, with escapes applied.
+   */
+  @Nullable
+  private final String tail;
+
+  /**
+   * Set when returned from the cache, cleared by eviction passes; racy updates only affect which template is evicted.
+   */
+  private boolean used;
+
+  /**
+   * Template of a null format; formats as a null message, as with {@link org.slf4j.helpers.MessageFormatter}.
+   */
+  private static final MessageTemplate NULL = new MessageTemplate();
+
+  private MessageTemplate() {
+    this.template = null;
+    this.segments = new String[0];
+    this.offsets = new int[0];
+    this.tail = null;
+  }
+
+  private MessageTemplate(final String template) {
+    this.template = template;
+
+    List<String> segments = new ArrayList<String>();
+    List<Integer> offsets = new ArrayList<Integer>();
+    StringBuilder buff = new StringBuilder();
+    int i = 0;
+    int j;
+    while ((j = template.indexOf("{}", i)) != -1) {
+      if (j > 0 && template.charAt(j - 1) == '\\') {
+        if (j > 1 && template.charAt(j - 2) == '\\') {
+          // escaped escape; the argument follows a literal backslash
+          buff.append(template, i, j - 1);
+          segments.add(buff.toString());
+          offsets.add(j + 2);
+          buff.setLength(0);
+          i = j + 2;
+        }
+        else {
+          // escaped anchor
+          buff.append(template, i, j - 1).append('{');
+          i = j + 1;
+        }
+      }
+      else {
+        buff.append(template, i, j);
+        segments.add(buff.toString());
+        offsets.add(j + 2);
+        buff.setLength(0);
+        i = j + 2;
+      }
+    }
+    buff.append(template, i, template.length());
+
+    this.segments = segments.toArray(new String[segments.size()]);
+    this.offsets = new int[offsets.size()];
+    for (int k = 0; k < this.offsets.length; k++) {
+      this.offsets[k] = offsets.get(k);
+    }
+    this.tail = i == 0 ? template : buff.toString();
+  }
+
+  /**
+   * Returns the compiled template; a null template formats as a null message.
+   */
+  public static MessageTemplate of(@Nullable final String template) {
+    if (template == null) {
+      return NULL;
+    }
+
+    MessageTemplate result = cache.get(template);
+    if (result != null) {
+      // only write when changed; avoid dirtying the shared template on every call
+      if (!result.used) {
+        result.used = true;
+      }
+    }
+    else {
+      result = new MessageTemplate(template);
+      if (cache.size() >= CACHE_SIZE) {
+        evict();
+      }
+      cache.put(template, result);
+    }
+    return result;
+  }
+
+  /**
+   * Evict the first template not used since the last pass; clearing the mark of those passed over.
+   */
+  private static void evict() {
+    // second pass when all were used; marks are cleared by then
+    for (int pass = 0; pass < 2; pass++) {
+      Iterator<MessageTemplate> iter = cache.values().iterator();
+      while (iter.hasNext()) {
+        MessageTemplate candidate = iter.next();
+        if (candidate.used) {
+          candidate.used = false;
+        }
+        else {
+          iter.remove();
+          return;
+        }
+      }
+    }
+  }
+
+  @Nullable
+  public String getTemplate() {
+    return template;
+  }
+
+  /**
+   * Number of arguments the template uses.
+   */
+  public int getAnchors() {
+    return segments.length;
+  }
+
+  /**
+   * Returns the trailing throwable not used by the template; ie. the cause.
+   */
+  @Nullable
+  public Throwable getCause(@Nullable final Object[] args) {
+    if (args != null && args.length > segments.length && args[args.length - 1] instanceof Throwable) {
+      return (Throwable) args[args.length - 1];
+    }
+    return null;
+  }
+
+  /**
+   * Format the given arguments; null if the template is null.
+   */
+  @Nullable
+  public String format(@Nullable final Object[] args) {
+    if (args == null || args.length == 0) {
+      return template;
+    }
+    if (segments.length == 0) {
+      return tail;
+    }
+
+    Buffer buffer = buffers.get();
+    if (buffer.busy) {
+      // already formatting; ie. an argument logged from toString()
+      buffer = new Buffer();
+    }
+    StringBuilder buff = buffer.buff;
+    buffer.busy = true;
+    try {
+      format(buff, args);
+      return buff.toString();
+    }
+    finally {
+      buff.setLength(0);
+      if (buff.capacity() > MAX_BUFFER) {
+        buff.trimToSize();
+      }
+      buffer.busy = false;
+    }
+  }
+
+  /**
+   * Format the given arguments into a buffer.
+   *
+   * @return The number of arguments used.
+   */
+  public int format(final StringBuilder buff, @Nullable final Object[] args) {
+    assert buff != null;
+
+    int count = args != null ? args.length : 0;
+    if (count == 0) {
+      buff.append(template);
+      return 0;
+    }
+    int used = Math.min(count, segments.length);
+    for (int k = 0; k < used; k++) {
+      buff.append(segments[k]);
+      appendArgument(buff, args[k]);
+    }
+    appendTail(buff, count, used);
+    return used;
+  }
+
+  /**
+   * Format the given arguments into a buffer.
+   *
+   * @return The number of arguments used.
+   */
+  public int format(final StringBuilder buff, final Fields args) {
+    assert buff != null;
+    assert args != null;
+
+    int count = args.size();
+    if (count == 0) {
+      buff.append(template);
+      return 0;
+    }
+    int used = Math.min(count, segments.length);
+    for (int k = 0; k < used; k++) {
+      buff.append(segments[k]);
+      args.appendValue(k, buff);
+    }
+    appendTail(buff, count, used);
+    return used;
+  }
+
+  private void appendTail(final StringBuilder buff, final int count, final int used) {
+    if (count > segments.length) {
+      buff.append(tail);
+    }
+    else {
+      // as with MessageFormatter, escapes after the last argument used are left as-is
+      buff.append(template, offsets[used - 1], template.length());
+    }
+  }
+
+  /**
+   * Append an argument.
+   *
+   * {@link GossipFormattable} arguments format themselves, and those with a registered {@link ArgumentRenderer}
+   * through it; arrays are appended with their elements, and other arguments as {@link Object#toString()}.
+   */
+  public static void appendArgument(final StringBuilder buff, @Nullable final Object value) {
+    assert buff != null;
+
+    appendArgument(buff, value, null);
+  }
+
+  private static void appendArgument(final StringBuilder buff,
+                                     @Nullable final Object value,
+                                     @Nullable final Map<Object[], Object> seen)
+  {
+    if (value == null) {
+      buff.append("null");
+      return;
+    }
+    if (value instanceof String) {
+      buff.append((String) value);
+      return;
+    }
+
+    int mark = buff.length();
+    try {
+      ArgumentRenderer<Object> renderer;
+      if (value instanceof GossipFormattable) {
+        ((GossipFormattable) value).formatTo(buff);
+      }
+      else if ((renderer = ArgumentRenderers.forType(value.getClass())) != null) {
+        renderer.render(value, buff);
+      }
+      else if (value instanceof Object[]) {
+        appendArray(buff, (Object[]) value, seen);
+      }
+      else if (value.getClass().isArray()) {
+        appendPrimitiveArray(buff, value);
+      }
+      else {
+        buff.append(value.toString());
+      }
+    }
+    catch (Throwable e) {
+      // drop anything partially appended
+      buff.setLength(mark);
+      log.warn("Failed to format argument of type: {}", value.getClass().getName(), e);
+      buff.append("[FAILED toString()]");
+    }
+  }
+
+  private static void appendArray(final StringBuilder buff, final Object[] array, @Nullable Map<Object[], Object> seen) {
+    buff.append('[');
+    if (seen == null) {
+      seen = new IdentityHashMap<Object[], Object>();
+    }
+    if (seen.put(array, array) == null) {
+      for (int i = 0; i < array.length; i++) {
+        if (i != 0) {
+          buff.append(", ");
+        }
+        appendArgument(buff, array[i], seen);
+      }
+      seen.remove(array);
+    }
+    else {
+      buff.append("...");
+    }
+    buff.append(']');
+  }
+
+  private static void appendPrimitiveArray(final StringBuilder buff, final Object array) {
+    int length = java.lang.reflect.Array.getLength(array);
+    buff.append('[');
+    for (int i = 0; i < length; i++) {
+      if (i != 0) {
+        buff.append(", ");
+      }
+      if (array instanceof int[]) {
+        buff.append(((int[]) array)[i]);
+      }
+      else if (array instanceof long[]) {
+        buff.append(((long[]) array)[i]);
+      }
+      else if (array instanceof byte[]) {
+        buff.append(((byte[]) array)[i]);
+      }
+      else if (array instanceof char[]) {
+        buff.append(((char[]) array)[i]);
+      }
+      else if (array instanceof short[]) {
+        buff.append(((short[]) array)[i]);
+      }
+      else if (array instanceof boolean[]) {
+        buff.append(((boolean[]) array)[i]);
+      }
+      else if (array instanceof float[]) {
+        buff.append(((float[]) array)[i]);
+      }
+      else {
+        buff.append(((double[]) array)[i]);
+      }
+    }
+    buff.append(']');
+  }
+
+  @Override
+  public String toString() {
+    return getClass().getSimpleName() + "{" +
+        "template='" + template + '\'' +
+        ", anchors=" + segments.length +
+        '}';
+  }
+}
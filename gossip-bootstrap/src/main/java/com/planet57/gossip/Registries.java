@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2009-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.planet57.gossip;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.util.Enumeration;
+import java.util.Properties;
+
+import javax.annotation.Nullable;
+
+import org.slf4j.Logger;
+
+/**
+ * Loads registries; properties resources found by class-loaders.
+ *
+ * @see Templates
+ * @see ArgumentRenderers
+ * @since 2.0.1
+ */
+final class Registries
+{
+  private static final Logger log = Log.getLogger(Registries.class);
+
+  /**
+   * Loads the entries of a registry.
+   */
+  interface Loader
+  {
+    void load(URL url, Properties registry, @Nullable ClassLoader cl) throws IOException;
+  }
+
+  private Registries() {
+    // empty
+  }
+
+  /**
+   * Load registries visible to the class-loader of the given type, and to the thread context class-loader.
+   */
+  static void load(final Class<?> type, final String resource, final Loader loader) {
+    load(type.getClassLoader(), resource, loader);
+    ClassLoader cl = Thread.currentThread().getContextClassLoader();
+    if (cl != null && cl != type.getClassLoader()) {
+      load(cl, resource, loader);
+    }
+  }
+
+  /**
+   * Load registries visible to the given class-loader.
+   */
+  static void load(@Nullable final ClassLoader cl, final String resource, final Loader loader) {
+    try {
+      Enumeration<URL> resources = cl != null ? cl.getResources(resource) : ClassLoader.getSystemResources(resource);
+      while (resources.hasMoreElements()) {
+        URL url = resources.nextElement();
+        loader.load(url, read(url), cl);
+      }
+    }
+    catch (IOException e) {
+      log.warn("Failed to load registries: {}", resource, e);
+    }
+  }
+
+  static Properties read(final URL url) throws IOException {
+    assert url != null;
+
+    Properties props = new Properties();
+    InputStream input = url.openStream();
+    try {
+      props.load(input);
+    }
+    finally {
+      input.close();
+    }
+    return props;
+  }
+}
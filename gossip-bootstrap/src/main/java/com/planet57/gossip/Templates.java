@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2009-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.planet57.gossip;
+
+import java.io.IOException;
+import java.net.URL;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.Nullable;
+
+import org.slf4j.Logger;
+
+/**
+ * Registry of message template ids.
+ *
+ * Templates extracted at build-time (see gossip-processor) have stable, positive ids, read from {@link #RESOURCE}.
+ * Other templates are interned on first use with negative ids, which are only valid for the life of the process;
+ * up to a limit, after which they are {@link #UNKNOWN}.
+ *
+ * @see Event#getTemplateId()
+ * @since 2.0.1
+ */
+public final class Templates
+{
+  private static final Logger log = Log.getLogger(Templates.class);
+
+  /**
+   * Registry resource; properties of template by id.
+   */
+  public static final String RESOURCE = "META-INF/com.planet57.gossip/templates.properties";
+
+  /**
+   * Id of templates which are not registered, and could not be interned.
+   */
+  public static final int UNKNOWN = 0;
+
+  private static final int MAX_INTERNED = Integer.getInteger(Templates.class.getName() + ".maxInterned", 16 * 1024);
+
+  private static final ConcurrentMap<String, Integer> ids = new ConcurrentHashMap<String, Integer>();
+
+  private static final ConcurrentMap<Integer, String> templates = new ConcurrentHashMap<Integer, String>();
+
+  private static final AtomicInteger interned = new AtomicInteger();
+
+  private static final Registries.Loader loader = new Registries.Loader()
+  {
+    public void load(final URL url, final Properties registry, @Nullable final ClassLoader cl) {
+      Templates.load(url, registry);
+    }
+  };
+
+  static {
+    Registries.load(Templates.class, RESOURCE, loader);
+  }
+
+  private Templates() {
+    // empty
+  }
+
+  /**
+   * Load registries visible to the given class-loader.
+   */
+  public static void load(@Nullable final ClassLoader cl) {
+    Registries.load(cl, RESOURCE, loader);
+  }
+
+  /**
+   * Load a registry.
+   */
+  public static void load(final URL url) throws IOException {
+    assert url != null;
+
+    load(url, Registries.read(url));
+  }
+
+  private static void load(final URL url, final Properties props) {
+    log.trace("Loading {} templates from: {}", props.size(), url);
+    for (Map.Entry<Object, Object> entry : props.entrySet()) {
+      int id;
+      try {
+        id = Integer.parseInt((String) entry.getKey());
+      }
+      catch (NumberFormatException e) {
+        id = UNKNOWN;
+      }
+      if (id <= UNKNOWN) {
+        log.warn("Invalid template id: {} in: {}", entry.getKey(), url);
+        continue;
+      }
+
+      String template = (String) entry.getValue();
+      String existing = templates.putIfAbsent(id, template);
+      if (existing != null && !existing.equals(template)) {
+        // the template is interned instead, if used
+        log.warn("Template id: {} of: {} is already registered", id, url);
+        continue;
+      }
+      ids.putIfAbsent(template, id);
+    }
+  }
+
+  /**
+   * Returns the id of the given template; interning it if not registered.
+   */
+  public static int idOf(final String template) {
+    assert template != null;
+
+    Integer id = ids.get(template);
+    if (id != null) {
+      return id;
+    }
+    return intern(template);
+  }
+
+  /**
+   * Returns the id of the given template if registered, or already interned; {@link #UNKNOWN} otherwise.
+   */
+  public static int lookup(final String template) {
+    assert template != null;
+
+    Integer id = ids.get(template);
+    return id != null ? id : UNKNOWN;
+  }
+
+  private static int intern(final String template) {
+    if (interned.get() >= MAX_INTERNED) {
+      return UNKNOWN;
+    }
+    synchronized (ids) {
+      Integer id = ids.get(template);
+      if (id != null) {
+        return id;
+      }
+      int next = -interned.incrementAndGet();
+      templates.put(next, template);
+      ids.put(template, next);
+      return next;
+    }
+  }
+
+  /**
+   * Returns the template of the given id; null if unknown.
+   */
+  @Nullable
+  public static String forId(final int id) {
+    return templates.get(id);
+  }
+}
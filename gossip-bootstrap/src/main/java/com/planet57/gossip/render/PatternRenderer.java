@@ -16,6 +16,10 @@
 package com.planet57.gossip.render;
 
 import com.planet57.gossip.Event;
+import com.planet57.gossip.Fields;
+import org.slf4j.Marker;
+
+import javax.annotation.Nullable;
 
 /**
  * Renders events based on a pattern.
@@ -65,6 +69,26 @@ import com.planet57.gossip.Event;
  * </tr>
  *
  * <tr>
+ * <td><tt>%marker</tt></td>
+ * <td>Marker name; nothing if the event has none</td>
+ * </tr>
+ *
+ * <tr>
+ * <td><tt>%X{<em>key</em>}</tt></td>
+ * <td>MDC value; nothing if not set</td>
+ * </tr>
+ *
+ * <tr>
+ * <td><tt>%X</tt></td>
+ * <td>MDC, as <tt>key=value</tt> separated by commas</td>
+ * </tr>
+ *
+ * <tr>
+ * <td><tt>%f</tt></td>
+ * <td>Fields, as <tt>key=value</tt> each preceded by a space; nothing if the event has none</td>
+ * </tr>
+ *
+ * <tr>
  * <td><tt>%x</tt></td>
  * <td>Cause</td>
  * </tr>
@@ -106,7 +130,7 @@ public class PatternRenderer
   /**
    * @since 1.6
    */
-  public static final String DEFAULT_PATTERN = "[%l] %c - %m%n%x";
+  public static final String DEFAULT_PATTERN = "[%l] %c - %m%f%n%x";
 
   private String pattern;
 
@@ -198,14 +222,36 @@ public class PatternRenderer
             break;
 
           case 'm':
-            renderMessage(event, buff);
+            if (_pattern.startsWith("arker", i + 1)) {
+              renderMarker(event, buff);
+              i += 5;
+            }
+            else {
+              renderMessage(event, buff);
+            }
+            break;
+
+          case 'f':
+            renderFields(event, buff);
             break;
 
           case 'x':
             renderCause(event, buff);
             break;
 
-          // TODO: Maybe try and add MDC support here?  Probably %X{foo}
+          case 'X':
+            if (i + 1 < len && _pattern.charAt(i + 1) == '{') {
+              int end = _pattern.indexOf('}', i + 2);
+              if (end == -1) {
+                throw new IllegalArgumentException("Invalid pattern: " + _pattern);
+              }
+              renderContext(event, buff, _pattern.substring(i + 2, end));
+              i = end;
+            }
+            else {
+              renderContext(event, buff, null);
+            }
+            break;
 
           case 'n':
             renderNewLine(buff);
@@ -277,6 +323,54 @@ public class PatternRenderer
     buff.append(event.getMessage());
   }
 
+  /**
+   * @since 2.0.1
+   */
+  protected void renderMarker(final Event event, final StringBuilder buff) {
+    assert event != null;
+    assert buff != null;
+
+    Marker marker = event.getMarker();
+    if (marker != null) {
+      buff.append(marker.getName());
+    }
+  }
+
+  /**
+   * @param key The MDC key to render, or null for all.
+   * @since 2.0.1
+   */
+  protected void renderContext(final Event event, final StringBuilder buff, @Nullable final String key) {
+    assert event != null;
+    assert buff != null;
+
+    if (key == null) {
+      event.getContext().appendTo(buff);
+    }
+    else {
+      String value = event.getContext().get(key);
+      if (value != null) {
+        buff.append(value);
+      }
+    }
+  }
+
+  /**
+   * @since 2.0.1
+   */
+  protected void renderFields(final Event event, final StringBuilder buff) {
+    assert event != null;
+    assert buff != null;
+
+    Fields fields = event.getFields();
+    if (fields != null) {
+      for (int i = 0; i < fields.size(); i++) {
+        buff.append(' ').append(fields.getKey(i)).append('=');
+        fields.appendValue(i, buff);
+      }
+    }
+  }
+
   protected void renderCause(final Event event, final StringBuilder buff) {
     assert event != null;
     assert buff != null;
@@ -307,9 +401,9 @@ public class PatternRenderer
     assert event != null;
     assert buff != null;
 
-    StackTraceElement[] trace = event.getTrace();
-    if (trace != null) {
-      buff.append(trace[0].getFileName());
+    StackTraceElement caller = event.getCaller();
+    if (caller != null) {
+      buff.append(caller.getFileName());
     }
   }
 
@@ -317,9 +411,9 @@ public class PatternRenderer
     assert event != null;
     assert buff != null;
 
-    StackTraceElement[] trace = event.getTrace();
-    if (trace != null) {
-      buff.append(trace[0].getClassName());
+    StackTraceElement caller = event.getCaller();
+    if (caller != null) {
+      buff.append(caller.getClassName());
     }
   }
 
@@ -327,9 +421,9 @@ public class PatternRenderer
     assert event != null;
     assert buff != null;
 
-    StackTraceElement[] trace = event.getTrace();
-    if (trace != null) {
-      buff.append(trace[0].getMethodName());
+    StackTraceElement caller = event.getCaller();
+    if (caller != null) {
+      buff.append(caller.getMethodName());
     }
   }
 
@@ -337,9 +431,9 @@ public class PatternRenderer
     assert event != null;
     assert buff != null;
 
-    StackTraceElement[] trace = event.getTrace();
-    if (trace != null) {
-      buff.append(trace[0].getLineNumber());
+    StackTraceElement caller = event.getCaller();
+    if (caller != null) {
+      buff.append(caller.getLineNumber());
     }
   }
 
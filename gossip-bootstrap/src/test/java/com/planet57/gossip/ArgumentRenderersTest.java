@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) 2009-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.planet57.gossip;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.net.URL;
+import java.net.URLClassLoader;
+
+import org.junit.After;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Tests for {@link ArgumentRenderers} and {@link GossipFormattable} arguments.
+ */
+public class ArgumentRenderersTest
+{
+  private static class Base
+  {
+    @Override
+    public String toString() {
+      return "base";
+    }
+  }
+
+  private static class Derived
+      extends Base
+      implements Serializable
+  {
+    private static final long serialVersionUID = 1;
+  }
+
+  private static class Point
+      implements GossipFormattable
+  {
+    public void formatTo(final Appendable out) throws IOException {
+      out.append('(').append("1").append(", ").append("2").append(')');
+    }
+
+    @Override
+    public String toString() {
+      throw new AssertionError();
+    }
+  }
+
+  private static class Labeled
+      implements ArgumentRenderer<Object>
+  {
+    private final String label;
+
+    Labeled(final String label) {
+      this.label = label;
+    }
+
+    public void render(final Object value, final StringBuilder buff) {
+      buff.append(label);
+    }
+  }
+
+  public static class Constant
+      implements ArgumentRenderer<Object>
+  {
+    public void render(final Object value, final StringBuilder buff) {
+      buff.append("constant");
+    }
+  }
+
+  @After
+  public void tearDown() {
+    ArgumentRenderers.unregister(Base.class);
+    ArgumentRenderers.unregister(Derived.class);
+    ArgumentRenderers.unregister(Serializable.class);
+    ArgumentRenderers.unregister(byte[].class);
+  }
+
+  private static String format(final Object value) {
+    StringBuilder buff = new StringBuilder();
+    MessageTemplate.appendArgument(buff, value);
+    return buff.toString();
+  }
+
+  @Test
+  public void testFormattable() {
+    assertEquals("at (1, 2)", MessageTemplate.of("at {}").format(new Object[]{new Point()}));
+    assertEquals("[(1, 2)]", format(new Object[]{new Point()}));
+  }
+
+  @Test
+  public void testResolution() {
+    assertEquals("base", format(new Derived()));
+
+    ArgumentRenderers.register(Serializable.class, new Labeled("serializable"));
+    assertEquals("serializable", format(new Derived()));
+    assertEquals("base", format(new Base()));
+
+    // classes are preferred to interfaces
+    ArgumentRenderers.register(Base.class, new Labeled("registered"));
+    assertEquals("registered", format(new Derived()));
+    assertEquals("registered", format(new Base()));
+
+    ArgumentRenderers.register(Derived.class, new Labeled("derived"));
+    assertEquals("derived", format(new Derived()));
+
+    ArgumentRenderers.unregister(Derived.class);
+    assertEquals("registered", format(new Derived()));
+    assertNull(ArgumentRenderers.forType(Object.class));
+    // resolved as none, from the cache
+    assertNull(ArgumentRenderers.forType(Object.class));
+  }
+
+  @Test
+  public void testLoad() throws Exception {
+    File dir = File.createTempFile("renderers", "");
+    dir.delete();
+    File file = new File(dir, ArgumentRenderers.RESOURCE);
+    file.getParentFile().mkdirs();
+    OutputStream out = new FileOutputStream(file);
+    try {
+      String props = Base.class.getName() + "=" + Constant.class.getName() + "\n" +
+          "com.example.Missing=" + Constant.class.getName() + "\n";
+      out.write(props.getBytes("ISO-8859-1"));
+    }
+    finally {
+      out.close();
+    }
+    file.deleteOnExit();
+    file.getParentFile().deleteOnExit();
+    file.getParentFile().getParentFile().deleteOnExit();
+    dir.deleteOnExit();
+
+    ArgumentRenderers.load(new URLClassLoader(new URL[]{dir.toURI().toURL()}, getClass().getClassLoader()));
+    assertEquals("constant", format(new Derived()));
+  }
+
+  @Test
+  public void testUnload() {
+    ArgumentRenderers.register(Base.class, new Labeled("registered"));
+    assertEquals("registered", format(new Derived()));
+
+    ArgumentRenderers.unload(Base.class.getClassLoader());
+    assertNull(ArgumentRenderers.forType(Base.class));
+    assertEquals("base", format(new Derived()));
+  }
+
+  @Test
+  public void testArrayType() {
+    ArgumentRenderer<byte[]> renderer = new ArgumentRenderer<byte[]>()
+    {
+      public void render(final byte[] value, final StringBuilder buff) {
+        buff.append(value.length).append(" bytes");
+      }
+    };
+    ArgumentRenderers.register(byte[].class, renderer);
+    assertSame(renderer, ArgumentRenderers.forType(byte[].class));
+    assertEquals("[3 bytes, [1, 2]]", format(new Object[]{new byte[3], new int[]{1, 2}}));
+  }
+
+  @Test
+  public void testFailure() {
+    ArgumentRenderers.register(Base.class, new ArgumentRenderer<Base>()
+    {
+      public void render(final Base value, final StringBuilder buff) {
+        buff.append("partial");
+        throw new IllegalStateException();
+      }
+    });
+    assertEquals("value: [FAILED toString()]", MessageTemplate.of("value: {}").format(new Object[]{new Base()}));
+  }
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) 2009-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.planet57.gossip;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Logger capturing events, for tests.
+ */
+public class CapturingLogger
+    extends LoggerSupport
+{
+  public final List<Event> events = new ArrayList<Event>();
+
+  private final Level threshold;
+
+  public CapturingLogger(final String name, final Level threshold) {
+    super(name);
+    assert threshold != null;
+    this.threshold = threshold;
+  }
+
+  public CapturingLogger(final String name) {
+    this(name, Level.ALL);
+  }
+
+  @Override
+  protected boolean isEnabled(final Level level) {
+    return level.id >= threshold.id;
+  }
+
+  @Override
+  protected void doLog(final Event event) {
+    events.add(event);
+  }
+}
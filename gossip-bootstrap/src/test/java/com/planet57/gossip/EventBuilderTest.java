@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2009-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.planet57.gossip;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+import org.slf4j.Logger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Tests for {@link EventBuilder}.
+ */
+public class EventBuilderTest
+{
+  @Test
+  public void testPrimitives() {
+    CapturingLogger logger = new CapturingLogger("test.EventBuilderTest", Level.DEBUG);
+    Throwable cause = new Exception();
+
+    EventBuilder.at(logger, Level.DEBUG)
+        .message("int {} long {} double {} boolean {} object {}")
+        .arg(1).arg(2L).arg(1.5).arg(true).arg("x")
+        .field("count", 3)
+        .field("ratio", 0.25)
+        .field("user", "bob")
+        .cause(cause)
+        .log();
+
+    assertEquals(1, logger.events.size());
+    Event event = logger.events.get(0);
+    assertEquals("int 1 long 2 double 1.5 boolean true object x", event.getMessage());
+    assertSame(cause, event.getCause());
+
+    Fields fields = event.getFields();
+    assertEquals(3, fields.size());
+    assertEquals("count", fields.getKey(0));
+    assertEquals(Fields.Type.INT, fields.getType(0));
+    assertEquals(3, fields.getInt(0));
+    assertEquals(0.25, fields.getDouble(1), 0);
+    assertEquals("bob", fields.getObject(2));
+  }
+
+  /**
+   * Not serializable.
+   */
+  private static class Opaque
+  {
+    @Override
+    public String toString() {
+      return "opaque";
+    }
+  }
+
+  @Test
+  public void testSerializedAsRendered() throws Exception {
+    CapturingLogger logger = new CapturingLogger("test.EventBuilderTest", Level.DEBUG);
+    EventBuilder.at(logger, Level.INFO).message("{} {}").arg(new Opaque()).arg(1).field("value", new Opaque()).log();
+
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    ObjectOutputStream out = new ObjectOutputStream(bytes);
+    out.writeObject(logger.events.get(0));
+    out.close();
+    Event event = (Event) new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray())).readObject();
+
+    assertEquals("opaque 1", event.getMessage());
+    assertEquals("opaque", event.getArguments().getObject(0));
+    assertEquals(1, event.getArguments().getInt(1));
+    assertEquals("value", event.getFields().getKey(0));
+    assertEquals("opaque", event.getFields().getObject(0));
+  }
+
+  @Test
+  public void testBuilderReused() {
+    CapturingLogger logger = new CapturingLogger("test.EventBuilderTest", Level.DEBUG);
+
+    EventBuilder.at(logger, Level.INFO).message("first {}").arg(1).field("a", 1).log();
+    EventBuilder.at(logger, Level.INFO).message("second").log();
+
+    assertEquals("first 1", logger.events.get(0).getMessage());
+    assertEquals(1, logger.events.get(0).getFields().size());
+    assertEquals("second", logger.events.get(1).getMessage());
+    assertNull(logger.events.get(1).getFields());
+  }
+
+  @Test
+  public void testDisabled() {
+    CapturingLogger logger = new CapturingLogger("test.EventBuilderTest", Level.DEBUG);
+    EventBuilder builder = EventBuilder.at(logger, Level.TRACE);
+    assertFalse(builder.isEnabled());
+    builder.message("ignored {}").arg(1).field("a", 1).log();
+    assertEquals(0, logger.events.size());
+  }
+
+  @Test
+  public void testEscapes() {
+    CapturingLogger logger = new CapturingLogger("test.EventBuilderTest", Level.DEBUG);
+    EventBuilder.at(logger, Level.INFO).message("a \\{} b \\\\{} c {} {}").arg(1).arg(2).log();
+    assertEquals("a {} b \\1 c 2 {}", logger.events.get(0).getMessage());
+  }
+
+  @Test
+  public void testTrailingCause() {
+    CapturingLogger logger = new CapturingLogger("test.EventBuilderTest", Level.DEBUG);
+    Throwable cause = new Exception();
+    EventBuilder.at(logger, Level.INFO).message("failed {}").arg(1).arg(cause).log();
+    assertEquals("failed 1", logger.events.get(0).getMessage());
+    assertSame(cause, logger.events.get(0).getCause());
+  }
+
+  @Test
+  public void testOtherProvider() {
+    final List<Object[]> calls = new ArrayList<Object[]>();
+    Logger logger = (Logger) Proxy.newProxyInstance(getClass().getClassLoader(), new Class[]{Logger.class},
+        new InvocationHandler()
+        {
+          public Object invoke(final Object proxy, final Method method, final Object[] args) {
+            if (method.getName().equals("isInfoEnabled")) {
+              return true;
+            }
+            if (method.getName().equals("info")) {
+              calls.add(args);
+            }
+            return null;
+          }
+        });
+
+    EventBuilder.at(logger, Level.INFO).message("value {}").arg(42L).field("user", "bob").field("ok", true).log();
+
+    assertEquals(1, calls.size());
+    assertEquals("value 42 user=bob ok=true", calls.get(0)[0]);
+  }
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) 2009-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.planet57.gossip;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Tests for {@link Event}.
+ */
+public class EventTest
+{
+  private static StackTraceElement frame(final String className) {
+    return new StackTraceElement(className, "method", "File.java", 1);
+  }
+
+  @Test
+  public void testFindCaller() {
+    StackTraceElement caller = frame("com.example.Caller");
+    StackTraceElement[] trace = {
+        frame(Event.class.getName()),
+        frame(LoggerSupport.class.getName()),
+        frame("org.apache.commons.logging.impl.SLF4JLocationAwareLog"),
+        frame("org.apache.commons.logging.impl.SLF4JLocationAwareLog"),
+        caller,
+        frame("org.apache.commons.logging.impl.SLF4JLocationAwareLog"),
+    };
+
+    assertEquals(caller, Event.findCaller(trace, "org.apache.commons.logging.impl.SLF4JLocationAwareLog"));
+    assertEquals(trace[2], Event.findCaller(trace, LoggerSupport.FQCN));
+    assertNull(Event.findCaller(trace, "com.example.Missing"));
+  }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2009-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.planet57.gossip;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.planet57.gossip.render.PatternRenderer;
+import org.junit.After;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link GossipMDCAdapter}.
+ */
+public class GossipMDCAdapterTest
+{
+  private final GossipMDCAdapter mdc = new GossipMDCAdapter();
+
+  @After
+  public void tearDown() {
+    mdc.clear();
+  }
+
+  private Event event() {
+    return new Event(Log.getLogger(GossipMDCAdapterTest.class), Level.INFO, "message", null);
+  }
+
+  @Test
+  public void testEventSnapshot() {
+    mdc.put("request", "1");
+    Event first = event();
+
+    mdc.put("request", "2");
+    mdc.put("user", "bob");
+    Event second = event();
+
+    mdc.remove("request");
+
+    assertEquals("1", first.getContext().get("request"));
+    assertEquals(1, first.getContext().size());
+    assertEquals("2", second.getContext().get("request"));
+    assertEquals("bob", second.getContext().get("user"));
+    assertNull(mdc.get("request"));
+  }
+
+  @Test
+  public void testInherited() throws Exception {
+    mdc.put("request", "1");
+    final ContextMap parent = GossipMDCAdapter.getContext();
+
+    final AtomicReference<ContextMap> child = new AtomicReference<ContextMap>();
+    Thread thread = new Thread()
+    {
+      @Override
+      public void run() {
+        child.set(GossipMDCAdapter.getContext());
+        mdc.put("request", "2");
+      }
+    };
+    thread.start();
+    thread.join();
+
+    assertSame(parent, child.get());
+    assertEquals("1", mdc.get("request"));
+  }
+
+  @Test
+  public void testContextMap() {
+    Map<String, String> map = new HashMap<String, String>();
+    map.put("a", "1");
+    map.put("b", "2");
+    mdc.setContextMap(map);
+
+    assertEquals(map, mdc.getCopyOfContextMap());
+    assertEquals(map, GossipMDCAdapter.getContext());
+
+    mdc.clear();
+    assertTrue(GossipMDCAdapter.getContext().isEmpty());
+  }
+
+  @Test
+  public void testSerializedAsRendered() throws Exception {
+    // not serializable
+    Object value = new Object()
+    {
+      @Override
+      public String toString() {
+        return "rendered";
+      }
+    };
+    ContextMap map = ContextMap.EMPTY.with("a", "1").with("b", value);
+
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    ObjectOutputStream out = new ObjectOutputStream(bytes);
+    out.writeObject(map);
+    out.close();
+    Object copy = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray())).readObject();
+
+    assertEquals(map, copy);
+    assertEquals("rendered", ((ContextMap) copy).get("b"));
+  }
+
+  @Test
+  public void testRender() {
+    mdc.put("request", "1");
+    mdc.put("user", "bob");
+    Event event = event();
+
+    assertEquals("1|bob|request=1, user=bob|", new PatternRenderer("%X{request}|%X{user}|%X|%X{missing}").render(event));
+  }
+}
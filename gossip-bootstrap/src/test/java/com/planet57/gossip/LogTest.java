@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2009-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.planet57.gossip;
+
+import com.planet57.gossip.LoggerDelegateFactory.LoggerDelegateAware;
+import org.junit.After;
+import org.junit.Test;
+import org.slf4j.ILoggerFactory;
+import org.slf4j.Logger;
+import org.slf4j.helpers.NOPLogger;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link Log}.
+ */
+public class LogTest
+{
+  @After
+  public void tearDown() {
+    Log.reset();
+  }
+
+  @Test
+  public void testDelegateReplacedOnConfigure() {
+    Logger log = Log.getLogger("test.LogTest");
+    assertTrue(log instanceof LoggerDelegateAware);
+    assertSame(log, Log.getLogger("test.LogTest"));
+
+    Log.configure(new ILoggerFactory()
+    {
+      public Logger getLogger(final String name) {
+        return NOPLogger.NOP_LOGGER;
+      }
+    });
+
+    assertSame(NOPLogger.NOP_LOGGER, ((LoggerDelegateAware) log).getDelegate());
+    assertSame(NOPLogger.NOP_LOGGER, Log.getLogger("test.LogTest.other"));
+
+    // internal loggers are never delegated
+    Logger internal = Log.getLogger(Log.class);
+    assertFalse(internal instanceof LoggerDelegateAware);
+  }
+}
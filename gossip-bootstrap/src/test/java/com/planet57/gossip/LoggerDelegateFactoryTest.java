@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2009-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.planet57.gossip;
+
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.Marker;
+import org.slf4j.MarkerFactory;
+import org.slf4j.spi.LocationAwareLogger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Tests for {@link LoggerDelegateFactory}.
+ */
+public class LoggerDelegateFactoryTest
+{
+  private static final String FQCN = LoggerDelegateFactory.class.getName() + "$DelegateLogger";
+
+  @Test
+  public void testCallerFoundPastDelegate() {
+    CapturingLogger target = new CapturingLogger("test.LoggerDelegateFactoryTest", Level.DEBUG);
+    Logger log = LoggerDelegateFactory.create(target);
+    Marker marker = MarkerFactory.getMarker("AUDIT");
+    Throwable cause = new Exception();
+
+    log.info("plain");
+    log.info("one {}", 1);
+    log.warn("two {} {}", 1, 2);
+    log.error("three {} {} {}", 1, 2, 3);
+    log.debug("cause", cause);
+    log.info(marker, "marked {}", 1);
+    log.trace("disabled {}", 1);
+
+    assertEquals(6, target.events.size());
+    assertEquals("one 1", target.events.get(1).getMessage());
+    assertEquals("three 1 2 3", target.events.get(3).getMessage());
+    assertSame(cause, target.events.get(4).getCause());
+    assertSame(marker, target.events.get(5).getMarker());
+    for (Event event : target.events) {
+      assertEquals(FQCN, event.getFqcn());
+    }
+  }
+
+  @Test
+  public void testWrapperClassPassedThrough() {
+    CapturingLogger target = new CapturingLogger("test.LoggerDelegateFactoryTest");
+    Logger log = LoggerDelegateFactory.create(target);
+
+    ((LocationAwareLogger) log).log(null, "com.example.Bridge", LocationAwareLogger.INFO_INT, "a {}", new Object[]{1}, null);
+
+    assertEquals(1, target.events.size());
+    assertEquals("com.example.Bridge", target.events.get(0).getFqcn());
+    assertEquals("a 1", target.events.get(0).getMessage());
+  }
+}
@@ -0,0 +1,207 @@
+/*
+ * Copyright (c) 2009-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.planet57.gossip;
+
+import org.junit.Test;
+import org.slf4j.helpers.MessageFormatter;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Tests for {@link MessageTemplate}.
+ */
+public class MessageTemplateTest
+{
+  private static final String[] TEMPLATES = {
+      "",
+      "plain",
+      "{}",
+      "a {} b",
+      "{}{}",
+      "a {} b {} c",
+      "escaped \\{} {}",
+      "escaped escape \\\\{} {}",
+      "{} trailing \\{}",
+      "\\{}",
+      "{ } {",
+      "{} {} {} {}"
+  };
+
+  private static final Exception FAILURE = new Exception("failure");
+
+  private static final Object[][] ARGUMENTS = {
+      null,
+      {},
+      {"x"},
+      {"x", 2},
+      {1, 2, 3},
+      {null, new int[]{1, 2}, new Object[]{"a", new String[]{"b"}}},
+      {'c', 1L, 1.5d, true, new byte[]{1, -1}}
+  };
+
+  @Test
+  public void testFormatLikeMessageFormatter() {
+    for (String template : TEMPLATES) {
+      MessageTemplate compiled = MessageTemplate.of(template);
+      for (Object[] args : ARGUMENTS) {
+        String message = template + " with " + (args != null ? args.length : null) + " arguments";
+        assertEquals(message, MessageFormatter.arrayFormat(template, args).getMessage(), compiled.format(args));
+      }
+    }
+  }
+
+  /**
+   * As with slf4j 1.6; a trailing throwable used by the template is not the cause.
+   */
+  @Test
+  public void testCause() {
+    assertNull(MessageTemplate.of("{}").getCause(new Object[]{FAILURE}));
+    assertSame(FAILURE, MessageTemplate.of("{}").getCause(new Object[]{1, FAILURE}));
+    assertSame(FAILURE, MessageTemplate.of("none").getCause(new Object[]{FAILURE}));
+    assertNull(MessageTemplate.of("{}").getCause(new Object[]{1, "x"}));
+    assertNull(MessageTemplate.of("{}").getCause(null));
+  }
+
+  @Test
+  public void testCached() {
+    assertSame(MessageTemplate.of("cached {}"), MessageTemplate.of(new String("cached {}")));
+    assertEquals(1, MessageTemplate.of("cached {}").getAnchors());
+  }
+
+  @Test
+  public void testCacheKeepsUsedTemplates() {
+    int size = Integer.getInteger(MessageTemplate.class.getName() + ".cacheSize", 4 * 1024);
+    MessageTemplate hot = MessageTemplate.of("hot {}");
+    for (int i = 0; i < 2 * size; i++) {
+      MessageTemplate.of("cold " + i + " {}");
+      assertSame(hot, MessageTemplate.of("hot {}"));
+    }
+  }
+
+  @Test
+  public void testCyclicArray() {
+    Object[] array = {"a", null};
+    array[1] = array;
+    assertEquals("[a, [...]]", MessageTemplate.of("{}").format(new Object[]{array}));
+  }
+
+  @Test
+  public void testFailedToString() {
+    Object value = new Object()
+    {
+      @Override
+      public String toString() {
+        throw new IllegalStateException();
+      }
+    };
+    assertEquals("value: [FAILED toString()]", MessageTemplate.of("value: {}").format(new Object[]{value}));
+  }
+
+  @Test
+  public void testNestedFormat() {
+    Object value = new Object()
+    {
+      @Override
+      public String toString() {
+        return MessageTemplate.of("inner {}").format(new Object[]{1});
+      }
+    };
+    assertEquals("outer inner 1", MessageTemplate.of("outer {}").format(new Object[]{value}));
+  }
+
+  @Test
+  public void testLoggerCause() {
+    CapturingLogger logger = new CapturingLogger("test.MessageTemplateTest");
+    logger.info("used {}", (Object) FAILURE);
+    logger.info("unused {}", 1, FAILURE);
+
+    Event used = logger.events.get(0);
+    assertEquals("used " + FAILURE, used.getMessage());
+    assertNull(used.getCause());
+    assertEquals(1, used.getArguments().size());
+
+    Event unused = logger.events.get(1);
+    assertEquals("unused 1", unused.getMessage());
+    assertSame(FAILURE, unused.getCause());
+    assertEquals(1, unused.getArguments().size());
+  }
+
+  /**
+   * As with slf4j 1.6; a null format logs a null message.
+   */
+  @Test
+  public void testNullFormat() {
+    assertNull(MessageTemplate.of(null).format(new Object[]{1}));
+    assertSame(FAILURE, MessageTemplate.of(null).getCause(new Object[]{FAILURE}));
+
+    CapturingLogger logger = new CapturingLogger("test.MessageTemplateTest");
+    Level[] levels = {Level.TRACE, Level.DEBUG, Level.INFO, Level.WARN, Level.ERROR};
+    for (Level level : levels) {
+      logNull(logger, level);
+    }
+
+    assertEquals(levels.length * 5, logger.events.size());
+    for (int i = 0; i < logger.events.size(); i++) {
+      Event event = logger.events.get(i);
+      assertSame(levels[i / 5], event.getLevel());
+      assertNull(event.getMessage());
+    }
+  }
+
+  private static void logNull(final CapturingLogger logger, final Level level) {
+    switch (level) {
+      case TRACE:
+        logger.trace(null);
+        logger.trace(null, 1);
+        logger.trace(null, 1, 2);
+        logger.trace(null, 1, 2, 3);
+        logger.trace(null, FAILURE);
+        break;
+      case DEBUG:
+        logger.debug(null);
+        logger.debug(null, 1);
+        logger.debug(null, 1, 2);
+        logger.debug(null, 1, 2, 3);
+        logger.debug(null, FAILURE);
+        break;
+      case INFO:
+        logger.info(null);
+        logger.info(null, 1);
+        logger.info(null, 1, 2);
+        logger.info(null, 1, 2, 3);
+        logger.info(null, FAILURE);
+        break;
+      case WARN:
+        logger.warn(null);
+        logger.warn(null, 1);
+        logger.warn(null, 1, 2);
+        logger.warn(null, 1, 2, 3);
+        logger.warn(null, FAILURE);
+        break;
+      case ERROR:
+        logger.error(null);
+        logger.error(null, 1);
+        logger.error(null, 1, 2);
+        logger.error(null, 1, 2, 3);
+        logger.error(null, FAILURE);
+        break;
+      default:
+        throw new UnsupportedOperationException();
+    }
+  }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2009-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.planet57.gossip;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link Templates}.
+ */
+public class TemplatesTest
+{
+  @Test
+  public void testRegistry() throws Exception {
+    File file = File.createTempFile("templates", ".properties");
+    file.deleteOnExit();
+    OutputStream out = new FileOutputStream(file);
+    try {
+      out.write("1001=registered {}\n1002=\\ spaced\\t{}\n".getBytes("ISO-8859-1"));
+    }
+    finally {
+      out.close();
+    }
+    Templates.load(file.toURI().toURL());
+
+    assertEquals(1001, Templates.idOf("registered {}"));
+    assertEquals(1002, Templates.idOf(" spaced\t{}"));
+    assertEquals("registered {}", Templates.forId(1001));
+  }
+
+  @Test
+  public void testInterned() {
+    assertEquals(Templates.UNKNOWN, Templates.lookup("TemplatesTest.testInterned {}"));
+    int id = Templates.idOf("TemplatesTest.testInterned {}");
+    assertTrue(id < Templates.UNKNOWN);
+    assertEquals(id, Templates.idOf("TemplatesTest.testInterned {}"));
+    assertEquals(id, Templates.lookup("TemplatesTest.testInterned {}"));
+    assertEquals("TemplatesTest.testInterned {}", Templates.forId(id));
+    assertNull(Templates.forId(Integer.MAX_VALUE));
+  }
+
+  @Test
+  public void testEventTemplateId() {
+    CapturingLogger logger = new CapturingLogger("test.TemplatesTest");
+    logger.info("TemplatesTest.testEventTemplateId {}", 1);
+    logger.info("already formatted");
+
+    Event event = logger.events.get(0);
+    // looked up only; not interned
+    assertEquals(Templates.UNKNOWN, event.getTemplateId());
+    int id = Templates.idOf("TemplatesTest.testEventTemplateId {}");
+    assertEquals(id, event.getTemplateId());
+    assertEquals(Templates.UNKNOWN, logger.events.get(1).getTemplateId());
+  }
+}
@@ -0,0 +1,206 @@
+/*
+ * Copyright (c) 2009-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.planet57.gossip;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.Nullable;
+
+import org.slf4j.Logger;
+
+/**
+ * Handle to a logging call-site; a logger, level and message template.
+ *
+ * Intended to be held in a {@code static final} field.  Enablement is cached against the configuration
+ * generation of {@link Gossip}, so a disabled site costs a volatile read and a compare:
+ *
+ * <pre>
+ * private static final CallSite SLOW_REQUEST = CallSite.of(log, Level.DEBUG, "Slow request: {} took {}ms");
+ * ...
+ * SLOW_REQUEST.log(uri, millis);
+ * </pre>
+ *
+ * Each site has a stable {@link #getId() identity} and {@link #getCount() counts} the events logged through it.
+ * Loggers from other providers are supported, but their enablement is not cached.
+ *
+ * @since 2.0.1
+ */
+public final class CallSite
+{
+  private static final String FQCN = CallSite.class.getName();
+
+  private static final AtomicInteger sequence = new AtomicInteger();
+
+  /**
+   * Never matches a generation; see {@link #state}.
+   */
+  private static final int STALE = -2;
+
+  private final int id;
+
+  private final Logger logger;
+
+  private final Level level;
+
+  private final String template;
+
+  private final MessageTemplate compiled;
+
+  /**
+   * Cached enablement when the logger is a {@link Gossip.LoggerImpl}; otherwise null.
+   */
+  @Nullable
+  private final Gossip.LoggerImpl cacheable;
+
+  /**
+   * Generation the cached decision was made at, shifted left one bit, with the decision in the low bit.
+   *
+   * Kept in a single plain field so racing updates can not pair a generation with another generation's decision.
+   */
+  private int state = STALE;
+
+  private final AtomicLong count = new AtomicLong();
+
+  private CallSite(final Logger logger, final Level level, final String template) {
+    this.id = sequence.incrementAndGet();
+    this.logger = logger;
+    this.level = level;
+    this.template = template;
+    this.compiled = MessageTemplate.of(template);
+    this.cacheable = logger instanceof Gossip.LoggerImpl ? (Gossip.LoggerImpl) logger : null;
+  }
+
+  public static CallSite of(final Logger logger, final Level level, final String template) {
+    if (logger == null || level == null || template == null) {
+      throw new NullPointerException();
+    }
+    if (level == Level.ALL || level == Level.OFF) {
+      throw new IllegalArgumentException("Invalid call-site level: " + level);
+    }
+    return new CallSite(logger, level, template);
+  }
+
+  /**
+   * Unique within the process; stable for the life of the site.
+   */
+  public int getId() {
+    return id;
+  }
+
+  public Logger getLogger() {
+    return logger;
+  }
+
+  public Level getLevel() {
+    return level;
+  }
+
+  public String getTemplate() {
+    return template;
+  }
+
+  /**
+   * Number of events logged through this site.
+   */
+  public long getCount() {
+    return count.get();
+  }
+
+  public boolean isEnabled() {
+    int state = this.state;
+    if (state >> 1 == Gossip.generation) {
+      return (state & 1) != 0;
+    }
+    return refresh();
+  }
+
+  private boolean refresh() {
+    if (cacheable == null) {
+      return level.isEnabled(logger);
+    }
+
+    // read before checking, so changes made while checking leave the result stale
+    int generation = Gossip.generation;
+    boolean enabled = cacheable.isEnabled(level);
+    if (generation != Gossip.UNCACHED) {
+      state = generation << 1 | (enabled ? 1 : 0);
+    }
+    return enabled;
+  }
+
+  public void log() {
+    if (isEnabled()) {
+      count.incrementAndGet();
+      if (cacheable != null) {
+        cacheable.logFormatted(FQCN, level, template, null);
+      }
+      else {
+        level.log(logger, template);
+      }
+    }
+  }
+
+  public void log(final Object arg) {
+    if (isEnabled()) {
+      count.incrementAndGet();
+      if (cacheable != null) {
+        logFormatted(new Object[]{arg});
+      }
+      else {
+        level.log(logger, template, arg);
+      }
+    }
+  }
+
+  public void log(final Object arg1, final Object arg2) {
+    if (isEnabled()) {
+      count.incrementAndGet();
+      if (cacheable != null) {
+        logFormatted(new Object[]{arg1, arg2});
+      }
+      else {
+        level.log(logger, template, arg1, arg2);
+      }
+    }
+  }
+
+  public void log(final Object... args) {
+    if (isEnabled()) {
+      count.incrementAndGet();
+      if (cacheable != null) {
+        logFormatted(args);
+      }
+      else {
+        level.log(logger, template, args);
+      }
+    }
+  }
+
+  private void logFormatted(final Object[] args) {
+    cacheable.logFormatted(FQCN, level, compiled.format(args), compiled.getCause(args));
+  }
+
+  @Override
+  public String toString() {
+    return getClass().getSimpleName() + "{" +
+        "id=" + id +
+        ", logger=" + logger.getName() +
+        ", level=" + level +
+        ", template='" + template + '\'' +
+        '}';
+  }
+}
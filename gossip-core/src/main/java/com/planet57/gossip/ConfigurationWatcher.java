@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2009-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.planet57.gossip;
+
+import com.planet57.gossip.source.Fingerprint;
+import com.planet57.gossip.source.Fingerprintable;
+import org.slf4j.Logger;
+
+import java.util.List;
+
+import javax.annotation.Nullable;
+
+/**
+ * Polls the inputs of configuration sources and reconfigures {@link Gossip} when they change.
+ *
+ * Only file metadata is compared; a change is applied once it has been stable for one interval, so that
+ * files are not read while still being written.
+ *
+ * @since 2.0.1
+ */
+final class ConfigurationWatcher
+    extends Thread
+{
+  private static final Logger log = Log.getLogger(ConfigurationWatcher.class);
+
+  private final Gossip gossip;
+
+  private final List<Fingerprintable> sources;
+
+  private final long interval;
+
+  ConfigurationWatcher(final Gossip gossip, final List<Fingerprintable> sources, final long interval) {
+    super("gossip-watcher");
+    assert gossip != null;
+    assert sources != null;
+    assert interval > 0;
+    this.gossip = gossip;
+    this.sources = sources;
+    this.interval = interval;
+    setDaemon(true);
+  }
+
+  @Override
+  public void run() {
+    log.debug("Watching {} source(s) every {}ms", sources.size(), interval);
+
+    String applied = stamp();
+    String previous = applied;
+
+    while (!isInterrupted()) {
+      try {
+        Thread.sleep(interval);
+      }
+      catch (InterruptedException e) {
+        break;
+      }
+
+      String current = stamp();
+      if (current != null && !current.equals(applied) && current.equals(previous)) {
+        log.debug("Configuration changed; reconfiguring");
+        try {
+          gossip.reconfigure();
+          applied = current;
+        }
+        catch (Throwable t) {
+          log.error("Failed to reconfigure", t);
+        }
+      }
+      previous = current;
+    }
+  }
+
+  @Nullable
+  private String stamp() {
+    Fingerprint fingerprint = new Fingerprint(false);
+    try {
+      for (Fingerprintable source : sources) {
+        source.fingerprint(fingerprint);
+      }
+    }
+    catch (Exception e) {
+      log.trace("Failed to check sources", e);
+      return null;
+    }
+    return fingerprint.digest();
+  }
+}
@@ -23,14 +23,27 @@ import com.planet57.gossip.model.ModelMerger;
 import com.planet57.gossip.model.ProfileNode;
 import com.planet57.gossip.model.SourceNode;
 import com.planet57.gossip.model.TriggerNode;
+import com.planet57.gossip.source.Fingerprintable;
 import com.planet57.gossip.source.Source;
 import com.planet57.gossip.source.URLSource;
 import com.planet57.gossip.trigger.AlwaysTrigger;
 import org.slf4j.Logger;
 
+import java.io.File;
 import java.net.URL;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Configures Gossip.
@@ -42,8 +55,27 @@ public final class Configurator
 {
   private static final String BOOTSTRAP_RESOURCE = "bootstrap.properties";
 
+  /**
+   * Maximum time, in milliseconds, to wait for each source to load.
+   *
+   * @since 2.0.1
+   */
+  private static final long SOURCE_TIMEOUT = Long.getLong(Configurator.class.getName() + ".sourceTimeout", 10000L);
+
+  /**
+   * Optional file to keep a snapshot of the resolved configuration in, used while its inputs remain unchanged.
+   *
+   * @since 2.0.1
+   */
+  private static final String SNAPSHOT = System.getProperty(Configurator.class.getName() + ".snapshot");
+
   private final Logger log = Log.getLogger(getClass());
 
+  /**
+   * Set when any source failed to resolve; partial configuration is never snapshot.
+   */
+  private boolean incomplete;
+
   public EffectiveProfile configure() {
     log.debug("Configuring");
 
@@ -51,10 +83,27 @@ public final class Configurator
 
     try {
       // Load the bootstrap configuration
-      Model bootstrap = loadBootstrap();
+      URL bootstrapUrl = getClass().getResource(BOOTSTRAP_RESOURCE);
+      Model bootstrap = loadBootstrap(bootstrapUrl);
+
+      // Resolve sources and merge, or use the snapshot when nothing has changed
+      Model config = null;
+      ModelSnapshot snapshot = null;
+      String fingerprint = null;
+      if (SNAPSHOT != null) {
+        snapshot = new ModelSnapshot(new File(SNAPSHOT));
+        fingerprint = snapshot.fingerprint(bootstrapUrl, bootstrap);
+        if (fingerprint != null) {
+          config = snapshot.load(fingerprint);
+        }
+      }
 
-      // Resolve sources and merge
-      Model config = resolve(bootstrap);
+      if (config == null) {
+        config = resolve(bootstrap);
+        if (fingerprint != null && !incomplete) {
+          snapshot.save(fingerprint, config);
+        }
+      }
 
       // Configure the active profiles
       configureActiveProfiles(profile, config);
@@ -73,6 +122,31 @@ public final class Configurator
     return profile;
   }
 
+  /**
+   * Returns the configured sources which can describe their inputs, to watch for changes.
+   *
+   * @since 2.0.1
+   */
+  List<Fingerprintable> fingerprintableSources() {
+    List<Fingerprintable> result = new ArrayList<Fingerprintable>();
+    try {
+      Model bootstrap = loadBootstrap(getClass().getResource(BOOTSTRAP_RESOURCE));
+      for (SourceNode node : bootstrap.getSources()) {
+        Source source = node.create();
+        if (source instanceof Fingerprintable) {
+          result.add((Fingerprintable) source);
+        }
+        else {
+          log.trace("Source inputs can not be watched: {}", node.getId());
+        }
+      }
+    }
+    catch (Exception e) {
+      log.error("Failed to load sources", e);
+    }
+    return result;
+  }
+
   private Model resolve(final Model bootstrap) {
     assert bootstrap != null;
 
@@ -80,13 +154,74 @@ public final class Configurator
     ModelMerger merger = new ModelMerger();
     Map<Object, Object> hints = new HashMap<Object, Object>();
 
-    for (SourceNode source : bootstrap.getSources()) {
-      try {
-        Source loader = source.create();
-        merger.merge(config, loader.load(), true, hints);
+    List<SourceNode> sources = bootstrap.getSources();
+    if (sources.isEmpty()) {
+      resolveIncludes(config);
+      return config;
+    }
+
+    // Load all sources concurrently, so one slow source does not hold up the others
+    final long start = System.currentTimeMillis();
+    // Sources resolve resources and components against the context class-loader; use the caller's on pool threads
+    final ClassLoader loader = Thread.currentThread().getContextClassLoader();
+    List<Future<Model>> futures = new ArrayList<Future<Model>>(sources.size());
+    try {
+      for (final SourceNode source : sources) {
+        futures.add(SourceExecutor.INSTANCE.submit(new Callable<Model>()
+        {
+          public Model call() throws Exception {
+            Thread thread = Thread.currentThread();
+            thread.setContextClassLoader(loader);
+            try {
+              long time = System.currentTimeMillis();
+              Model model = source.create().load();
+              log.trace("Loaded source: {} in {}ms", source.getId(), System.currentTimeMillis() - time);
+              return model;
+            }
+            finally {
+              thread.setContextClassLoader(null);
+            }
+          }
+        }));
       }
-      catch (Exception e) {
-        log.error("Failed to resolve source: {}", source, e);
+
+      // Merge in declared order to preserve precedence
+      long deadline = start + SOURCE_TIMEOUT;
+      for (int i = 0; i < futures.size(); i++) {
+        SourceNode source = sources.get(i);
+        Future<Model> future = futures.get(i);
+        try {
+          Model model = future.get(Math.max(0, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+          log.trace("Merging source: {}", source.getId());
+          merger.merge(config, model, true, hints);
+        }
+        catch (RuntimeException e) {
+          incomplete = true;
+          log.error("Failed to merge source: {}", source, e);
+        }
+        catch (TimeoutException e) {
+          future.cancel(true);
+          incomplete = true;
+          log.error("Timed out resolving source after {}ms: {}", SOURCE_TIMEOUT, source);
+        }
+        catch (ExecutionException e) {
+          incomplete = true;
+          log.error("Failed to resolve source: {}", source, e.getCause());
+        }
+        catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          incomplete = true;
+          log.error("Interrupted resolving source: {}", source);
+          break;
+        }
+      }
+
+      log.trace("Resolved {} source(s) in {}ms", sources.size(), System.currentTimeMillis() - start);
+    }
+    finally {
+      // Abandon anything still running; threads are daemons so a hung source will not block exit
+      for (Future<Model> future : futures) {
+        future.cancel(true);
       }
     }
 
@@ -95,6 +230,26 @@ public final class Configurator
     return config;
   }
 
+  /**
+   * Shared pool loading sources; created on first use, idle threads expire.
+   *
+   * Threads have no context class-loader while idle, so they do not pin the loader of whoever created them.
+   */
+  private static final class SourceExecutor
+  {
+    static final ExecutorService INSTANCE = Executors.newCachedThreadPool(new ThreadFactory()
+    {
+      private final AtomicInteger counter = new AtomicInteger();
+
+      public Thread newThread(final Runnable task) {
+        Thread thread = new Thread(task, "gossip-source-" + counter.getAndIncrement());
+        thread.setDaemon(true);
+        thread.setContextClassLoader(null);
+        return thread;
+      }
+    });
+  }
+
   private void resolveIncludes(final Model model) {
     assert model != null;
 
@@ -168,6 +323,15 @@ public final class Configurator
     }
   }
 
+  /**
+   * Returns a profile with only the fall-back listener; for when configuration fails outright.
+   */
+  EffectiveProfile fallback() {
+    EffectiveProfile profile = new EffectiveProfile();
+    profile.addProfile(createFallbackProfile());
+    return profile;
+  }
+
   private boolean isProfileActive(final ProfileNode profile) {
     assert profile != null;
 
@@ -204,9 +368,7 @@ public final class Configurator
     return p;
   }
 
-  private Model loadBootstrap() throws Exception {
-    URL url = getClass().getResource(BOOTSTRAP_RESOURCE);
-
+  private Model loadBootstrap(final URL url) throws Exception {
     // This should really never happen unless something is messed up, but don't toss an exception, let the fallback provider kick-in
     assert url != null : "Unable to load bootstrap resource: " + BOOTSTRAP_RESOURCE;
 
@@ -20,11 +20,17 @@ import com.planet57.gossip.listener.Listener;
 import com.planet57.gossip.model.ListenerNode;
 import com.planet57.gossip.model.LoggerNode;
 import com.planet57.gossip.model.ProfileNode;
+import com.planet57.gossip.model.io.props.Context;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import javax.annotation.Nullable;
 
 /**
  * Effective profile.  This handles what is currently configured and activated.
@@ -41,6 +47,35 @@ public final class EffectiveProfile
 
   private Map<String, LoggerNode> loggers;
 
+  /**
+   * Number of in-flight counter stripes; a power of two.
+   */
+  private static final int STRIPES;
+
+  static {
+    int stripes = 1;
+    while (stripes < Runtime.getRuntime().availableProcessors() * 2 && stripes < 64) {
+      stripes <<= 1;
+    }
+    STRIPES = stripes;
+  }
+
+  /**
+   * Spacing of stripes, in ints; keeps each stripe on its own cache-line.
+   */
+  private static final int STRIDE = 16;
+
+  /**
+   * Number of dispatches in progress, striped by thread to avoid contending on a single counter.
+   */
+  private final AtomicIntegerArray inflight = new AtomicIntegerArray(STRIPES * STRIDE);
+
+  /**
+   * Profile which replaced this one; dispatches arriving once retired are sent there.
+   */
+  @Nullable
+  private volatile EffectiveProfile replacement;
+
   public List<ProfileNode> getProfiles() {
     return profiles;
   }
@@ -68,48 +103,167 @@ public final class EffectiveProfile
 
   private Listener[] listeners;
 
+  /**
+   * Nodes which {@link #listeners} were created from; parallel to {@link #listeners}.
+   */
+  private ListenerNode[] listenerNodes;
+
   /**
    * @since 2.5
    */
   public Listener[] getListeners() {
     if (this.listeners == null) {
-      log.trace("Building listener dispatch table");
+      buildListeners(null);
+    }
 
-      List<Listener> listeners = new ArrayList<Listener>();
-      for (ProfileNode profile : getProfiles()) {
-        for (ListenerNode listener : profile.getListeners()) {
+    return this.listeners;
+  }
+
+  /**
+   * Build the listener dispatch table, reusing listeners of the given profile whose configuration is unchanged.
+   *
+   * @return Listeners of the previous profile which were not reused.
+   * @since 2.0.1
+   */
+  public List<Listener> inherit(final EffectiveProfile previous) {
+    assert previous != null;
+    assert this.listeners == null;
+
+    List<Listener> retired = new ArrayList<Listener>(Arrays.asList(previous.getListeners()));
+    buildListeners(previous);
+    for (Listener listener : this.listeners) {
+      retired.remove(listener);
+    }
+    return retired;
+  }
+
+  private void buildListeners(@Nullable final EffectiveProfile previous) {
+    log.trace("Building listener dispatch table");
+
+    List<Listener> listeners = new ArrayList<Listener>();
+    List<ListenerNode> nodes = new ArrayList<ListenerNode>();
+    for (ProfileNode profile : getProfiles()) {
+      for (ListenerNode node : profile.getListeners()) {
+        Listener listener = previous != null ? previous.findListener(node) : null;
+        if (listener != null) {
+          log.trace("Reusing listener: {}", node);
+        }
+        else {
           try {
-            log.trace("Adding listener: {}", listener);
-            listeners.add(listener.create());
+            log.trace("Adding listener: {}", node);
+            listener = node.create();
           }
           catch (Exception e) {
-            log.error("Failed to create listener: {}", listener, e);
+            log.error("Failed to create listener: {}", node, e);
+            continue;
           }
         }
+        listeners.add(listener);
+        nodes.add(node);
       }
+    }
+
+    this.listenerNodes = nodes.toArray(new ListenerNode[nodes.size()]);
+    this.listeners = listeners.toArray(new Listener[listeners.size()]);
+  }
 
-      this.listeners = listeners.toArray(new Listener[listeners.size()]);
+  /**
+   * Find the listener created from a node with the same identity, type and configuration.
+   */
+  @Nullable
+  private Listener findListener(final ListenerNode node) {
+    Listener[] listeners = getListeners();
+    for (int i = 0; i < listeners.length; i++) {
+      ListenerNode other = listenerNodes[i];
+      if (node.getId().equals(other.getId()) && node.getType().equals(other.getType())
+          && sameConfiguration(node.getConfiguration(), other.getConfiguration())) {
+        return listeners[i];
+      }
     }
+    return null;
+  }
 
-    return this.listeners;
+  private static boolean sameConfiguration(@Nullable final Object a, @Nullable final Object b) {
+    if (a instanceof Context && b instanceof Context) {
+      return ((Context) a).toProperties().equals(((Context) b).toProperties());
+    }
+    return a == null ? b == null : a.equals(b);
   }
 
   public void dispatch(final Event event) {
     assert event != null;
 
+    int stripe = ((int) Thread.currentThread().getId() & (STRIPES - 1)) * STRIDE;
+    inflight.incrementAndGet(stripe);
+
+    // Checked after counting this dispatch; awaitDrained() either sees it or it sees the replacement
+    EffectiveProfile next = replacement;
+    if (next != null) {
+      inflight.decrementAndGet(stripe);
+      next.dispatch(event);
+      return;
+    }
+
     Listener[] listeners = getListeners();
 
     log.trace("Dispatching event to {} listener(s): {}", listeners.length, event);
 
-    int i = 0;
-    for (Listener listener : listeners) {
-      log.trace("Dispatching to listener[{}]: {}", i++, listener);
+    try {
+      int i = 0;
+      for (Listener listener : listeners) {
+        log.trace("Dispatching to listener[{}]: {}", i++, listener);
+        try {
+          listener.onEvent(event);
+        }
+        catch (Throwable t) {
+          log.error("Listener execution failed; ignoring", t);
+        }
+      }
+    }
+    finally {
+      inflight.decrementAndGet(stripe);
+    }
+  }
+
+  /**
+   * Mark this profile as replaced; later dispatches to it go to the replacement.
+   *
+   * @since 2.0.1
+   */
+  public void retire(final EffectiveProfile replacement) {
+    assert replacement != null;
+    assert replacement != this;
+    this.replacement = replacement;
+  }
+
+  /**
+   * Wait for dispatches in progress to complete, once this profile has been {@link #retire retired}.
+   *
+   * @return {@code true} if no dispatch was in progress before the timeout elapsed.
+   * @since 2.0.1
+   */
+  public boolean awaitDrained(final long timeout, final TimeUnit unit) {
+    long deadline = System.nanoTime() + unit.toNanos(timeout);
+    while (inflight() != 0) {
+      if (System.nanoTime() - deadline >= 0) {
+        return false;
+      }
       try {
-        listener.onEvent(event);
+        Thread.sleep(1);
       }
-      catch (Throwable t) {
-        log.error("Listener execution failed; ignoring", t);
+      catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return false;
       }
     }
+    return true;
+  }
+
+  private int inflight() {
+    int count = 0;
+    for (int i = 0; i < STRIPES; i++) {
+      count += inflight.get(i * STRIDE);
+    }
+    return count;
   }
 }
\ No newline at end of file
@@ -15,15 +15,33 @@
  */
 package com.planet57.gossip;
 
+import com.planet57.gossip.control.ControlFile;
+import com.planet57.gossip.control.ControlPoller;
+import com.planet57.gossip.listener.Listener;
 import com.planet57.gossip.model.LoggerNode;
 import org.slf4j.ILoggerFactory;
 import org.slf4j.Logger;
 
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.Nullable;
 
 /**
  * Factory to produce <em>Gossip</em> {@link Logger} instances.
@@ -36,59 +54,517 @@ public final class Gossip
 {
   private static final Logger log = Log.getLogger(Gossip.class);
 
+  /**
+   * How long the shutdown hook waits for an in-progress configuration to complete.
+   */
+  private static final long SHUTDOWN_TIMEOUT_SECONDS = 5;
+
+  /**
+   * How long a reconfiguration waits for dispatches to replaced listeners to complete before closing them.
+   */
+  private static final long DRAIN_TIMEOUT_SECONDS = 1;
+
+  /**
+   * Interval, in milliseconds, at which configuration source inputs are checked for changes; disabled if not positive.
+   */
+  private static final long WATCH_INTERVAL = Long.getLong(Gossip.class.getName() + ".watchInterval", 0L);
+
+  /**
+   * Optional {@link ControlFile} from which other processes may override logger levels.
+   */
+  private static final String CONTROL_FILE = System.getProperty(Gossip.class.getName() + ".controlFile");
+
+  /**
+   * Interval, in milliseconds, at which the control file is checked for changes.
+   */
+  private static final long CONTROL_INTERVAL = Long.getLong(Gossip.class.getName() + ".controlInterval", 1000L);
+
+  /**
+   * When set, loggers without a level are only weakly held by the registry, and are reclaimed once unused.
+   */
+  private static final boolean WEAK_LOGGERS = Boolean.getBoolean(Gossip.class.getName() + ".weakLoggers");
+
+  /**
+   * Lowest level of events captured while configuring; lower levels are reported as disabled until configured.
+   */
+  private static final Level EARLY_EVENT_THRESHOLD =
+      Level.valueOf(System.getProperty(Gossip.class.getName() + ".earlyEventThreshold", "INFO").toUpperCase());
+
+  // NOTE: initialized before INSTANCE, which may log while constructing
+
+  private static final Level DEFAULT_ROOT_LEVEL = Level.WARN;
+
+  /**
+   * Number of {@link ThreadLevel} overrides in effect on any thread; while zero loggers only check their own level.
+   */
+  private static final AtomicInteger threadLevelCount = new AtomicInteger();
+
+  /**
+   * Overrides in effect for the current thread, most recent first; inherited by threads it starts.
+   */
+  private static final InheritableThreadLocal<ThreadLevel> threadLevels = new InheritableThreadLocal<ThreadLevel>();
+
+  /**
+   * Value of {@link #generation} while enablement can not be cached; before configuration or with thread overrides.
+   */
+  static final int UNCACHED = 0;
+
+  /**
+   * Changes whenever logger enablement may have changed; used by {@link CallSite} to cache enablement.
+   */
+  static volatile int generation = UNCACHED;
+
+  private static final Object generationLock = new Object();
+
+  /**
+   * Guarded by {@link #generationLock}.
+   */
+  private static int generationCounter;
+
+  /**
+   * Set once configuration has been published; guarded by {@link #generationLock}.
+   */
+  private static boolean generationStarted;
+
   private static final Gossip INSTANCE = new Gossip();
 
   public static Gossip getInstance() {
     return INSTANCE;
   }
 
+  /**
+   * Lower the threshold of loggers under a name prefix, for the current thread and threads it starts.
+   *
+   * The override must be restored, preferably in a {@code finally} block:
+   *
+   * <pre>
+   * Gossip.ThreadLevel handle = Gossip.withThreadLevel(Level.DEBUG, "com.example");
+   * try {
+   *   ...
+   * }
+   * finally {
+   *   handle.restore();
+   * }
+   * </pre>
+   *
+   * @param prefix Logger name prefix; {@code *} for all loggers.
+   * @since 2.0.1
+   */
+  public static ThreadLevel withThreadLevel(final Level level, final String prefix) {
+    if (level == null || prefix == null) {
+      throw new NullPointerException();
+    }
+
+    ThreadLevel handle = new ThreadLevel(level, prefix, threadLevels.get());
+    threadLevels.set(handle);
+    threadLevelCount.incrementAndGet();
+    bumpGeneration();
+    return handle;
+  }
+
+  /**
+   * Invalidate cached enablement.
+   */
+  private static void bumpGeneration() {
+    synchronized (generationLock) {
+      if (!generationStarted || threadLevelCount.get() != 0) {
+        generation = UNCACHED;
+      }
+      else {
+        // keep within 30 bits; see CallSite
+        generationCounter = (generationCounter & 0x3fffffff) + 1;
+        generation = generationCounter;
+      }
+    }
+  }
+
+  private static void startGeneration() {
+    synchronized (generationLock) {
+      generationStarted = true;
+    }
+    bumpGeneration();
+  }
+
+  private static boolean isThreadEnabled(final String name, final Level level) {
+    for (ThreadLevel override = threadLevels.get(); override != null; override = override.next) {
+      if (override.level.id <= level.id && override.active && override.matches(name)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Handle to a thread level override; see {@link #withThreadLevel}.
+   *
+   * @since 2.0.1
+   */
+  public static final class ThreadLevel
+      implements Closeable
+  {
+    private final Level level;
+
+    private final String prefix;
+
+    @Nullable
+    private final ThreadLevel next;
+
+    private volatile boolean active = true;
+
+    private ThreadLevel(final Level level, final String prefix, @Nullable final ThreadLevel next) {
+      this.level = level;
+      this.prefix = prefix;
+      this.next = next;
+    }
+
+    public Level getLevel() {
+      return level;
+    }
+
+    public String getPrefix() {
+      return prefix;
+    }
+
+    private boolean matches(final String name) {
+      if (LoggerImpl.ROOT_TOKEN.equals(prefix)) {
+        return true;
+      }
+      return name.startsWith(prefix) && (name.length() == prefix.length() || name.charAt(prefix.length()) == '.');
+    }
+
+    /**
+     * Remove the override; also ends it for threads which inherited it.
+     */
+    public synchronized void restore() {
+      if (!active) {
+        return;
+      }
+      active = false;
+      threadLevelCount.decrementAndGet();
+      bumpGeneration();
+
+      // Drop restored overrides from the current thread
+      ThreadLevel head = threadLevels.get();
+      while (head != null && !head.active) {
+        head = head.next;
+      }
+      if (head == null) {
+        threadLevels.remove();
+      }
+      else {
+        threadLevels.set(head);
+      }
+    }
+
+    public void close() {
+      restore();
+    }
+
+    @Override
+    public String toString() {
+      return getClass().getSimpleName() + "{" +
+          "level=" + level +
+          ", prefix='" + prefix + '\'' +
+          ", active=" + active +
+          '}';
+    }
+  }
+
   /**
    * Map {@link Logger} names to {@link LoggerImpl} or {@link ProvisionNode}.
    */
   private final Map<String, Loggerish> loggers = new HashMap<String, Loggerish>();
 
-  private final LoggerImpl root = new LoggerImpl(LoggerImpl.ROOT_NAME, Level.WARN);
+  /**
+   * Weakly held loggers which have been reclaimed; guarded by {@link #loggers}.
+   */
+  private final ReferenceQueue<LoggerImpl> reclaimed = new ReferenceQueue<LoggerImpl>();
+
+  private final LoggerImpl root = new LoggerImpl(LoggerImpl.ROOT_NAME, DEFAULT_ROOT_LEVEL);
 
-  private final EffectiveProfile effectiveProfile;
+  /**
+   * Set once configuration completes; until then events are held in {@link #earlyEvents}.
+   */
+  private volatile EffectiveProfile effectiveProfile;
+
+  /**
+   * Events logged while configuration is in progress.
+   *
+   * @since 2.0.1
+   */
+  private final BlockingQueue<Event> earlyEvents;
+
+  private final AtomicInteger droppedEarlyEvents = new AtomicInteger();
+
+  private final CountDownLatch configured = new CountDownLatch(1);
+
+  /**
+   * Levels which take precedence over configuration; guarded by {@code this}.
+   */
+  private Map<String, Level> levelOverrides = Collections.emptyMap();
+
+  private final boolean weakLoggers;
 
   private Gossip() {
+    this(WEAK_LOGGERS);
+  }
+
+  /**
+   * Visible for testing.
+   */
+  Gossip(final boolean weakLoggers) {
+    this.weakLoggers = weakLoggers;
+
     if (log.isTraceEnabled()) {
       //noinspection ThrowableInstanceNeverThrown
       log.trace("Initializing", new Throwable("INIT MARKER"));
     }
 
-    effectiveProfile = new Configurator().configure();
-    prime();
+    // Include the root logger in the list
+    loggers.put(root.getName(), root);
+
+    final String baseName = Gossip.class.getName();
+    earlyEvents = new ArrayBlockingQueue<Event>(Math.max(1, Integer.getInteger(baseName + ".earlyEventBufferSize", 1024)));
+
+    Runnable task = new Runnable()
+    {
+      public void run() {
+        configure();
+      }
+    };
+
+    String async = System.getProperty(baseName + ".asyncConfiguration");
+    if (async == null || Boolean.parseBoolean(async)) {
+      Thread thread = new Thread(task, "gossip-configurator");
+      thread.setDaemon(true);
+      thread.start();
+
+      // Give configuration a chance to finish so early events are not lost on short-lived processes
+      Runtime.getRuntime().addShutdownHook(new Thread("gossip-configurator-shutdown")
+      {
+        @Override
+        public void run() {
+          awaitConfiguration(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        }
+      });
+    }
+    else {
+      task.run();
+    }
+  }
+
+  private void configure() {
+    try {
+      EffectiveProfile profile;
+      try {
+        profile = new Configurator().configure();
+
+        // Build listeners here, before the profile is published to other threads
+        profile.getListeners();
+        prime(profile);
+      }
+      catch (Throwable t) {
+        log.error("Failed to configure; using fall-back", t);
+        profile = new Configurator().fallback();
+        profile.getListeners();
+      }
+
+      // Replay before publishing, while events are still captured, so most are dispatched in order; then replay
+      // those captured meanwhile.  Events logged after publishing are dispatched directly, and may overtake these
+      replayEarlyEvents(profile);
+      this.effectiveProfile = profile;
+      replayEarlyEvents(profile);
+    }
+    finally {
+      if (effectiveProfile == null) {
+        // never leave callers waiting on configuration
+        this.effectiveProfile = new EffectiveProfile();
+        earlyEvents.clear();
+      }
+      startGeneration();
+      configured.countDown();
+    }
+
+    int dropped = droppedEarlyEvents.get();
+    if (dropped != 0) {
+      log.warn("Dropped {} event(s) logged while configuring; increase {}.earlyEventBufferSize to retain them",
+          dropped, Gossip.class.getName());
+    }
+
+    if (WATCH_INTERVAL > 0) {
+      new ConfigurationWatcher(this, new Configurator().fingerprintableSources(), WATCH_INTERVAL).start();
+    }
+
+    if (CONTROL_FILE != null) {
+      try {
+        new ControlPoller(this, ControlFile.open(new File(CONTROL_FILE)), CONTROL_INTERVAL).start();
+      }
+      catch (IOException e) {
+        log.error("Failed to open control file: {}", CONTROL_FILE, e);
+      }
+    }
+  }
+
+  /**
+   * Dispatch events captured while configuring, which pass the configured logger levels.
+   */
+  private void replayEarlyEvents(final EffectiveProfile profile) {
+    Event event;
+    while ((event = earlyEvents.poll()) != null) {
+      if (getLogger(event.getName()).isConfiguredEnabled(event.getLevel())) {
+        profile.dispatch(event);
+      }
+    }
+  }
+
+  /**
+   * Make room for an event by dropping the oldest captured event of a lower level.
+   */
+  private boolean evictEarlyEvent(final Level level) {
+    for (Event event : earlyEvents) {
+      if (event.getLevel().id < level.id && earlyEvents.remove(event)) {
+        droppedEarlyEvents.incrementAndGet();
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Wait for configuration to complete.
+   *
+   * @return {@code true} if configuration completed before the timeout elapsed.
+   * @since 2.0.1
+   */
+  public boolean awaitConfiguration(final long timeout, final TimeUnit unit) {
+    try {
+      return configured.await(timeout, unit);
+    }
+    catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
   }
 
   public LoggerImpl getRoot() {
     return root;
   }
 
+  /**
+   * Returns the effective profile, waiting for configuration to complete if needed.
+   */
   public EffectiveProfile getEffectiveProfile() {
-    return effectiveProfile;
+    EffectiveProfile profile = effectiveProfile;
+    if (profile == null) {
+      boolean interrupted = false;
+      while (true) {
+        try {
+          configured.await();
+          break;
+        }
+        catch (InterruptedException e) {
+          interrupted = true;
+        }
+      }
+      if (interrupted) {
+        Thread.currentThread().interrupt();
+      }
+      profile = effectiveProfile;
+    }
+    return profile;
   }
 
-  private void prime() {
+  private void prime(final EffectiveProfile profile) {
     log.trace("Priming");
 
-    // Include the root logger in the list
-    loggers.put(root.getName(), root);
-
     // Prime the loggers we have configured
-    for (Map.Entry<String, LoggerNode> entry : getEffectiveProfile().loggers().entrySet()) {
-      String name = entry.getKey();
+    for (Map.Entry<String, LoggerNode> entry : profile.loggers().entrySet()) {
       LoggerNode node = entry.getValue();
-      LoggerImpl logger;
+      configuredLogger(entry.getKey()).setLevel(node.asLevel());
+    }
+  }
 
-      if (LoggerImpl.ROOT_TOKEN.equals(name)) {
-        logger = root;
+  /**
+   * Override logger levels, replacing previous overrides; overrides are kept across reconfiguration.
+   *
+   * Loggers which are no longer overridden revert to their configured level.
+   *
+   * @since 2.0.1
+   */
+  public synchronized void setLevelOverrides(final Map<String, Level> overrides) {
+    assert overrides != null;
+
+    Map<String, LoggerNode> configured = getEffectiveProfile().loggers();
+    for (String name : levelOverrides.keySet()) {
+      if (!overrides.containsKey(name)) {
+        LoggerNode node = configured.get(name);
+        LoggerImpl logger = configuredLogger(name);
+        log.debug("Removing level override: {}", name);
+        logger.setLevel(node != null ? node.asLevel() : logger == root ? DEFAULT_ROOT_LEVEL : null);
       }
-      else {
-        logger = getLogger(name);
+    }
+
+    levelOverrides = new LinkedHashMap<String, Level>(overrides);
+    applyLevelOverrides();
+  }
+
+  private void applyLevelOverrides() {
+    for (Map.Entry<String, Level> entry : levelOverrides.entrySet()) {
+      log.debug("Overriding level: {}={}", entry.getKey(), entry.getValue());
+      configuredLogger(entry.getKey()).setLevel(entry.getValue());
+    }
+  }
+
+  private LoggerImpl configuredLogger(final String name) {
+    if (LoggerImpl.ROOT_TOKEN.equals(name)) {
+      return root;
+    }
+    return getLogger(name);
+  }
+
+  /**
+   * Reload configuration from all sources and apply it.
+   *
+   * Listeners whose configuration did not change are kept; replaced listeners are closed if {@link Closeable},
+   * once dispatches already in progress to them complete.  Loggers no longer configured revert to inheriting their level.
+   *
+   * @since 2.0.1
+   */
+  public synchronized void reconfigure() {
+    EffectiveProfile previous = getEffectiveProfile();
+
+    log.debug("Reconfiguring");
+
+    EffectiveProfile profile = new Configurator().configure();
+    List<Listener> retired = profile.inherit(previous);
+
+    for (String name : previous.loggers().keySet()) {
+      if (!profile.loggers().containsKey(name)) {
+        LoggerImpl logger = configuredLogger(name);
+        logger.setLevel(logger == root ? DEFAULT_ROOT_LEVEL : null);
       }
+    }
+    prime(profile);
+    applyLevelOverrides();
+    this.effectiveProfile = profile;
+    bumpGeneration();
+
+    // Dispatches arriving at the previous profile from here on go to the new one; then wait out those in progress
+    previous.retire(profile);
+    if (!retired.isEmpty() && !previous.awaitDrained(DRAIN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+      log.warn("Timed out waiting for replaced listeners to drain; closing");
+    }
 
-      logger.setLevel(node.asLevel());
+    for (Listener listener : retired) {
+      if (listener instanceof Closeable) {
+        log.trace("Closing replaced listener: {}", listener);
+        try {
+          ((Closeable) listener).close();
+        }
+        catch (IOException e) {
+          log.warn("Failed to close listener: {}", listener, e);
+        }
+      }
     }
   }
 
@@ -100,28 +576,34 @@ public final class Gossip
     LoggerImpl logger;
 
     synchronized (loggers) {
+      expungeReclaimed();
+
       Object obj = loggers.get(name);
+      logger = deref(obj);
 
-      if (obj == null) {
-        logger = new LoggerImpl(name);
-        loggers.put(name, logger);
-        log.trace("Created logger: {}", logger);
-        updateParents(logger);
+      if (logger != null) {
+        log.trace("Using cached logger: {}", logger);
       }
       else if (obj instanceof ProvisionNode) {
         ProvisionNode node = (ProvisionNode) obj;
         logger = new LoggerImpl(name);
-        loggers.put(name, logger);
+        Loggerish entry = register(logger);
         log.trace("Replaced provision node with logger: {}", logger);
         updateChildren(node, logger);
-        updateParents(logger);
-      }
-      else if (obj instanceof LoggerImpl) {
-        logger = (LoggerImpl) obj;
-        log.trace("Using cached logger: {}", logger);
+        updateParents(logger, entry);
       }
       else {
-        throw new InternalError();
+        if (obj instanceof LoggerRef) {
+          // reclaimed, but not yet queued
+          remove((LoggerRef) obj);
+        }
+        else if (obj != null) {
+          throw new InternalError();
+        }
+        logger = new LoggerImpl(name);
+        Loggerish entry = register(logger);
+        log.trace("Created logger: {}", logger);
+        updateParents(logger, entry);
       }
     }
 
@@ -133,10 +615,23 @@ public final class Gossip
    */
   public Collection<String> getLoggerNames() {
     synchronized (loggers) {
+      expungeReclaimed();
       return Collections.unmodifiableSet(loggers.keySet());
     }
   }
 
+  /**
+   * Returns the number of registry entries; including placeholders for parents of loggers which have not been created.
+   *
+   * @since 2.0.1
+   */
+  public int getRegistrySize() {
+    synchronized (loggers) {
+      expungeReclaimed();
+      return loggers.size();
+    }
+  }
+
   public final class LoggerImpl
       extends LoggerSupport
       implements Loggerish
@@ -172,7 +667,22 @@ public final class Gossip
       // level can be null
       this.level = level;
       this.cachedLevel = level;
+      if (level != null) {
+        pin();
+      }
       invalidateCache();
+      bumpGeneration();
+    }
+
+    /**
+     * Hold this logger strongly, so its level is not lost.
+     */
+    private void pin() {
+      synchronized (loggers) {
+        if (loggers.get(getName()) instanceof LoggerRef) {
+          loggers.put(getName(), this);
+        }
+      }
     }
 
     /**
@@ -182,12 +692,11 @@ public final class Gossip
      */
     private void invalidateCache() {
       boolean root = name.equals(ROOT_NAME);
-      for (Map.Entry<String, Loggerish> entry : loggers.entrySet()) {
-        if (root || entry.getKey().startsWith(getName() + ".")) {
-          Object obj = entry.getValue();
-          if (obj instanceof LoggerImpl) {
-            LoggerImpl logger = (LoggerImpl) obj;
-            if (logger.level == null) {
+      synchronized (loggers) {
+        for (Map.Entry<String, Loggerish> entry : loggers.entrySet()) {
+          if (root || entry.getKey().startsWith(getName() + ".")) {
+            LoggerImpl logger = deref(entry.getValue());
+            if (logger != null && logger.level == null) {
               logger.cachedLevel = null;
             }
           }
@@ -216,12 +725,38 @@ public final class Gossip
     @Override
     protected boolean isEnabled(final Level level) {
       assert level != null;
-      return getEffectiveLevel().id <= level.id;
+
+      // While configuring capture events above a threshold; they are filtered by the configured levels when replayed
+      if (effectiveProfile == null) {
+        return level.id >= EARLY_EVENT_THRESHOLD.id;
+      }
+      return isConfiguredEnabled(level);
+    }
+
+    private boolean isConfiguredEnabled(final Level level) {
+      if (getEffectiveLevel().id <= level.id) {
+        return true;
+      }
+      return threadLevelCount.get() != 0 && isThreadEnabled(getName(), level);
     }
 
     @Override
     protected void doLog(final Event event) {
-      getEffectiveProfile().dispatch(event);
+      EffectiveProfile profile = effectiveProfile;
+      if (profile != null) {
+        profile.dispatch(event);
+        return;
+      }
+
+      if (!earlyEvents.offer(event) && !(evictEarlyEvent(event.getLevel()) && earlyEvents.offer(event))) {
+        droppedEarlyEvents.incrementAndGet();
+      }
+
+      // Configuration may have completed while we were buffering; make sure the event is not stranded
+      profile = effectiveProfile;
+      if (profile != null) {
+        replayEarlyEvents(profile);
+      }
     }
 
     @Override
@@ -242,17 +777,86 @@ public final class Gossip
     // Empty
   }
 
+  /**
+   * Provision nodes hold the same entries as the {@link #loggers} map; {@link LoggerImpl} or {@link LoggerRef}.
+   */
   private final class ProvisionNode
       extends ArrayList<Object>
       implements Loggerish
   {
-    private ProvisionNode(final LoggerImpl logger) {
-      assert logger != null;
-      add(logger);
+    private ProvisionNode(final Loggerish entry) {
+      assert entry != null;
+      add(entry);
     }
   }
 
-  private void updateParents(final LoggerImpl logger) {
+  /**
+   * Weak registry entry for a logger without a level.
+   */
+  private final class LoggerRef
+      extends WeakReference<LoggerImpl>
+      implements Loggerish
+  {
+    private final String name;
+
+    private LoggerRef(final LoggerImpl logger) {
+      super(logger, reclaimed);
+      this.name = logger.getName();
+    }
+  }
+
+  /**
+   * Returns the logger of an entry, or {@code null} if the entry is not a logger or it has been reclaimed.
+   */
+  @Nullable
+  private static LoggerImpl deref(@Nullable final Object entry) {
+    if (entry instanceof LoggerImpl) {
+      return (LoggerImpl) entry;
+    }
+    if (entry instanceof LoggerRef) {
+      return ((LoggerRef) entry).get();
+    }
+    return null;
+  }
+
+  private Loggerish register(final LoggerImpl logger) {
+    Loggerish entry = weakLoggers && logger.level == null ? new LoggerRef(logger) : logger;
+    loggers.put(logger.getName(), entry);
+    return entry;
+  }
+
+  private void expungeReclaimed() {
+    Reference<? extends LoggerImpl> ref;
+    while ((ref = reclaimed.poll()) != null) {
+      remove((LoggerRef) ref);
+    }
+  }
+
+  /**
+   * Remove a reclaimed logger from the registry and from the provision nodes of its ancestors.
+   *
+   * Children hold their parent strongly, so a reclaimed logger has no children left to re-link.
+   */
+  private void remove(final LoggerRef ref) {
+    String name = ref.name;
+    if (loggers.get(name) == ref) {
+      loggers.remove(name);
+    }
+
+    for (int i = name.lastIndexOf('.', name.length() - 1); i >= 0; i = name.lastIndexOf('.', i - 1)) {
+      String key = name.substring(0, i);
+      Object obj = loggers.get(key);
+      if (obj instanceof ProvisionNode) {
+        ProvisionNode node = (ProvisionNode) obj;
+        node.remove(ref);
+        if (node.isEmpty()) {
+          loggers.remove(key);
+        }
+      }
+    }
+  }
+
+  private void updateParents(final LoggerImpl logger, final Loggerish entry) {
     assert logger != null;
 
     String name = logger.getName();
@@ -264,21 +868,25 @@ public final class Gossip
       String key = name.substring(0, i);
 
       Object obj = loggers.get(key);
+      LoggerImpl parent = deref(obj);
 
-      // Create a provision node for a future parent.
-      if (obj == null) {
-        ProvisionNode node = new ProvisionNode(logger);
-        loggers.put(key, node);
-      }
-      else if (obj instanceof LoggerImpl) {
+      if (parent != null) {
         parentFound = true;
-        logger.parent = (LoggerImpl) obj;
+        logger.parent = parent;
 
         // no need to update the ancestors of the closest ancestor
         break;
       }
       else if (obj instanceof ProvisionNode) {
-        ((ProvisionNode) obj).add(logger);
+        ((ProvisionNode) obj).add(entry);
+      }
+      // Create a provision node for a future parent.
+      else if (obj == null || obj instanceof LoggerRef) {
+        if (obj != null) {
+          remove((LoggerRef) obj);
+        }
+        ProvisionNode node = new ProvisionNode(entry);
+        loggers.put(key, node);
       }
       else {
         throw new InternalError();
@@ -298,8 +906,8 @@ public final class Gossip
     final int last = node.size();
 
     for (int i = 0; i < last; i++) {
-      LoggerImpl l = (LoggerImpl) node.get(i);
-      if (!l.parent.getName().startsWith(logger.getName())) {
+      LoggerImpl l = deref(node.get(i));
+      if (l != null && !l.parent.getName().startsWith(logger.getName())) {
         logger.parent = l.parent;
         l.parent = logger;
       }
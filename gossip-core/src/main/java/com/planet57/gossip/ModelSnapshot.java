@@ -0,0 +1,162 @@
+/*
+ * Copyright (c) 2009-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.planet57.gossip;
+
+import com.planet57.gossip.model.Model;
+import com.planet57.gossip.model.SourceNode;
+import com.planet57.gossip.source.Fingerprint;
+import com.planet57.gossip.source.Fingerprintable;
+import com.planet57.gossip.source.Source;
+import org.slf4j.Logger;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.net.URL;
+
+import javax.annotation.Nullable;
+
+/**
+ * On-disk snapshot of the resolved configuration {@link Model}, keyed by a {@link Fingerprint} of its inputs.
+ *
+ * Triggers are not part of the snapshot; profiles are still activated against the current environment.
+ *
+ * @since 2.0.1
+ */
+final class ModelSnapshot
+{
+  private static final Logger log = Log.getLogger(ModelSnapshot.class);
+
+  /**
+   * Bumped when the snapshot layout changes.
+   */
+  private static final int VERSION = 1;
+
+  private final File file;
+
+  ModelSnapshot(final File file) {
+    assert file != null;
+    this.file = file;
+  }
+
+  /**
+   * Fingerprint the bootstrap configuration and the inputs of each of its sources.
+   *
+   * @return {@code null} if any source can not describe its inputs.
+   */
+  @Nullable
+  public String fingerprint(final URL bootstrapUrl, final Model bootstrap) {
+    assert bootstrapUrl != null;
+    assert bootstrap != null;
+
+    try {
+      Fingerprint fingerprint = new Fingerprint();
+      fingerprint.add("version", String.valueOf(VERSION));
+      fingerprint.add(bootstrapUrl);
+
+      for (SourceNode node : bootstrap.getSources()) {
+        Source source = node.create();
+        if (!(source instanceof Fingerprintable)) {
+          log.debug("Source can not be fingerprinted; snapshot disabled: {}", node.getId());
+          return null;
+        }
+        fingerprint.add("source", node.getId());
+        ((Fingerprintable) source).fingerprint(fingerprint);
+      }
+
+      return fingerprint.digest();
+    }
+    catch (Exception e) {
+      log.warn("Failed to fingerprint configuration; snapshot disabled", e);
+      return null;
+    }
+  }
+
+  /**
+   * Load the snapshot model, if its fingerprint matches.
+   */
+  @Nullable
+  public Model load(final String fingerprint) {
+    assert fingerprint != null;
+
+    if (!file.isFile()) {
+      log.trace("Snapshot does not exist: {}", file);
+      return null;
+    }
+
+    try {
+      ObjectInputStream input = new ObjectInputStream(new BufferedInputStream(new FileInputStream(file)));
+      try {
+        if (!fingerprint.equals(input.readUTF())) {
+          log.debug("Snapshot is stale: {}", file);
+          return null;
+        }
+        Model model = (Model) input.readObject();
+        log.debug("Using snapshot: {}", file);
+        return model;
+      }
+      finally {
+        input.close();
+      }
+    }
+    catch (Exception e) {
+      log.warn("Failed to read snapshot; discarding: {}", file, e);
+      file.delete();
+      return null;
+    }
+  }
+
+  public void save(final String fingerprint, final Model model) {
+    assert fingerprint != null;
+    assert model != null;
+
+    try {
+      File dir = file.getAbsoluteFile().getParentFile();
+      if (!dir.isDirectory() && !dir.mkdirs()) {
+        throw new IOException("Unable to create directory: " + dir);
+      }
+
+      // Write to a temporary file then rename, so concurrent readers never see a partial snapshot
+      File tmp = File.createTempFile(file.getName(), ".tmp", dir);
+      ObjectOutputStream output = new ObjectOutputStream(new BufferedOutputStream(new FileOutputStream(tmp)));
+      try {
+        output.writeUTF(fingerprint);
+        output.writeObject(model);
+      }
+      finally {
+        output.close();
+      }
+
+      if (!tmp.renameTo(file)) {
+        // Windows will not rename over an existing file
+        if (!file.delete() || !tmp.renameTo(file)) {
+          tmp.delete();
+          throw new IOException("Unable to replace: " + file);
+        }
+      }
+
+      log.debug("Saved snapshot: {}", file);
+    }
+    catch (Exception e) {
+      log.warn("Failed to save snapshot: {}", file, e);
+    }
+  }
+}
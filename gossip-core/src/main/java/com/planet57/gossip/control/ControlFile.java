@@ -0,0 +1,274 @@
+/*
+ * Copyright (c) 2009-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.planet57.gossip.control;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UnsupportedEncodingException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.annotation.Nullable;
+
+/**
+ * Memory-mapped file holding logger level overrides, written by another process.
+ *
+ * Layout: magic, version, generation, entry count, then entries of logger name and level name.  Writers make the
+ * generation odd while the table is being changed and even once complete; readers discard tables read while it was odd
+ * or changed underneath them.  Writers serialize with each other via a file lock.
+ *
+ * @since 2.0.1
+ */
+public final class ControlFile
+{
+  public static final int SIZE = 64 * 1024;
+
+  private static final int MAGIC = 0x47535043; // GSPC
+
+  private static final int VERSION = 1;
+
+  private static final int GENERATION_OFFSET = 8;
+
+  private static final int COUNT_OFFSET = 16;
+
+  private static final int TABLE_OFFSET = 20;
+
+  /**
+   * Change to the override table, applied while holding the writer lock.
+   */
+  public interface Update
+  {
+    /**
+     * Change the given copy of the current table.
+     *
+     * @return {@code false} to leave the table unchanged.
+     */
+    boolean apply(Map<String, String> overrides) throws IOException;
+  }
+
+  private final File file;
+
+  private final FileChannel channel;
+
+  private final MappedByteBuffer buffer;
+
+  private ControlFile(final File file, final FileChannel channel, final MappedByteBuffer buffer) {
+    this.file = file;
+    this.channel = channel;
+    this.buffer = buffer;
+  }
+
+  /**
+   * Open, creating and initializing the file if needed.
+   */
+  public static ControlFile open(final File file) throws IOException {
+    assert file != null;
+
+    RandomAccessFile raf = new RandomAccessFile(file, "rw");
+    try {
+      FileChannel channel = raf.getChannel();
+      FileLock lock = channel.lock();
+      try {
+        boolean created = raf.length() < SIZE;
+        if (created) {
+          raf.setLength(SIZE);
+        }
+        ControlFile control = new ControlFile(file, channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, SIZE));
+        if (created || control.buffer.getInt(0) != MAGIC) {
+          control.buffer.putInt(0, MAGIC);
+          control.buffer.putInt(4, VERSION);
+          control.buffer.putLong(GENERATION_OFFSET, 0);
+          control.buffer.putInt(COUNT_OFFSET, 0);
+          control.buffer.force();
+        }
+        else if (control.buffer.getInt(4) != VERSION) {
+          throw new IOException("Unsupported control file version: " + control.buffer.getInt(4));
+        }
+        return control;
+      }
+      finally {
+        lock.release();
+      }
+    }
+    catch (IOException e) {
+      raf.close();
+      throw e;
+    }
+  }
+
+  public File getFile() {
+    return file;
+  }
+
+  public void close() throws IOException {
+    channel.close();
+  }
+
+  /**
+   * Returns the generation; changes each time the table is written.
+   */
+  public long getGeneration() {
+    return buffer.getLong(GENERATION_OFFSET);
+  }
+
+  /**
+   * Read the override table, mapping logger names to level names.
+   *
+   * @return {@code null} if the table is being written; try again later.
+   */
+  @Nullable
+  public Map<String, String> read() {
+    long generation = getGeneration();
+    if ((generation & 1) != 0) {
+      return null;
+    }
+
+    Map<String, String> result = new LinkedHashMap<String, String>();
+    try {
+      ByteBuffer input = buffer.duplicate();
+      int count = input.getInt(COUNT_OFFSET);
+      input.position(TABLE_OFFSET);
+      for (int i = 0; i < count; i++) {
+        String name = readString(input);
+        result.put(name, readString(input));
+      }
+    }
+    catch (RuntimeException e) {
+      // torn read; generation check below will reject it unless the file is corrupt
+      if (generation == getGeneration()) {
+        throw e;
+      }
+      return null;
+    }
+
+    return generation == getGeneration() ? result : null;
+  }
+
+  /**
+   * Replace the override table.
+   */
+  public void write(final Map<String, String> overrides) throws IOException {
+    assert overrides != null;
+
+    ByteBuffer table = encode(overrides);
+    FileLock lock = channel.lock();
+    try {
+      write(table, overrides.size());
+    }
+    finally {
+      lock.release();
+    }
+  }
+
+  /**
+   * Read, change and write the override table as one step; writers updating concurrently do not lose changes.
+   *
+   * @return {@code true} if the table was written.
+   */
+  public boolean update(final Update update) throws IOException {
+    assert update != null;
+
+    FileLock lock = channel.lock();
+    try {
+      // no writer can be active; an odd generation means the previous one died mid-update, so start afresh
+      Map<String, String> overrides = read();
+      if (overrides == null) {
+        overrides = new LinkedHashMap<String, String>();
+      }
+      if (!update.apply(overrides)) {
+        return false;
+      }
+      write(encode(overrides), overrides.size());
+      return true;
+    }
+    finally {
+      lock.release();
+    }
+  }
+
+  private ByteBuffer encode(final Map<String, String> overrides) throws IOException {
+    ByteBuffer table = ByteBuffer.allocate(SIZE - TABLE_OFFSET);
+    try {
+      for (Map.Entry<String, String> entry : overrides.entrySet()) {
+        writeString(table, entry.getKey());
+        writeString(table, entry.getValue());
+      }
+    }
+    catch (BufferOverflowException e) {
+      throw new IOException("Too many overrides for control file: " + file);
+    }
+    table.flip();
+    return table;
+  }
+
+  /**
+   * Write an encoded table; the writer lock must be held.
+   */
+  private void write(final ByteBuffer table, final int count) {
+    long generation = getGeneration();
+    if ((generation & 1) != 0) {
+      // previous writer died mid-update
+      generation++;
+    }
+    buffer.putLong(GENERATION_OFFSET, generation + 1);
+    buffer.putInt(COUNT_OFFSET, count);
+    ByteBuffer output = buffer.duplicate();
+    output.position(TABLE_OFFSET);
+    output.put(table);
+    buffer.putLong(GENERATION_OFFSET, generation + 2);
+    buffer.force();
+  }
+
+  private static String readString(final ByteBuffer input) {
+    int length = input.getShort() & 0xffff;
+    byte[] bytes = new byte[length];
+    input.get(bytes);
+    try {
+      return new String(bytes, "UTF-8");
+    }
+    catch (UnsupportedEncodingException e) {
+      throw new Error(e);
+    }
+  }
+
+  private static void writeString(final ByteBuffer output, final String value) {
+    byte[] bytes;
+    try {
+      bytes = value.getBytes("UTF-8");
+    }
+    catch (UnsupportedEncodingException e) {
+      throw new Error(e);
+    }
+    if (bytes.length > 0xffff) {
+      throw new IllegalArgumentException("Value too long: " + value);
+    }
+    output.putShort((short) bytes.length);
+    output.put(bytes);
+  }
+
+  @Override
+  public String toString() {
+    return getClass().getSimpleName() + "{" +
+        "file=" + file +
+        '}';
+  }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2009-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.planet57.gossip.control;
+
+import com.planet57.gossip.Gossip;
+import com.planet57.gossip.Level;
+import com.planet57.gossip.Log;
+import org.slf4j.Logger;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Polls a {@link ControlFile} and applies its level overrides to {@link Gossip} when the generation changes.
+ *
+ * Only this thread reads the file; logging itself never touches it.
+ *
+ * @since 2.0.1
+ */
+public final class ControlPoller
+    extends Thread
+{
+  private static final Logger log = Log.getLogger(ControlPoller.class);
+
+  private final Gossip gossip;
+
+  private final ControlFile control;
+
+  private final long interval;
+
+  public ControlPoller(final Gossip gossip, final ControlFile control, final long interval) {
+    super("gossip-control");
+    assert gossip != null;
+    assert control != null;
+    assert interval > 0;
+    this.gossip = gossip;
+    this.control = control;
+    this.interval = interval;
+    setDaemon(true);
+  }
+
+  @Override
+  public void run() {
+    log.debug("Polling {} every {}ms", control, interval);
+
+    long applied = -1;
+    while (!isInterrupted()) {
+      try {
+        long generation = control.getGeneration();
+        if (generation != applied) {
+          Map<String, String> table = control.read();
+          if (table != null) {
+            log.debug("Applying control generation: {}", generation);
+            gossip.setLevelOverrides(parse(table));
+            applied = generation;
+          }
+        }
+      }
+      catch (Exception e) {
+        log.error("Failed to apply control file: {}", control, e);
+      }
+
+      try {
+        Thread.sleep(interval);
+      }
+      catch (InterruptedException e) {
+        break;
+      }
+    }
+  }
+
+  private static Map<String, Level> parse(final Map<String, String> table) {
+    Map<String, Level> result = new LinkedHashMap<String, Level>();
+    for (Map.Entry<String, String> entry : table.entrySet()) {
+      try {
+        result.put(entry.getKey(), Level.valueOf(entry.getValue().toUpperCase()));
+      }
+      catch (IllegalArgumentException e) {
+        log.warn("Ignoring invalid level for {}: {}", entry.getKey(), entry.getValue());
+      }
+    }
+    return result;
+  }
+}
@@ -16,6 +16,7 @@
 package com.planet57.gossip.listener;
 
 import com.planet57.gossip.Event;
+import com.planet57.gossip.model.io.props.Configurable;
 
 import java.io.PrintStream;
 
@@ -25,6 +26,7 @@ import java.io.PrintStream;
  * @author <a href="mailto:jason@planet57.com">Jason Dillon</a>
  * @since 1.0
  */
+@Configurable
 public class ConsoleListener
     extends ListenerSupport
 {
@@ -16,8 +16,10 @@
 package com.planet57.gossip.listener;
 
 import com.planet57.gossip.Event;
+import com.planet57.gossip.model.io.props.Configurable;
 
 import java.io.BufferedWriter;
+import java.io.Closeable;
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
@@ -33,8 +35,10 @@ import javax.annotation.Nullable;
  * @author <a href="mailto:jason@planet57.com">Jason Dillon</a>
  * @since 1.0
  */
+@Configurable
 public class FileListener
     extends ListenerSupport
+    implements Closeable
 {
   public static final int DEFAULT_BUFFER_SIZE = 8192;
 
@@ -50,6 +54,8 @@ public class FileListener
 
   private CountingWriter writer;
 
+  private volatile boolean closed;
+
   public File getFile() {
     return file;
   }
@@ -117,7 +123,7 @@ public class FileListener
   public void onEvent(final Event event) throws Exception {
     assert event != null;
 
-    if (!isLoggable(event)) {
+    if (!isLoggable(event) || closed) {
       return;
     }
 
@@ -134,11 +140,29 @@ public class FileListener
 
     String line = render(event);
     synchronized (writer) {
+      if (closed) {
+        return;
+      }
       writer.write(line);
       writer.flush();
     }
   }
 
+  /**
+   * Close the current writer; events received after closing are discarded.
+   *
+   * @since 2.0.1
+   */
+  public void close() throws IOException {
+    closed = true;
+    CountingWriter writer = this.writer;
+    if (writer != null) {
+      synchronized (writer) {
+        writer.close();
+      }
+    }
+  }
+
   protected String evaluate(@Nullable String input) {
     if (input != null) {
       Matcher matcher = PATTERN.matcher(input);
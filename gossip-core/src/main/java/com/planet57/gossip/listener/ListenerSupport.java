@@ -17,11 +17,19 @@ package com.planet57.gossip.listener;
 
 import com.planet57.gossip.Event;
 import org.slf4j.Logger;
+import org.slf4j.Marker;
+import org.slf4j.MarkerFactory;
 import com.planet57.gossip.Level;
 import com.planet57.gossip.Log;
 import com.planet57.gossip.render.PatternRenderer;
 import com.planet57.gossip.render.Renderer;
 
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+import javax.annotation.Nullable;
+
 /**
  * Support for {@link Listener} implementations.
  *
@@ -37,6 +45,18 @@ public abstract class ListenerSupport
 
   private Level threshold = Level.TRACE;
 
+  /**
+   * When set, only events with one of these markers are loggable.
+   */
+  @Nullable
+  private Map<Marker, Boolean> includeMarkers;
+
+  /**
+   * When set, events with one of these markers are not loggable.
+   */
+  @Nullable
+  private Map<Marker, Boolean> excludeMarkers;
+
   public Renderer getRenderer() {
     return renderer;
   }
@@ -63,14 +83,73 @@ public abstract class ListenerSupport
   }
 
   /**
-   * Returns false if the given event does not match the threshold.
+   * Only log events with one of the given markers, or a marker referencing one of them.
+   *
+   * @param names Comma separated marker names.
+   * @since 2.0.1
+   */
+  public void setIncludeMarkers(final String names) {
+    this.includeMarkers = markers(names);
+  }
+
+  /**
+   * Do not log events with one of the given markers, or a marker referencing one of them.
+   *
+   * @param names Comma separated marker names.
+   * @since 2.0.1
+   */
+  public void setExcludeMarkers(final String names) {
+    this.excludeMarkers = markers(names);
+  }
+
+  /**
+   * Resolve marker names; markers are compared by identity, as {@link MarkerFactory} markers are unique per name.
+   */
+  @Nullable
+  private static Map<Marker, Boolean> markers(final String names) {
+    assert names != null;
+    Map<Marker, Boolean> result = new IdentityHashMap<Marker, Boolean>();
+    for (String name : names.split(",")) {
+      name = name.trim();
+      if (name.length() != 0) {
+        result.put(MarkerFactory.getMarker(name), Boolean.TRUE);
+      }
+    }
+    return result.isEmpty() ? null : result;
+  }
+
+  private static boolean matches(final Map<Marker, Boolean> markers, @Nullable final Marker marker) {
+    if (marker == null) {
+      return false;
+    }
+    if (markers.containsKey(marker)) {
+      return true;
+    }
+    for (Iterator iter = marker.iterator(); iter.hasNext();) {
+      if (matches(markers, (Marker) iter.next())) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Returns false if the given event does not match the threshold or marker filters.
+   *
+   * Listeners check this before rendering.
    *
    * @param event The event to evaluate.
    * @return True if the event is loggable.
    */
   protected final boolean isLoggable(final Event event) {
     assert event != null;
-    return threshold == null || event.getLevel().id >= threshold.id;
+    if (threshold != null && event.getLevel().id < threshold.id) {
+      return false;
+    }
+    if (includeMarkers != null && !matches(includeMarkers, event.getMarker())) {
+      return false;
+    }
+    return excludeMarkers == null || !matches(excludeMarkers, event.getMarker());
   }
 
   protected String render(final Event event) {
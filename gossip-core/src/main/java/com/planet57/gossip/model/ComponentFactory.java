@@ -84,7 +84,7 @@ public class ComponentFactory
     assert className != null;
 
     Class type = loadClass(className);
-    Object obj = type.newInstance();
+    Object obj = ContextConfigurator.create(type);
 
     if (config != null) {
       if (config instanceof Context) {
@@ -0,0 +1,45 @@
+/*
+ * Copyright (c) 2009-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.planet57.gossip.model.io.props;
+
+/**
+ * Creates and configures a component type.
+ *
+ * Implementations are generated for {@link Configurable} types; otherwise a cached reflective implementation is used.
+ *
+ * @since 2.0.1
+ */
+public interface ComponentConfigurator
+{
+  /**
+   * Create a new instance of the component.
+   */
+  Object create() throws Exception;
+
+  /**
+   * Set a simple property from its text value.
+   *
+   * @return {@code false} if there is no simple property with the given name.
+   */
+  boolean set(Object target, String name, String value) throws Exception;
+
+  /**
+   * Inject a nested component.
+   *
+   * @return {@code false} if there is no property with the given name accepting the component.
+   */
+  boolean inject(Object target, String name, Object component) throws Exception;
+}
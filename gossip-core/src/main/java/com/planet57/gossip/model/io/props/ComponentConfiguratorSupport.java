@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2009-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.planet57.gossip.model.io.props;
+
+/**
+ * Support for {@link ComponentConfigurator} implementations; provides text value conversions.
+ *
+ * Conversions match what the {@link java.beans.PropertyEditorManager} default editors accept.
+ *
+ * @since 2.0.1
+ */
+public abstract class ComponentConfiguratorSupport
+    implements ComponentConfigurator
+{
+  protected static boolean toBoolean(final String value) {
+    if ("true".equalsIgnoreCase(value)) {
+      return true;
+    }
+    if ("false".equalsIgnoreCase(value)) {
+      return false;
+    }
+    throw new IllegalArgumentException(value);
+  }
+
+  protected static byte toByte(final String value) {
+    return Byte.decode(value);
+  }
+
+  protected static short toShort(final String value) {
+    return Short.decode(value);
+  }
+
+  protected static int toInt(final String value) {
+    return Integer.decode(value);
+  }
+
+  protected static long toLong(final String value) {
+    return Long.decode(value);
+  }
+
+  protected static float toFloat(final String value) {
+    return Float.valueOf(value);
+  }
+
+  protected static double toDouble(final String value) {
+    return Double.valueOf(value);
+  }
+
+  /**
+   * Select enum constant by name, ignoring case.
+   */
+  protected static <E extends Enum<E>> E toEnum(final Class<E> type, final String name) {
+    assert type != null;
+    assert name != null;
+
+    for (E n : type.getEnumConstants()) {
+      if (n.name().equalsIgnoreCase(name)) {
+        return n;
+      }
+    }
+
+    throw new IllegalArgumentException("No enum const " + type + "." + name);
+  }
+}
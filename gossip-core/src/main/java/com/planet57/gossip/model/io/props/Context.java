@@ -17,32 +17,44 @@ package com.planet57.gossip.model.io.props;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.Serializable;
 import java.net.URL;
 import java.util.Collections;
-import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
 
 /**
  * Container for Gossip configuration details.
  *
+ * Entries are kept sorted by key so that the entries of a child context are a contiguous range;
+ * child views and name enumeration only visit the entries under their prefix.
+ *
  * @author <a href="mailto:jason@planet57.com">Jason Dillon</a>
  * @since 1.0
  */
 public final class Context
-    implements Cloneable
+    implements Cloneable, Serializable
 {
   private static final String NEWLINE = System.getProperty("line.separator");
 
-  private final Map<String, String> store;
+  /**
+   * Separator between prefix and name.  Keys under {@code prefix} sort between {@code prefix + SEPARATOR}
+   * and {@code prefix + (SEPARATOR + 1)}.
+   */
+  private static final char SEPARATOR = '.';
+
+  private final SortedMap<String, String> store;
 
   private String prefix;
 
   private Context parent;
 
-  private Context(final Map<String, String> store, final String prefix) {
+  private Context(final SortedMap<String, String> store, final String prefix) {
     assert store != null;
     this.store = store;
     this.prefix = prefix;
@@ -56,12 +68,14 @@ public final class Context
     buff.append("[").append(NEWLINE);
 
     if (prefix != null) {
-      for (Map.Entry<String, String> entry : store.entrySet()) {
-        if (entry.getKey().startsWith(prefix)) {
-          buff.append("  ").
-              append(entry.getKey()).append("=").append(entry.getValue()).
-              append(",").append(NEWLINE);
-        }
+      String value = store.get(prefix);
+      if (value != null) {
+        buff.append("  ").append(prefix).append("=").append(value).append(",").append(NEWLINE);
+      }
+      for (Map.Entry<String, String> entry : entries().entrySet()) {
+        buff.append("  ").
+            append(entry.getKey()).append("=").append(entry.getValue()).
+            append(",").append(NEWLINE);
       }
     }
 
@@ -120,20 +134,18 @@ public final class Context
     return get(name, null);
   }
 
-  public int size() {
+  /**
+   * Entries under this context's prefix, as a view of the backing store.
+   */
+  private SortedMap<String, String> entries() {
     if (prefix == null) {
-      return store.size();
-    }
-
-    int c = 0;
-
-    for (String key : store.keySet()) {
-      if (key.startsWith(prefix)) {
-        c++;
-      }
+      return store;
     }
+    return store.subMap(prefix + SEPARATOR, prefix + (char) (SEPARATOR + 1));
+  }
 
-    return c;
+  public int size() {
+    return entries().size();
   }
 
   public Set<String> names() {
@@ -141,15 +153,12 @@ public final class Context
       return Collections.unmodifiableSet(store.keySet());
     }
 
-    Set<String> matching = new HashSet<String>();
-    int l = prefix.length();
+    Set<String> matching = new LinkedHashSet<String>();
+    int l = prefix.length() + 1;
 
-    for (String key : store.keySet()) {
-      if (key.startsWith(prefix + ".")) {
-        // Strip off the prefix
-        key = key.substring(l + 1, key.length());
-        matching.add(key);
-      }
+    for (String key : entries().keySet()) {
+      // Strip off the prefix
+      matching.add(key.substring(l));
     }
 
     return Collections.unmodifiableSet(matching);
@@ -188,7 +197,6 @@ public final class Context
   // Helpers
   //
 
-  @SuppressWarnings({"unchecked"})
   public static Context create(final URL input) throws IOException {
     assert input != null;
 
@@ -205,7 +213,12 @@ public final class Context
       in.close();
     }
 
-    Context ctx = new Context((Map) props, null);
+    SortedMap<String, String> store = new TreeMap<String, String>();
+    for (Map.Entry<Object, Object> entry : props.entrySet()) {
+      store.put((String) entry.getKey(), (String) entry.getValue());
+    }
+
+    Context ctx = new Context(store, null);
 
     return ctx;
   }
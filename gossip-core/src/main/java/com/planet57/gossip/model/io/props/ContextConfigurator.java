@@ -19,15 +19,22 @@ import org.slf4j.Logger;
 import com.planet57.gossip.Log;
 import com.planet57.gossip.model.ComponentFactory;
 
-import java.beans.PropertyEditor;
-import java.beans.PropertyEditorManager;
-import java.lang.reflect.Method;
-import java.util.HashMap;
+import java.lang.ref.Reference;
+import java.lang.ref.SoftReference;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+import javax.annotation.Nullable;
 
 /**
  * Configures components from {@link Context}
  *
+ * Uses the generated {@link ComponentConfigurator} for {@link Configurable} types when available,
+ * falling back to a cached reflective configurator.
+ *
  * @author <a href="mailto:jason@planet57.com">Jason Dillon</a>
  * @since 1.0
  */
@@ -35,87 +42,121 @@ public class ContextConfigurator
 {
   private static final Logger log = Log.getLogger(ContextConfigurator.class);
 
+  /**
+   * Suffix of generated configurator class names.
+   *
+   * @since 2.0.1
+   */
+  public static final String GENERATED_SUFFIX = "_Configurator";
+
+  /**
+   * Weakly keyed, and softly held as configurators reference their type; entries survive collections while memory
+   * allows, yet types and their class-loaders may still be collected.
+   */
+  private static final Map<Class<?>, Reference<Configurators>> configurators =
+      Collections.synchronizedMap(new WeakHashMap<Class<?>, Reference<Configurators>>());
+
+  /**
+   * Generated and reflective configurators for a type.
+   */
+  private static final class Configurators
+  {
+    @Nullable
+    final ComponentConfigurator generated;
+
+    final ComponentConfigurator reflective;
+
+    Configurators(final Class<?> type) {
+      this.generated = loadGenerated(type);
+      this.reflective = new ReflectiveConfigurator(type);
+    }
+  }
+
+  private static Configurators configurators(final Class<?> type) {
+    Reference<Configurators> ref = configurators.get(type);
+    Configurators result = ref != null ? ref.get() : null;
+    if (result == null) {
+      // racing threads may each create one; they are equivalent
+      result = new Configurators(type);
+      configurators.put(type, new SoftReference<Configurators>(result));
+    }
+    return result;
+  }
+
+  @Nullable
+  private static ComponentConfigurator loadGenerated(final Class<?> type) {
+    ClassLoader cl = type.getClassLoader();
+    if (cl == null) {
+      return null;
+    }
+    try {
+      Class<?> generated = cl.loadClass(type.getName() + GENERATED_SUFFIX);
+      log.trace("Using generated configurator: {}", generated);
+      return (ComponentConfigurator) generated.getDeclaredConstructor().newInstance();
+    }
+    catch (ClassNotFoundException e) {
+      return null;
+    }
+    catch (Exception e) {
+      log.warn("Failed to load generated configurator for: {}", type.getName(), e);
+      return null;
+    }
+  }
+
+  /**
+   * Create a new instance of the given type.
+   *
+   * @since 2.0.1
+   */
+  public static Object create(final Class<?> type) throws Exception {
+    assert type != null;
+
+    Configurators c = configurators(type);
+    if (c.generated != null) {
+      return c.generated.create();
+    }
+    return c.reflective.create();
+  }
+
   public void configure(final Object target, final Context config) throws Exception {
     assert target != null;
     assert config != null;
 
+    Configurators c = configurators(target.getClass());
+
+    // Nested names (ie. "renderer.pattern") configure the child component; visit each top-level name once
+    Set<String> names = new LinkedHashSet<String>();
     for (String name : config.names()) {
       // Get the first element of the name for the key
       int i = name.indexOf(".");
       if (i != -1) {
         name = name.substring(0, i);
       }
+      names.add(name);
+    }
 
+    for (String name : names) {
       String value = config.get(name);
 
       // Attempt to set the simple value
-      if (!maybeSet(target, name, value)) {
+      if (!maybeSet(c, target, name, value)) {
         // otherwise assume the value is class to build and inject
         Object obj = ComponentFactory.build(value, config.child(name));
-        Class type = obj.getClass();
-        name = getSetterName(name);
-
-        // find a method suitable to call
-        for (Method method : target.getClass().getMethods()) {
-          if (method.getName().equals(name)) {
-            Class[] args = method.getParameterTypes();
-            if (args.length == 1) {
-              for (Class arg : args) {
-                if (arg.isAssignableFrom(type)) {
-                  method.invoke(target, obj);
-                  break;
-                }
-              }
-            }
-          }
+
+        if (!(c.generated != null && c.generated.inject(target, name, obj)) && !c.reflective.inject(target, name, obj)) {
+          log.trace("Missing setter for component: {}", name);
         }
       }
     }
   }
 
-  private boolean maybeSet(final Object target, final String name, final String text) {
+  private boolean maybeSet(final Configurators c, final Object target, final String name, final String text) {
     assert target != null;
     assert name != null;
     assert text != null;
 
     try {
-      Method setter = selectSetter(target.getClass(), getSetterName(name));
-
-      if (setter != null) {
-        Class type = setter.getParameterTypes()[0];
-
-        log.trace("Setting '{}={}' via: {}", new Object[]{name, text, setter});
-
-        Object value = null;
-        if (type.isEnum()) {
-          //noinspection unchecked
-          value = selectEnum(type, text);
-        }
-        else if (type != String.class) {
-          PropertyEditor editor = PropertyEditorManager.findEditor(type);
-          if (editor != null) {
-            editor.setAsText(text);
-            value = editor.getValue();
-          }
-          else {
-            log.trace("Unable to convert value {} to {}", text, type);
-            return false;
-          }
-        }
-
-        if (value != null) {
-          log.trace("Converted value: {}", value);
-        }
-        else {
-          value = text;
-        }
-
-        setter.invoke(target, value);
-        return true;
-      }
-      else {
-        log.trace("Missing setter for: {}", text);
-      }
+      return (c.generated != null && c.generated.set(target, name, text)) || c.reflective.set(target, name, text);
     }
     catch (Exception e) {
       log.error("Failed to set '{}={}'", new Object[]{name, text, e});
@@ -123,48 +164,4 @@ public class ContextConfigurator
 
     return false;
   }
-
-  private Enum<?> selectEnum(final Class<Enum> type, final String name) {
-    assert type != null;
-    assert name != null;
-
-    for (Enum n : type.getEnumConstants()) {
-      if (n.name().equalsIgnoreCase(name)) {
-        return n;
-      }
-    }
-
-    throw new IllegalArgumentException("No enum const " + type + "." + name);
-  }
-
-  private Method selectSetter(final Class type, final String name) {
-    assert type != null;
-    assert name != null;
-
-    Map<Class, Method> setters = new HashMap<Class, Method>();
-    for (Method method : type.getMethods()) {
-      if (method.getName().equals(name) && method.getParameterTypes().length == 1) {
-        setters.put(method.getParameterTypes()[0], method);
-      }
-    }
-
-    Method setter = null;
-    if (setters.size() == 1) {
-      setter = setters.entrySet().iterator().next().getValue();
-    }
-    else if (setters.size() > 1) {
-      // Prefer the string setter if if there is one
-      setter = setters.get(String.class);
-    }
-
-    return setter;
-  }
-
-  private String getSetterName(final String name) {
-    assert name != null && name.length() != 0;
-
-    return "set" +
-        Character.toTitleCase(name.charAt(0)) +
-        name.substring(1);
-  }
-}
\ No newline at end of file
+}
@@ -0,0 +1,185 @@
+/*
+ * Copyright (c) 2009-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.planet57.gossip.model.io.props;
+
+import com.planet57.gossip.Log;
+import org.slf4j.Logger;
+
+import java.beans.PropertyEditor;
+import java.beans.PropertyEditorManager;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.annotation.Nullable;
+
+/**
+ * Reflective {@link ComponentConfigurator}, used for types without a generated configurator.
+ *
+ * Setters and the default constructor are resolved once per type.
+ *
+ * @since 2.0.1
+ */
+final class ReflectiveConfigurator
+    extends ComponentConfiguratorSupport
+{
+  private static final Logger log = Log.getLogger(ReflectiveConfigurator.class);
+
+  private final Class<?> type;
+
+  private volatile Constructor<?> constructor;
+
+  private volatile Map<String, List<Method>> setters;
+
+  ReflectiveConfigurator(final Class<?> type) {
+    assert type != null;
+    this.type = type;
+  }
+
+  public Object create() throws Exception {
+    Constructor<?> ctor = constructor;
+    if (ctor == null) {
+      ctor = type.getConstructor();
+      constructor = ctor;
+    }
+    return ctor.newInstance();
+  }
+
+  public boolean set(final Object target, final String name, final String text) throws Exception {
+    assert target != null;
+    assert name != null;
+    assert text != null;
+
+    Method setter = selectSetter(name);
+    if (setter == null) {
+      log.trace("Missing setter for: {}", name);
+      return false;
+    }
+
+    Class<?> type = setter.getParameterTypes()[0];
+
+    log.trace("Setting '{}={}' via: {}", new Object[]{name, text, setter});
+
+    Object value = convert(type, text);
+    if (value == null) {
+      log.trace("Unable to convert value {} to {}", text, type);
+      return false;
+    }
+
+    setter.invoke(target, value);
+    return true;
+  }
+
+  public boolean inject(final Object target, final String name, final Object component) throws Exception {
+    assert target != null;
+    assert name != null;
+    assert component != null;
+
+    List<Method> candidates = setters().get(getSetterName(name));
+    if (candidates != null) {
+      for (Method method : candidates) {
+        if (method.getParameterTypes()[0].isInstance(component)) {
+          method.invoke(target, component);
+          return true;
+        }
+      }
+    }
+
+    return false;
+  }
+
+  @SuppressWarnings("unchecked")
+  @Nullable
+  private static Object convert(final Class<?> type, final String text) {
+    if (type == String.class) {
+      return text;
+    }
+    if (type.isEnum()) {
+      return toEnum((Class) type, text);
+    }
+    if (type == boolean.class || type == Boolean.class) {
+      return toBoolean(text);
+    }
+    if (type == int.class || type == Integer.class) {
+      return toInt(text);
+    }
+    if (type == long.class || type == Long.class) {
+      return toLong(text);
+    }
+
+    // Editors are stateful, so one is needed per conversion
+    PropertyEditor editor = PropertyEditorManager.findEditor(type);
+    if (editor != null) {
+      editor.setAsText(text);
+      return editor.getValue();
+    }
+    return null;
+  }
+
+  /**
+   * Select the setter for a simple property; when overloaded prefer the string setter.
+   */
+  @Nullable
+  private Method selectSetter(final String name) {
+    List<Method> candidates = setters().get(getSetterName(name));
+    if (candidates == null) {
+      return null;
+    }
+    if (candidates.size() == 1) {
+      return candidates.get(0);
+    }
+    for (Method method : candidates) {
+      if (method.getParameterTypes()[0] == String.class) {
+        return method;
+      }
+    }
+    return null;
+  }
+
+  private static String getSetterName(final String name) {
+    assert name != null && name.length() != 0;
+
+    return "set" +
+        Character.toTitleCase(name.charAt(0)) +
+        name.substring(1);
+  }
+
+  /**
+   * Returns single-argument setters by method name.
+   */
+  private Map<String, List<Method>> setters() {
+    Map<String, List<Method>> result = setters;
+    if (result == null) {
+      result = new HashMap<String, List<Method>>();
+      for (Method method : type.getMethods()) {
+        String name = method.getName();
+        if (name.startsWith("set") && method.getParameterTypes().length == 1) {
+          List<Method> candidates = result.get(name);
+          if (candidates == null) {
+            candidates = new ArrayList<Method>(1);
+            result.put(name, candidates);
+          }
+          candidates.add(method);
+        }
+      }
+      setters = result;
+    }
+    return result;
+  }
+}
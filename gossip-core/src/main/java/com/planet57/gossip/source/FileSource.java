@@ -17,6 +17,7 @@ package com.planet57.gossip.source;
 
 import com.planet57.gossip.MissingPropertyException;
 import com.planet57.gossip.model.Model;
+import com.planet57.gossip.model.io.props.Configurable;
 
 import java.io.File;
 
@@ -26,8 +27,10 @@ import java.io.File;
  * @author <a href="mailto:jason@planet57.com">Jason Dillon</a>
  * @since 1.0
  */
+@Configurable
 public class FileSource
     extends SourceSupport
+    implements Fingerprintable
 {
   private File file;
 
@@ -52,6 +55,14 @@ public class FileSource
     return load(file);
   }
 
+  public void fingerprint(final Fingerprint fingerprint) throws Exception {
+    if (file == null) {
+      throw new MissingPropertyException("file");
+    }
+
+    fingerprint.add(file);
+  }
+
   @Override
   public String toString() {
     return getClass().getSimpleName() + "{" +
@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2009-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.planet57.gossip.source;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UnsupportedEncodingException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+import javax.annotation.Nullable;
+
+/**
+ * Digest of the inputs configuration is resolved from.
+ *
+ * Files contribute their path, modification time, length and content; missing inputs contribute a marker so
+ * that their later appearance changes the fingerprint.  Without content, only file metadata and URLs are
+ * considered, which is cheap enough to poll.
+ *
+ * @since 2.0.1
+ */
+public final class Fingerprint
+{
+  private static final String MISSING = "\0missing";
+
+  private final MessageDigest digest;
+
+  private final boolean content;
+
+  public Fingerprint(final boolean content) {
+    this.content = content;
+    try {
+      digest = MessageDigest.getInstance("SHA-1");
+    }
+    catch (NoSuchAlgorithmException e) {
+      throw new Error(e);
+    }
+  }
+
+  public Fingerprint() {
+    this(true);
+  }
+
+  public Fingerprint add(final String name, @Nullable final String value) {
+    assert name != null;
+    update(name);
+    update(value != null ? value : MISSING);
+    return this;
+  }
+
+  public Fingerprint add(final File file) throws IOException {
+    assert file != null;
+    update(file.getAbsolutePath());
+
+    if (!file.isFile()) {
+      update(MISSING);
+      return this;
+    }
+
+    update(String.valueOf(file.lastModified()));
+    update(String.valueOf(file.length()));
+    if (content) {
+      update(new FileInputStream(file));
+    }
+    return this;
+  }
+
+  public Fingerprint add(@Nullable final URL url) throws IOException {
+    if (url == null) {
+      update(MISSING);
+      return this;
+    }
+
+    if ("file".equals(url.getProtocol())) {
+      try {
+        return add(new File(url.toURI()));
+      }
+      catch (URISyntaxException e) {
+        // fall through and read it as any other url
+      }
+    }
+
+    update(url.toExternalForm());
+    if (content) {
+      update(url.openStream());
+    }
+    return this;
+  }
+
+  /**
+   * Returns the fingerprint as a hex string; no further inputs may be added.
+   */
+  public String digest() {
+    StringBuilder buff = new StringBuilder();
+    for (byte b : digest.digest()) {
+      buff.append(Character.forDigit((b >> 4) & 0xf, 16));
+      buff.append(Character.forDigit(b & 0xf, 16));
+    }
+    return buff.toString();
+  }
+
+  private void update(final String value) {
+    try {
+      digest.update(value.getBytes("UTF-8"));
+    }
+    catch (UnsupportedEncodingException e) {
+      throw new Error(e);
+    }
+    // separate values so adjacent inputs can not run together
+    digest.update((byte) 0);
+  }
+
+  private void update(final InputStream input) throws IOException {
+    try {
+      byte[] buff = new byte[4096];
+      int n;
+      while ((n = input.read(buff)) != -1) {
+        digest.update(buff, 0, n);
+      }
+    }
+    finally {
+      input.close();
+    }
+    digest.update((byte) 0);
+  }
+}
@@ -0,0 +1,31 @@
+/*
+ * Copyright (c) 2009-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.planet57.gossip.source;
+
+/**
+ * A {@link Source} which can describe the inputs it loads from.
+ *
+ * Only when all sources are fingerprintable can the resolved configuration be cached between runs.
+ *
+ * @since 2.0.1
+ */
+public interface Fingerprintable
+{
+  /**
+   * Add the inputs which {@link Source#load()} would read, including those which are missing.
+   */
+  void fingerprint(Fingerprint fingerprint) throws Exception;
+}
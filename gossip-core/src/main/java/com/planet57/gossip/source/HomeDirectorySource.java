@@ -17,6 +17,7 @@ package com.planet57.gossip.source;
 
 import com.planet57.gossip.MissingPropertyException;
 import com.planet57.gossip.model.Model;
+import com.planet57.gossip.model.io.props.Configurable;
 
 import java.io.File;
 
@@ -26,8 +27,10 @@ import java.io.File;
  * @author <a href="mailto:jason@planet57.com">Jason Dillon</a>
  * @since 1.0
  */
+@Configurable
 public class HomeDirectorySource
     extends SourceSupport
+    implements Fingerprintable
 {
   private String path;
 
@@ -39,15 +42,21 @@ public class HomeDirectorySource
     return path;
   }
 
-  public Model load() throws Exception {
+  private File getFile() {
     if (path == null) {
       throw new MissingPropertyException("path");
     }
 
     File homeDir = new File(System.getProperty("user.home"));
-    File file = new File(homeDir, path);
+    return new File(homeDir, path);
+  }
+
+  public Model load() throws Exception {
+    return load(getFile());
+  }
 
-    return load(file);
+  public void fingerprint(final Fingerprint fingerprint) throws Exception {
+    fingerprint.add(getFile());
   }
 
   @Override
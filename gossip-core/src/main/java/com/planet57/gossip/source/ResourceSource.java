@@ -17,17 +17,22 @@ package com.planet57.gossip.source;
 
 import com.planet57.gossip.MissingPropertyException;
 import com.planet57.gossip.model.Model;
+import com.planet57.gossip.model.io.props.Configurable;
 
 import java.net.URL;
 
+import javax.annotation.Nullable;
+
 /**
  * Resource-based configuration source.
  *
  * @author <a href="mailto:jason@planet57.com">Jason Dillon</a>
  * @since 1.0
  */
+@Configurable
 public class ResourceSource
     extends SourceSupport
+    implements Fingerprintable
 {
   public static enum ClassLoaderType
   {
@@ -81,13 +86,12 @@ public class ResourceSource
     this.classLoader = cl;
   }
 
-  public Model load() throws Exception {
+  @Nullable
+  private URL resolve() {
     if (name == null) {
       throw new MissingPropertyException("name");
     }
 
-    Model model = null;
-
     ClassLoader cl = getClassLoader();
     assert cl != null;
 
@@ -102,6 +106,13 @@ public class ResourceSource
       url = cl.getResource(name);
     }
 
+    return url;
+  }
+
+  public Model load() throws Exception {
+    Model model = null;
+    URL url = resolve();
+
     if (url == null) {
       log.trace("Unable to load; missing resource: {}", name);
     }
@@ -113,6 +124,10 @@ public class ResourceSource
     return model;
   }
 
+  public void fingerprint(final Fingerprint fingerprint) throws Exception {
+    fingerprint.add("resource", name).add(resolve());
+  }
+
   @Override
   public String toString() {
     return getClass().getSimpleName() + "{" +
@@ -18,6 +18,7 @@ package com.planet57.gossip.source;
 import com.planet57.gossip.ConfigurationException;
 import com.planet57.gossip.MissingPropertyException;
 import com.planet57.gossip.model.Model;
+import com.planet57.gossip.model.io.props.Configurable;
 
 import java.io.File;
 import java.net.MalformedURLException;
@@ -29,8 +30,10 @@ import java.net.URL;
  * @author <a href="mailto:jason@planet57.com">Jason Dillon</a>
  * @since 1.0
  */
+@Configurable
 public class SystemPropertySource
     extends SourceSupport
+    implements Fingerprintable
 {
   public SystemPropertySource() {}
 
@@ -48,18 +51,10 @@ public class SystemPropertySource
     return name;
   }
 
-  public Model load() throws Exception {
-    if (name == null) {
-      throw new MissingPropertyException("name");
-    }
-
-    String value = System.getProperty(name);
-
-    if (value == null) {
-      log.trace("Unable to load; property not set: {}", name);
-      return null;
-    }
-
+  /**
+   * Resolve the property value to a URL.
+   */
+  private URL resolve(final String value) throws MalformedURLException {
     URL url = null;
     try {
       url = new URL(value);
@@ -76,7 +71,35 @@ public class SystemPropertySource
       throw new ConfigurationException("Unable to load; unable to resolve target: " + value);
     }
 
-    return load(url);
+    return url;
+  }
+
+  public Model load() throws Exception {
+    if (name == null) {
+      throw new MissingPropertyException("name");
+    }
+
+    String value = System.getProperty(name);
+
+    if (value == null) {
+      log.trace("Unable to load; property not set: {}", name);
+      return null;
+    }
+
+    return load(resolve(value));
+  }
+
+  public void fingerprint(final Fingerprint fingerprint) throws Exception {
+    if (name == null) {
+      throw new MissingPropertyException("name");
+    }
+
+    String value = System.getProperty(name);
+    fingerprint.add(name, value);
+
+    if (value != null) {
+      fingerprint.add(resolve(value));
+    }
   }
 
   @Override
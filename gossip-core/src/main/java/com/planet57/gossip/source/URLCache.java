@@ -0,0 +1,231 @@
+/*
+ * Copyright (c) 2009-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.planet57.gossip.source;
+
+import com.planet57.gossip.Log;
+import org.slf4j.Logger;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.net.URLConnection;
+import java.util.Arrays;
+import java.util.Properties;
+
+import javax.annotation.Nullable;
+
+/**
+ * Local copy of a remote configuration, with the validators needed for conditional revalidation.
+ *
+ * The content is stored as-is in the cache file; validators are kept next to it in a {@code .meta} properties file.
+ *
+ * @since 2.0.1
+ */
+final class URLCache
+{
+  private static final Logger log = Log.getLogger(URLCache.class);
+
+  private static final String URL = "url";
+
+  private static final String ETAG = "etag";
+
+  private static final String LAST_MODIFIED = "lastModified";
+
+  private final URL url;
+
+  private final File file;
+
+  private final File metaFile;
+
+  URLCache(final URL url, final File file) {
+    assert url != null;
+    assert file != null;
+    this.url = url;
+    this.file = file;
+    this.metaFile = new File(file.getPath() + ".meta");
+  }
+
+  public File getFile() {
+    return file;
+  }
+
+  /**
+   * Returns true if there is a cached copy for the configured URL.
+   */
+  public boolean exists() {
+    if (!file.isFile()) {
+      return false;
+    }
+    Properties meta = readMeta();
+    return meta != null && url.toExternalForm().equals(meta.getProperty(URL));
+  }
+
+  /**
+   * Fetch the URL, conditionally if there is a cached copy, and update the cache.
+   *
+   * @return True if the cached content changed.
+   */
+  public boolean refresh() throws IOException {
+    Properties meta = exists() ? readMeta() : null;
+    String etag = null;
+    long lastModified = 0;
+    if (meta != null) {
+      etag = meta.getProperty(ETAG);
+      lastModified = Long.parseLong(meta.getProperty(LAST_MODIFIED, "0"));
+    }
+
+    URLConnection conn = url.openConnection();
+    conn.setUseCaches(false);
+    if (etag != null) {
+      conn.setRequestProperty("If-None-Match", etag);
+    }
+    if (lastModified != 0) {
+      conn.setIfModifiedSince(lastModified);
+    }
+    conn.connect();
+
+    if (conn instanceof HttpURLConnection) {
+      HttpURLConnection http = (HttpURLConnection) conn;
+      int status = http.getResponseCode();
+      if (status == HttpURLConnection.HTTP_NOT_MODIFIED && meta != null) {
+        log.trace("Not modified: {}", url);
+        http.disconnect();
+        return false;
+      }
+      if (status != HttpURLConnection.HTTP_OK) {
+        http.disconnect();
+        throw new IOException("Unexpected response " + status + " for: " + url);
+      }
+    }
+    else if (meta != null && lastModified != 0 && conn.getLastModified() == lastModified) {
+      // Non-HTTP connections ignore conditional headers; compare the timestamp ourselves
+      log.trace("Not modified: {}", url);
+      conn.getInputStream().close();
+      return false;
+    }
+
+    byte[] content = read(conn.getInputStream());
+    boolean changed = meta == null || !Arrays.equals(content, read(new FileInputStream(file)));
+
+    if (changed) {
+      log.debug("Caching {} in: {}", url, file);
+      write(file, content);
+    }
+
+    Properties update = new Properties();
+    update.setProperty(URL, url.toExternalForm());
+    String newEtag = conn.getHeaderField("ETag");
+    if (newEtag != null) {
+      update.setProperty(ETAG, newEtag);
+    }
+    update.setProperty(LAST_MODIFIED, String.valueOf(conn.getLastModified()));
+    ByteArrayOutputStream buff = new ByteArrayOutputStream();
+    update.store(buff, null);
+    write(metaFile, buff.toByteArray());
+
+    return changed;
+  }
+
+  /**
+   * Discard the cached copy.
+   */
+  public void delete() {
+    if (file.exists() && !file.delete()) {
+      log.warn("Unable to delete cache file: {}", file);
+    }
+    if (metaFile.exists() && !metaFile.delete()) {
+      log.warn("Unable to delete cache file: {}", metaFile);
+    }
+  }
+
+  @Nullable
+  private Properties readMeta() {
+    if (!metaFile.isFile()) {
+      return null;
+    }
+    try {
+      InputStream in = new FileInputStream(metaFile);
+      try {
+        Properties props = new Properties();
+        props.load(in);
+        return props;
+      }
+      finally {
+        in.close();
+      }
+    }
+    catch (IOException e) {
+      log.warn("Unable to read cache metadata: {}", metaFile, e);
+      return null;
+    }
+  }
+
+  private static byte[] read(final InputStream input) throws IOException {
+    try {
+      ByteArrayOutputStream output = new ByteArrayOutputStream();
+      byte[] buff = new byte[4096];
+      int n;
+      while ((n = input.read(buff)) != -1) {
+        output.write(buff, 0, n);
+      }
+      return output.toByteArray();
+    }
+    finally {
+      input.close();
+    }
+  }
+
+  /**
+   * Write to a temporary file then rename, so readers never see a partial file.
+   */
+  private static void write(final File target, final byte[] content) throws IOException {
+    File dir = target.getAbsoluteFile().getParentFile();
+    if (!dir.isDirectory() && !dir.mkdirs()) {
+      throw new IOException("Unable to create directory: " + dir);
+    }
+
+    File tmp = File.createTempFile(target.getName(), ".tmp", dir);
+    OutputStream output = new FileOutputStream(tmp);
+    try {
+      output.write(content);
+    }
+    finally {
+      output.close();
+    }
+
+    if (!tmp.renameTo(target)) {
+      // Windows will not rename over an existing file
+      if (!target.delete() || !tmp.renameTo(target)) {
+        tmp.delete();
+        throw new IOException("Unable to replace: " + target);
+      }
+    }
+  }
+
+  @Override
+  public String toString() {
+    return getClass().getSimpleName() + "{" +
+        "url=" + url +
+        ", file=" + file +
+        '}';
+  }
+}
@@ -15,23 +15,40 @@
  */
 package com.planet57.gossip.source;
 
+import com.planet57.gossip.Gossip;
 import com.planet57.gossip.MissingPropertyException;
 import com.planet57.gossip.model.Model;
+import com.planet57.gossip.model.io.props.Configurable;
 
+import java.io.File;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * URL configuration source.
  *
+ * If a {@link #setCacheFile cache file} is configured, the last good copy of the configuration is kept there and
+ * used immediately on startup; the URL is then revalidated in the background (conditionally, using the stored
+ * {@code ETag}/{@code Last-Modified} validators) and Gossip is reconfigured if the content changed.
+ *
  * @author <a href="mailto:jason@planet57.com">Jason Dillon</a>
  * @since 1.0
  */
+@Configurable
 public class URLSource
     extends SourceSupport
 {
+  /**
+   * Cache files which have already been revalidated by this process.
+   */
+  private static final ConcurrentMap<String, Boolean> revalidated = new ConcurrentHashMap<String, Boolean>();
+
   private URL url;
 
+  private File cacheFile;
+
   public void setUrl(final URL url) {
     this.url = url;
   }
@@ -45,18 +62,86 @@ public class URLSource
     return url;
   }
 
+  /**
+   * @since 2.0.1
+   */
+  public void setCacheFile(final File file) {
+    this.cacheFile = file;
+  }
+
+  /**
+   * @since 2.0.1
+   */
+  public void setCacheFile(final String fileName) {
+    assert fileName != null;
+    setCacheFile(new File(fileName.trim()));
+  }
+
+  /**
+   * @since 2.0.1
+   */
+  public File getCacheFile() {
+    return cacheFile;
+  }
+
   public Model load() throws Exception {
     if (url == null) {
       throw new MissingPropertyException("url");
     }
 
-    return load(url);
+    if (cacheFile == null) {
+      return load(url);
+    }
+
+    final URLCache cache = new URLCache(url, cacheFile);
+    boolean first = revalidated.putIfAbsent(cacheFile.getAbsolutePath(), Boolean.TRUE) == null;
+
+    if (cache.exists()) {
+      try {
+        Model model = load(cache.getFile());
+        if (first) {
+          revalidate(cache);
+        }
+        return model;
+      }
+      catch (Exception e) {
+        log.warn("Discarding unreadable cached configuration: {}", cache.getFile(), e);
+        cache.delete();
+      }
+    }
+
+    // Nothing usable cached; fetch now and seed the cache
+    cache.refresh();
+    return load(cache.getFile());
+  }
+
+  private void revalidate(final URLCache cache) {
+    assert cache != null;
+
+    Thread thread = new Thread("gossip-revalidate")
+    {
+      @Override
+      public void run() {
+        try {
+          if (cache.refresh()) {
+            log.debug("Configuration changed; reconfiguring: {}", url);
+            Gossip.getInstance().reconfigure();
+          }
+        }
+        catch (Exception e) {
+          log.warn("Failed to revalidate; continuing with cached configuration: {}", url, e);
+        }
+      }
+    };
+    thread.setDaemon(true);
+    thread.start();
   }
 
   @Override
   public String toString() {
     return getClass().getSimpleName() + "{" +
         "url=" + url +
+        ", cacheFile=" + cacheFile +
         '}';
   }
 }
\ No newline at end of file
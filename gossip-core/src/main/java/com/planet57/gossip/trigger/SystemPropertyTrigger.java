@@ -15,12 +15,15 @@
  */
 package com.planet57.gossip.trigger;
 
+import com.planet57.gossip.model.io.props.Configurable;
+
 /**
  * Triggers activation when a system property is set.
  *
  * @author <a href="mailto:jason@planet57.com">Jason Dillon</a>
  * @since 1.0
  */
+@Configurable
 public class SystemPropertyTrigger
     extends NameValueTriggerSupport
 {
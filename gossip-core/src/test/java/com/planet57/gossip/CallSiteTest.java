@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2009-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.planet57.gossip;
+
+import com.planet57.gossip.Gossip.LoggerImpl;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link CallSite}.
+ */
+public class CallSiteTest
+{
+  private Gossip gossip;
+
+  @Before
+  public void setUp() {
+    gossip = Gossip.getInstance();
+    assertTrue(gossip.awaitConfiguration(10, TimeUnit.SECONDS));
+  }
+
+  @Test
+  public void testLevelChange() {
+    LoggerImpl logger = gossip.getLogger("call.site.test.level");
+    CallSite site = CallSite.of(logger, Level.DEBUG, "value: {}");
+    assertFalse(site.isEnabled());
+    assertFalse(site.isEnabled());
+
+    logger.setLevel(Level.DEBUG);
+    try {
+      assertTrue(site.isEnabled());
+      site.log(1);
+      site.log(2);
+      assertEquals(2, site.getCount());
+    }
+    finally {
+      logger.setLevel(null);
+    }
+
+    assertFalse(site.isEnabled());
+    site.log(3);
+    assertEquals(2, site.getCount());
+  }
+
+  @Test
+  public void testParentLevelChange() {
+    LoggerImpl parent = gossip.getLogger("call.site.test.parent");
+    CallSite site = CallSite.of(gossip.getLogger("call.site.test.parent.child"), Level.DEBUG, "child");
+    assertFalse(site.isEnabled());
+
+    parent.setLevel(Level.TRACE);
+    try {
+      assertTrue(site.isEnabled());
+    }
+    finally {
+      parent.setLevel(null);
+    }
+
+    assertFalse(site.isEnabled());
+  }
+
+  @Test
+  public void testThreadLevel() {
+    CallSite site = CallSite.of(gossip.getLogger("call.site.test.thread"), Level.TRACE, "thread");
+    assertFalse(site.isEnabled());
+
+    Gossip.ThreadLevel handle = Gossip.withThreadLevel(Level.TRACE, "call.site.test");
+    try {
+      assertTrue(site.isEnabled());
+    }
+    finally {
+      handle.restore();
+    }
+
+    assertFalse(site.isEnabled());
+  }
+
+  @Test
+  public void testIdentity() {
+    LoggerImpl logger = gossip.getLogger("call.site.test.identity");
+    CallSite a = CallSite.of(logger, Level.INFO, "same");
+    CallSite b = CallSite.of(logger, Level.INFO, "same");
+    assertTrue(a.getId() != b.getId());
+    assertEquals(a.getId(), a.getId());
+  }
+}
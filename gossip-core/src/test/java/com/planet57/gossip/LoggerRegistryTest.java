@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2009-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.planet57.gossip;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for the {@link Gossip} logger registry.
+ */
+public class LoggerRegistryTest
+{
+  private Gossip gossip;
+
+  @Before
+  public void setUp() {
+    gossip = Gossip.getInstance();
+    assertTrue(gossip.awaitConfiguration(10, TimeUnit.SECONDS));
+  }
+
+  @Test
+  public void testDefaultRootLevel() {
+    // the root logger is created while initializing INSTANCE; its level must not be null
+    assertEquals(Level.WARN, gossip.getRoot().getEffectiveLevel());
+    assertEquals(Level.WARN, gossip.getLogger("registry.test.unconfigured").getEffectiveLevel());
+  }
+
+  /**
+   * Collect garbage until the logger is reclaimed; bounded, as {@link System#gc()} is only a hint.
+   */
+  private static boolean awaitReclaimed(final Gossip gossip, final String name) throws InterruptedException {
+    for (int i = 0; i < 50; i++) {
+      System.gc();
+      if (!gossip.getLoggerNames().contains(name)) {
+        return true;
+      }
+      Thread.sleep(20);
+    }
+    return false;
+  }
+
+  private static Gossip weakGossip() {
+    Gossip gossip = new Gossip(true);
+    assertTrue(gossip.awaitConfiguration(10, TimeUnit.SECONDS));
+    return gossip;
+  }
+
+  @Test
+  public void testSizeAccounting() {
+    Gossip gossip = weakGossip();
+    int baseline = gossip.getRegistrySize();
+
+    // parents not yet created are held by placeholders
+    Gossip.LoggerImpl logger = gossip.getLogger("size.a.b.c");
+    assertEquals(baseline + 4, gossip.getRegistrySize());
+
+    // replaces its placeholder
+    Gossip.LoggerImpl parent = gossip.getLogger("size.a");
+    assertEquals(baseline + 4, gossip.getRegistrySize());
+    assertSame(parent, logger.getParent());
+
+    Gossip.LoggerImpl sibling = gossip.getLogger("size.a.x");
+    assertEquals(baseline + 5, gossip.getRegistrySize());
+    assertSame(parent, sibling.getParent());
+  }
+
+  @Test
+  public void testReclaimed() throws Exception {
+    Gossip gossip = weakGossip();
+    int baseline = gossip.getRegistrySize();
+
+    assertEquals("weak.test.a.b", gossip.getLogger("weak.test.a.b").getName());
+    assertEquals(baseline + 4, gossip.getRegistrySize());
+
+    // placeholders of parents go with it
+    assertTrue(awaitReclaimed(gossip, "weak.test.a.b"));
+    assertEquals(baseline, gossip.getRegistrySize());
+  }
+
+  @Test
+  public void testRecreatedKeepsLevel() throws Exception {
+    Gossip gossip = weakGossip();
+    Gossip.LoggerImpl parent = gossip.getLogger("weak.level");
+    parent.setLevel(Level.DEBUG);
+
+    assertEquals(Level.DEBUG, gossip.getLogger("weak.level.child").getEffectiveLevel());
+    assertTrue(awaitReclaimed(gossip, "weak.level.child"));
+
+    Gossip.LoggerImpl child = gossip.getLogger("weak.level.child");
+    assertSame(parent, child.getParent());
+    assertEquals(Level.DEBUG, child.getEffectiveLevel());
+  }
+
+  @Test
+  public void testPinnedSurvives() throws Exception {
+    Gossip gossip = weakGossip();
+    gossip.getLogger("weak.pinned").setLevel(Level.ERROR);
+
+    // once its unpinned sibling is reclaimed, a collection has run
+    assertEquals("weak.unpinned", gossip.getLogger("weak.unpinned").getName());
+    assertTrue(awaitReclaimed(gossip, "weak.unpinned"));
+
+    assertTrue(gossip.getLoggerNames().contains("weak.pinned"));
+    assertEquals(Level.ERROR, gossip.getLogger("weak.pinned").getLevel());
+  }
+}
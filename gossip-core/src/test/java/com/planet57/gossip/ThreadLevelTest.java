@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2009-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.planet57.gossip;
+
+import com.planet57.gossip.Gossip.LoggerImpl;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link Gossip#withThreadLevel}.
+ */
+public class ThreadLevelTest
+{
+  private Gossip gossip;
+
+  @Before
+  public void setUp() {
+    gossip = Gossip.getInstance();
+    assertTrue(gossip.awaitConfiguration(10, TimeUnit.SECONDS));
+  }
+
+  private static boolean isEnabledInThread(final LoggerImpl logger) throws Exception {
+    final AtomicBoolean result = new AtomicBoolean();
+    Thread thread = new Thread()
+    {
+      @Override
+      public void run() {
+        result.set(logger.isTraceEnabled());
+      }
+    };
+    thread.start();
+    thread.join();
+    return result.get();
+  }
+
+  @Test
+  public void testPrefixScope() throws Exception {
+    LoggerImpl inside = gossip.getLogger("thread.level.test.inside");
+    LoggerImpl sibling = gossip.getLogger("thread.level.testing");
+    assertFalse(inside.isTraceEnabled());
+
+    Gossip.ThreadLevel handle = Gossip.withThreadLevel(Level.TRACE, "thread.level.test");
+    try {
+      assertTrue(inside.isTraceEnabled());
+      assertFalse(sibling.isTraceEnabled());
+
+      // inherited by threads started within the scope
+      assertTrue(isEnabledInThread(inside));
+    }
+    finally {
+      handle.restore();
+    }
+
+    assertFalse(inside.isTraceEnabled());
+    assertFalse(isEnabledInThread(inside));
+  }
+
+  @Test
+  public void testNested() throws Exception {
+    LoggerImpl logger = gossip.getLogger("thread.level.nested");
+
+    Gossip.ThreadLevel outer = Gossip.withThreadLevel(Level.DEBUG, "*");
+    try {
+      assertTrue(logger.isDebugEnabled());
+      assertFalse(logger.isTraceEnabled());
+
+      Gossip.ThreadLevel inner = Gossip.withThreadLevel(Level.TRACE, "thread.level");
+      try {
+        assertTrue(logger.isTraceEnabled());
+      }
+      finally {
+        inner.restore();
+      }
+
+      assertFalse(logger.isTraceEnabled());
+      assertTrue(logger.isDebugEnabled());
+    }
+    finally {
+      outer.restore();
+    }
+
+    assertFalse(logger.isDebugEnabled());
+  }
+}
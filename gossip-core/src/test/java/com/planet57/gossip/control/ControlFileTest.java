@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2009-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.planet57.gossip.control;
+
+import org.junit.Test;
+
+import java.io.File;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for the {@link ControlFile} class.
+ */
+public class ControlFileTest
+{
+  @Test
+  public void testWriteAndRead() throws Exception {
+    File file = File.createTempFile("gossip", ".ctl");
+    file.delete();
+    try {
+      ControlFile writer = ControlFile.open(file);
+      ControlFile reader = ControlFile.open(file);
+      try {
+        assertEquals(0, reader.getGeneration());
+        assertTrue(reader.read().isEmpty());
+
+        Map<String, String> overrides = new LinkedHashMap<String, String>();
+        overrides.put("com.example", "DEBUG");
+        overrides.put("*", "INFO");
+        writer.write(overrides);
+
+        assertEquals(2, reader.getGeneration());
+        assertEquals(overrides, reader.read());
+
+        overrides.remove("*");
+        writer.write(overrides);
+        assertEquals(4, reader.getGeneration());
+        assertEquals(overrides, reader.read());
+      }
+      finally {
+        writer.close();
+        reader.close();
+      }
+    }
+    finally {
+      file.delete();
+    }
+  }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2009-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.planet57.gossip.listener;
+
+import com.planet57.gossip.Event;
+import com.planet57.gossip.Level;
+import com.planet57.gossip.Log;
+import com.planet57.gossip.LoggerSupport;
+import com.planet57.gossip.render.PatternRenderer;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.Marker;
+import org.slf4j.MarkerFactory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link ListenerSupport}.
+ */
+public class ListenerSupportTest
+{
+  private static class TestListener
+      extends ListenerSupport
+  {
+    public void onEvent(final Event event) {
+      // empty
+    }
+
+    boolean accepts(final Event event) {
+      return isLoggable(event);
+    }
+  }
+
+  private final Logger logger = Log.getLogger(ListenerSupportTest.class);
+
+  private Event event(final Marker marker) {
+    return new Event(LoggerSupport.FQCN, logger, Level.INFO, marker, "message", null, null);
+  }
+
+  @Test
+  public void testIncludeMarkers() {
+    Marker audit = MarkerFactory.getMarker("AUDIT");
+    Marker login = MarkerFactory.getMarker("AUDIT_LOGIN");
+    login.add(audit);
+
+    TestListener listener = new TestListener();
+    listener.setIncludeMarkers("AUDIT, SECURITY");
+
+    assertTrue(listener.accepts(event(audit)));
+    assertTrue(listener.accepts(event(login)));
+    assertFalse(listener.accepts(event(null)));
+    assertFalse(listener.accepts(event(MarkerFactory.getMarker("OTHER"))));
+  }
+
+  @Test
+  public void testExcludeMarkers() {
+    TestListener listener = new TestListener();
+    listener.setExcludeMarkers("NOISY");
+
+    assertTrue(listener.accepts(event(null)));
+    assertTrue(listener.accepts(event(MarkerFactory.getMarker("OTHER"))));
+    assertFalse(listener.accepts(event(MarkerFactory.getMarker("NOISY"))));
+  }
+
+  @Test
+  public void testRenderMarker() {
+    PatternRenderer renderer = new PatternRenderer("%marker|%m");
+    assertEquals("AUDIT|message", renderer.render(event(MarkerFactory.getMarker("AUDIT"))));
+    assertEquals("|message", renderer.render(event(null)));
+  }
+}
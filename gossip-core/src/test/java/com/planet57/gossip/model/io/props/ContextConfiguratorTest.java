@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2009-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.planet57.gossip.model.io.props;
+
+import java.io.File;
+
+import com.planet57.gossip.Level;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link ContextConfigurator}.
+ */
+public class ContextConfiguratorTest
+{
+  public static class Bean
+  {
+    int count;
+
+    boolean enabled;
+
+    Level level;
+
+    String file;
+
+    Bean child;
+
+    public void setCount(final int count) {
+      this.count = count;
+    }
+
+    public void setEnabled(final boolean enabled) {
+      this.enabled = enabled;
+    }
+
+    public void setLevel(final Level level) {
+      this.level = level;
+    }
+
+    public void setFile(final File file) {
+      this.file = "file:" + file;
+    }
+
+    public void setFile(final String file) {
+      this.file = file;
+    }
+
+    public void setChild(final Bean child) {
+      this.child = child;
+    }
+  }
+
+  @Test
+  public void testConfigure() throws Exception {
+    Context config = Context.create(getClass().getResource("configurator1.properties"));
+    Bean bean = (Bean) ContextConfigurator.create(Bean.class);
+    new ContextConfigurator().configure(bean, config);
+
+    assertEquals(16, bean.count);
+    assertTrue(bean.enabled);
+    assertEquals(Level.DEBUG, bean.level);
+    // string setter is preferred when overloaded
+    assertEquals("/tmp/gossip.log", bean.file);
+    assertNotNull(bean.child);
+    assertEquals(2, bean.child.count);
+  }
+}
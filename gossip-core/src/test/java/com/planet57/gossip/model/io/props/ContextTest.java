@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2009-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.planet57.gossip.model.io.props;
+
+import java.util.Arrays;
+import java.util.HashSet;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link Context}.
+ */
+public class ContextTest
+{
+  private Context load() throws Exception {
+    return Context.create(getClass().getResource("gossip1.properties"));
+  }
+
+  @Test
+  public void testChildNames() throws Exception {
+    Context profile = load().child("profile.config1");
+    Context loggers = profile.child("logger");
+
+    assertEquals(new HashSet<String>(Arrays.asList("foo", "bar")), loggers.names());
+    assertEquals(2, loggers.size());
+    assertEquals("DEBUG", loggers.get("foo"));
+  }
+
+  @Test
+  public void testSiblingWithSharedPrefixExcluded() throws Exception {
+    // "profile.config1.filters" must not show up under "profile.config1.filter"
+    Context filter = load().child("profile.config1.filter");
+
+    assertEquals(new HashSet<String>(Arrays.asList("0", "0.name", "0.renderer")), filter.names());
+    assertFalse(filter.names().contains("s"));
+    assertTrue(filter.child("0").contains("name"));
+    assertEquals(2, filter.child("0").size());
+  }
+}
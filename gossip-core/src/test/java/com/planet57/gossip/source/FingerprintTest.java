@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2009-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.planet57.gossip.source;
+
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for the {@link Fingerprint} class.
+ */
+public class FingerprintTest
+{
+  private static String fingerprint(final File file) throws Exception {
+    FileSource source = new FileSource();
+    source.setFile(file);
+
+    Fingerprint fingerprint = new Fingerprint();
+    source.fingerprint(fingerprint);
+    return fingerprint.digest();
+  }
+
+  private static void write(final File file, final String content) throws Exception {
+    OutputStream out = new FileOutputStream(file);
+    try {
+      out.write(content.getBytes("UTF-8"));
+    }
+    finally {
+      out.close();
+    }
+  }
+
+  @Test
+  public void testFileChanges() throws Exception {
+    File file = File.createTempFile("gossip", ".properties");
+    file.delete();
+    try {
+      String missing = fingerprint(file);
+      assertEquals(missing, fingerprint(file));
+
+      write(file, "version=1.0.0\n");
+      String created = fingerprint(file);
+      assertFalse(missing.equals(created));
+      assertEquals(created, fingerprint(file));
+
+      // same length and modification time, different content
+      long modified = file.lastModified();
+      write(file, "version=1.0.1\n");
+      file.setLastModified(modified);
+      assertFalse(created.equals(fingerprint(file)));
+    }
+    finally {
+      file.delete();
+    }
+  }
+
+  @Test
+  public void testValuesAreSeparated() throws Exception {
+    assertFalse(new Fingerprint().add("ab", "c").digest().equals(new Fingerprint().add("a", "bc").digest()));
+    assertFalse(new Fingerprint().add("a", null).digest().equals(new Fingerprint().add("a", "").digest()));
+  }
+}
@@ -18,6 +18,11 @@ package com.planet57.gossip.source;
 import com.planet57.gossip.model.Model;
 import org.junit.Test;
 
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.net.URL;
 
 import static org.junit.Assert.*;
@@ -38,4 +43,56 @@ public class URLSourceTest
     Model model = s.load();
     assertNotNull(model);
   }
-}
\ No newline at end of file
+
+  private static void copy(final URL source, final File target) throws IOException {
+    InputStream in = source.openStream();
+    OutputStream out = new FileOutputStream(target);
+    try {
+      byte[] buff = new byte[1024];
+      int n;
+      while ((n = in.read(buff)) != -1) {
+        out.write(buff, 0, n);
+      }
+    }
+    finally {
+      in.close();
+      out.close();
+    }
+  }
+
+  @Test
+  public void testCache() throws Exception {
+    File remote = File.createTempFile("remote", ".properties");
+    remote.deleteOnExit();
+    copy(getClass().getResource("config1.properties"), remote);
+
+    File cacheFile = File.createTempFile("cache", ".properties");
+    cacheFile.deleteOnExit();
+    cacheFile.delete();
+    new File(cacheFile.getPath() + ".meta").deleteOnExit();
+
+    URLSource s = new URLSource();
+    s.setUrl(remote.toURI().toURL());
+    s.setCacheFile(cacheFile);
+
+    // first load seeds the cache
+    Model model = s.load();
+    assertNotNull(model);
+    assertTrue(cacheFile.isFile());
+
+    URLCache cache = new URLCache(remote.toURI().toURL(), cacheFile);
+    assertTrue(cache.exists());
+    assertFalse(cache.refresh());
+
+    // change the remote content (and timestamp) and revalidate
+    OutputStream out = new FileOutputStream(remote, true);
+    out.write("\nprofile.config1.logger.baz=INFO\n".getBytes("ISO-8859-1"));
+    out.close();
+    remote.setLastModified(remote.lastModified() + 2000);
+    assertTrue(cache.refresh());
+    assertEquals(remote.length(), cacheFile.length());
+
+    // cache is for a different url
+    assertFalse(new URLCache(new URL("http://example.invalid/config.properties"), cacheFile).exists());
+  }
+}
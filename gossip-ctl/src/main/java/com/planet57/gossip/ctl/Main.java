@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) 2009-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.planet57.gossip.ctl;
+
+import com.planet57.gossip.Level;
+import com.planet57.gossip.control.ControlFile;
+
+import java.io.File;
+import java.io.PrintStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.annotation.Nullable;
+
+/**
+ * Changes logger levels of running processes through their {@link ControlFile}.
+ *
+ * Processes opt-in with {@code -Dcom.planet57.gossip.Gossip.controlFile=<file>}.
+ *
+ * @since 2.0.1
+ */
+public final class Main
+{
+  private static final int READ_ATTEMPTS = 100;
+
+  private Main() {
+    // empty
+  }
+
+  public static void main(final String[] args) throws Exception {
+    System.exit(run(args, System.out, System.err));
+  }
+
+  static int run(final String[] args, final PrintStream out, final PrintStream err) throws Exception {
+    if (args.length == 2 && "list".equals(args[1])) {
+      ControlFile control = ControlFile.open(new File(args[0]));
+      try {
+        for (Map.Entry<String, String> entry : read(control).entrySet()) {
+          out.println(entry.getKey() + "=" + entry.getValue());
+        }
+        return 0;
+      }
+      finally {
+        control.close();
+      }
+    }
+
+    Change change;
+    try {
+      change = parse(args);
+    }
+    catch (IllegalArgumentException e) {
+      err.println(e.getMessage());
+      return 2;
+    }
+    if (change == null) {
+      usage(err);
+      return 2;
+    }
+
+    ControlFile control = ControlFile.open(new File(args[0]));
+    try {
+      // read, change and write under the file lock, so concurrent invocations do not lose each other's changes
+      if (!control.update(change)) {
+        err.println("No override for: " + change.name);
+        return 1;
+      }
+      out.println("Generation: " + control.getGeneration());
+      return 0;
+    }
+    finally {
+      control.close();
+    }
+  }
+
+  /**
+   * Parse a command changing the overrides.
+   *
+   * @return {@code null} if the command is not recognized.
+   * @throws IllegalArgumentException if the level is invalid.
+   */
+  @Nullable
+  static Change parse(final String[] args) {
+    if (args.length < 2) {
+      return null;
+    }
+    String command = args[1];
+    if ("set".equals(command) && args.length == 4) {
+      Level level;
+      try {
+        level = Level.valueOf(args[3].toUpperCase());
+      }
+      catch (IllegalArgumentException e) {
+        throw new IllegalArgumentException("Invalid level: " + args[3]);
+      }
+      return new Change(command, args[2], level);
+    }
+    else if ("unset".equals(command) && args.length == 3) {
+      return new Change(command, args[2], null);
+    }
+    else if ("clear".equals(command) && args.length == 2) {
+      return new Change(command, null, null);
+    }
+    return null;
+  }
+
+  /**
+   * Change to the overrides requested by a command.
+   */
+  static final class Change
+      implements ControlFile.Update
+  {
+    final String command;
+
+    @Nullable
+    final String name;
+
+    @Nullable
+    final Level level;
+
+    Change(final String command, @Nullable final String name, @Nullable final Level level) {
+      this.command = command;
+      this.name = name;
+      this.level = level;
+    }
+
+    /**
+     * @return {@code false} when unsetting a logger without an override.
+     */
+    public boolean apply(final Map<String, String> overrides) {
+      if ("set".equals(command)) {
+        overrides.put(name, level.name());
+        return true;
+      }
+      else if ("unset".equals(command)) {
+        return overrides.remove(name) != null;
+      }
+      overrides.clear();
+      return true;
+    }
+  }
+
+  /**
+   * Read the current overrides, waiting out a concurrent write.
+   */
+  private static Map<String, String> read(final ControlFile control) throws InterruptedException {
+    for (int i = 0; i < READ_ATTEMPTS; i++) {
+      Map<String, String> overrides = control.read();
+      if (overrides != null) {
+        return new LinkedHashMap<String, String>(overrides);
+      }
+      Thread.sleep(10);
+    }
+    throw new IllegalStateException("Control file is being written; try again");
+  }
+
+  private static void usage(final PrintStream err) {
+    err.println("usage: gossip-ctl <control-file> <command> [args]");
+    err.println();
+    err.println("commands:");
+    err.println("  list                    list level overrides");
+    err.println("  set <logger> <level>    override level of logger; use * for the root logger");
+    err.println("  unset <logger>          remove level override of logger");
+    err.println("  clear                   remove all level overrides");
+  }
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2009-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.planet57.gossip.ctl;
+
+import com.planet57.gossip.Level;
+import com.planet57.gossip.control.ControlFile;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.PrintStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for the {@link Main} class.
+ */
+public class MainTest
+{
+  private File file;
+
+  private ByteArrayOutputStream out;
+
+  private ByteArrayOutputStream err;
+
+  @Before
+  public void setUp() throws Exception {
+    file = File.createTempFile("gossip", ".ctl");
+    file.delete();
+    out = new ByteArrayOutputStream();
+    err = new ByteArrayOutputStream();
+  }
+
+  @After
+  public void tearDown() {
+    file.delete();
+  }
+
+  private int run(final String... args) throws Exception {
+    String[] full = new String[args.length + 1];
+    full[0] = file.getPath();
+    System.arraycopy(args, 0, full, 1, args.length);
+    return Main.run(full, new PrintStream(out, true), new PrintStream(err, true));
+  }
+
+  private Map<String, String> overrides() throws Exception {
+    ControlFile control = ControlFile.open(file);
+    try {
+      return control.read();
+    }
+    finally {
+      control.close();
+    }
+  }
+
+  @Test
+  public void testParse() {
+    Main.Change change = Main.parse(new String[] { "x", "set", "com.example", "debug" });
+    assertEquals("set", change.command);
+    assertEquals("com.example", change.name);
+    assertEquals(Level.DEBUG, change.level);
+
+    change = Main.parse(new String[] { "x", "unset", "com.example" });
+    assertEquals("unset", change.command);
+    assertEquals("com.example", change.name);
+
+    assertEquals("clear", Main.parse(new String[] { "x", "clear" }).command);
+
+    assertNull(Main.parse(new String[] { "x" }));
+    assertNull(Main.parse(new String[] { "x", "set", "com.example" }));
+    assertNull(Main.parse(new String[] { "x", "bogus" }));
+
+    try {
+      Main.parse(new String[] { "x", "set", "com.example", "loud" });
+      fail();
+    }
+    catch (IllegalArgumentException e) {
+      assertEquals("Invalid level: loud", e.getMessage());
+    }
+  }
+
+  @Test
+  public void testApply() {
+    Map<String, String> overrides = new LinkedHashMap<String, String>();
+
+    assertTrue(Main.parse(new String[] { "x", "set", "a", "trace" }).apply(overrides));
+    assertTrue(Main.parse(new String[] { "x", "set", "*", "warn" }).apply(overrides));
+    assertEquals("TRACE", overrides.get("a"));
+    assertEquals("WARN", overrides.get("*"));
+
+    assertTrue(Main.parse(new String[] { "x", "unset", "a" }).apply(overrides));
+    assertFalse(Main.parse(new String[] { "x", "unset", "a" }).apply(overrides));
+    assertEquals(1, overrides.size());
+
+    assertTrue(Main.parse(new String[] { "x", "clear" }).apply(overrides));
+    assertTrue(overrides.isEmpty());
+  }
+
+  @Test
+  public void testWriteAndList() throws Exception {
+    assertEquals(0, run("set", "com.example", "debug"));
+    assertEquals(0, run("set", "*", "info"));
+
+    Map<String, String> expected = new LinkedHashMap<String, String>();
+    expected.put("com.example", "DEBUG");
+    expected.put("*", "INFO");
+    assertEquals(expected, overrides());
+
+    out.reset();
+    assertEquals(0, run("list"));
+    assertEquals("com.example=DEBUG" + System.getProperty("line.separator") + "*=INFO", out.toString().trim());
+
+    assertEquals(0, run("unset", "com.example"));
+    expected.remove("com.example");
+    assertEquals(expected, overrides());
+
+    assertEquals(1, run("unset", "com.example"));
+    assertEquals(0, run("clear"));
+    assertTrue(overrides().isEmpty());
+  }
+
+  @Test
+  public void testInvalid() throws Exception {
+    assertEquals(2, run("set", "com.example", "loud"));
+    assertEquals(2, run("bogus"));
+    assertFalse(file.exists());
+  }
+
+  @Test
+  public void testUpdateReadsLatestTable() throws Exception {
+    ControlFile first = ControlFile.open(file);
+    ControlFile second = ControlFile.open(file);
+    try {
+      // each update starts from the table as written by the other, not a copy read earlier
+      assertTrue(first.update(Main.parse(new String[] { "x", "set", "a", "debug" })));
+      assertTrue(second.update(Main.parse(new String[] { "x", "set", "b", "info" })));
+      assertTrue(first.update(Main.parse(new String[] { "x", "unset", "b" })));
+      assertFalse(second.update(Main.parse(new String[] { "x", "unset", "b" })));
+      assertEquals(6, second.getGeneration());
+    }
+    finally {
+      first.close();
+      second.close();
+    }
+
+    Map<String, String> expected = new LinkedHashMap<String, String>();
+    expected.put("a", "DEBUG");
+    assertEquals(expected, overrides());
+  }
+}
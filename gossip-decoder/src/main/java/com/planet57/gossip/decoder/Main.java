@@ -0,0 +1,186 @@
+/*
+ * Copyright (c) 2009-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.planet57.gossip.decoder;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import com.planet57.gossip.Event;
+import com.planet57.gossip.extra.listener.BinaryFileListener;
+import com.planet57.gossip.extra.render.BinaryDecoder;
+import com.planet57.gossip.extra.render.DecodedPatternRenderer;
+import com.planet57.gossip.extra.render.JsonRenderer;
+import com.planet57.gossip.render.Renderer;
+
+import javax.annotation.Nullable;
+
+/**
+ * Converts files written by {@link BinaryFileListener} to text or JSON.
+ *
+ * Files are decoded in parallel; each to a file of the same name with a {@code .log} or {@code .json} suffix.
+ *
+ * @since 2.0.1
+ */
+public final class Main
+{
+  public static final String DEFAULT_PATTERN = "%d [%t] [%l] %C - %m%f%n%x";
+
+  private Main() {
+    // empty
+  }
+
+  public static void main(final String[] args) throws Exception {
+    System.exit(run(args, System.out, System.err));
+  }
+
+  static int run(final String[] args, final PrintStream out, final PrintStream err) throws Exception {
+    boolean json = false;
+    String pattern = DEFAULT_PATTERN;
+    File dir = null;
+    int threads = Runtime.getRuntime().availableProcessors();
+    List<File> files = new ArrayList<File>();
+
+    for (int i = 0; i < args.length; i++) {
+      String arg = args[i];
+      if ("--json".equals(arg)) {
+        json = true;
+      }
+      else if ("--pattern".equals(arg) && i + 1 < args.length) {
+        pattern = args[++i];
+      }
+      else if ("--output".equals(arg) && i + 1 < args.length) {
+        dir = new File(args[++i]);
+      }
+      else if ("--threads".equals(arg) && i + 1 < args.length) {
+        try {
+          threads = Integer.parseInt(args[++i]);
+        }
+        catch (NumberFormatException e) {
+          threads = 0;
+        }
+        if (threads < 1) {
+          err.println("Invalid threads: " + args[i]);
+          return 2;
+        }
+      }
+      else if (arg.startsWith("--")) {
+        usage(err);
+        return 2;
+      }
+      else {
+        files.add(new File(arg));
+      }
+    }
+
+    if (files.isEmpty()) {
+      usage(err);
+      return 2;
+    }
+
+    ExecutorService executor = Executors.newFixedThreadPool(Math.min(threads, files.size()));
+    try {
+      List<Future<Integer>> results = new ArrayList<Future<Integer>>();
+      for (File file : files) {
+        File target = new File(dir != null ? dir : file.getAbsoluteFile().getParentFile(),
+            file.getName() + (json ? ".json" : ".log"));
+        results.add(executor.submit(new Decode(file, target, json ? null : pattern)));
+      }
+
+      int status = 0;
+      for (int i = 0; i < files.size(); i++) {
+        try {
+          out.println(files.get(i) + ": " + results.get(i).get() + " events");
+        }
+        catch (ExecutionException e) {
+          err.println(files.get(i) + ": " + e.getCause());
+          status = 1;
+        }
+      }
+      return status;
+    }
+    finally {
+      executor.shutdown();
+    }
+  }
+
+  /**
+   * Decode a file; returns the number of events.
+   */
+  private static final class Decode
+      implements Callable<Integer>
+  {
+    private final File source;
+
+    private final File target;
+
+    @Nullable
+    private final String pattern;
+
+    private Decode(final File source, final File target, @Nullable final String pattern) {
+      this.source = source;
+      this.target = target;
+      this.pattern = pattern;
+    }
+
+    public Integer call() throws IOException {
+      // renderers are per task; JsonRenderer buffers are per thread
+      Renderer renderer = pattern != null ? new DecodedPatternRenderer(pattern) : new JsonRenderer();
+      int count = 0;
+
+      BinaryDecoder decoder = new BinaryDecoder(new FileInputStream(source));
+      try {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(target), "UTF-8"));
+        try {
+          Event event;
+          while ((event = decoder.next()) != null) {
+            writer.write(renderer.render(event));
+            count++;
+          }
+        }
+        finally {
+          writer.close();
+        }
+      }
+      finally {
+        decoder.close();
+      }
+      return count;
+    }
+  }
+
+  private static void usage(final PrintStream err) {
+    err.println("usage: gossip-decoder [options] <file>...");
+    err.println();
+    err.println("options:");
+    err.println("  --json                  write JSON lines instead of text");
+    err.println("  --pattern <pattern>     pattern of text; default: " + DEFAULT_PATTERN);
+    err.println("  --output <dir>          directory to write to; default: next to each file");
+    err.println("  --threads <n>           files decoded at once; default: available processors");
+  }
+}
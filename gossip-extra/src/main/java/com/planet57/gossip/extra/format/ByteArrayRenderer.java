@@ -0,0 +1,36 @@
+/*
+ * Copyright (c) 2009-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.planet57.gossip.extra.format;
+
+import com.planet57.gossip.ArgumentRenderer;
+
+/**
+ * Renders {@code byte[]} as lower-case hex; ie. {@code 0aff}.
+ *
+ * @since 2.0.1
+ */
+public class ByteArrayRenderer
+    implements ArgumentRenderer<byte[]>
+{
+  private static final char[] DIGITS = "0123456789abcdef".toCharArray();
+
+  public void render(final byte[] value, final StringBuilder buff) {
+    buff.ensureCapacity(buff.length() + value.length * 2);
+    for (byte b : value) {
+      buff.append(DIGITS[(b >> 4) & 0xf]).append(DIGITS[b & 0xf]);
+    }
+  }
+}
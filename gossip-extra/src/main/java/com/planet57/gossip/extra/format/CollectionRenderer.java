@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2009-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.planet57.gossip.extra.format;
+
+import java.util.Collection;
+import java.util.Iterator;
+
+import com.planet57.gossip.ArgumentRenderer;
+import com.planet57.gossip.MessageTemplate;
+
+/**
+ * Renders {@link Collection} as {@link java.util.AbstractCollection#toString()} does, without intermediate strings.
+ *
+ * Elements are rendered as message arguments.
+ *
+ * @since 2.0.1
+ */
+public class CollectionRenderer
+    implements ArgumentRenderer<Collection<?>>
+{
+  public void render(final Collection<?> value, final StringBuilder buff) {
+    buff.append('[');
+    Iterator<?> iter = value.iterator();
+    while (iter.hasNext()) {
+      Object element = iter.next();
+      if (element == value) {
+        buff.append("(this Collection)");
+      }
+      else {
+        MessageTemplate.appendArgument(buff, element);
+      }
+      if (iter.hasNext()) {
+        buff.append(", ");
+      }
+    }
+    buff.append(']');
+  }
+}
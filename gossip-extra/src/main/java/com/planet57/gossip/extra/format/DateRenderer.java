@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2009-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.planet57.gossip.extra.format;
+
+import java.util.Date;
+
+import com.planet57.gossip.ArgumentRenderer;
+
+/**
+ * Renders {@link Date} as ISO-8601 in UTC, with milliseconds; ie. {@code 2011-12-03T10:15:30.123Z}.
+ *
+ * Fields are computed from the epoch time, without a {@link java.util.Calendar} or formatter.
+ *
+ * @since 2.0.1
+ */
+public class DateRenderer
+    implements ArgumentRenderer<Date>
+{
+  private static final long MILLIS_PER_DAY = 24 * 60 * 60 * 1000L;
+
+  public void render(final Date value, final StringBuilder buff) {
+    render(value.getTime(), buff);
+  }
+
+  static void render(final long time, final StringBuilder buff) {
+    long days = time / MILLIS_PER_DAY;
+    long millis = time % MILLIS_PER_DAY;
+    if (millis < 0) {
+      days--;
+      millis += MILLIS_PER_DAY;
+    }
+
+    // civil date from days since the epoch; proleptic gregorian, eras of 400 years
+    long z = days + 719468;
+    long era = (z >= 0 ? z : z - 146096) / 146097;
+    long doe = z - era * 146097;
+    long yoe = (doe - doe / 1460 + doe / 36524 - doe / 146096) / 365;
+    long doy = doe - (365 * yoe + yoe / 4 - yoe / 100);
+    long mp = (5 * doy + 2) / 153;
+    long day = doy - (153 * mp + 2) / 5 + 1;
+    long month = mp < 10 ? mp + 3 : mp - 9;
+    long year = yoe + era * 400 + (month <= 2 ? 1 : 0);
+
+    if (year < 0) {
+      buff.append('-');
+      year = -year;
+    }
+    pad(buff, year, 4).append('-');
+    pad(buff, month, 2).append('-');
+    pad(buff, day, 2).append('T');
+    pad(buff, millis / 3600000, 2).append(':');
+    pad(buff, millis / 60000 % 60, 2).append(':');
+    pad(buff, millis / 1000 % 60, 2).append('.');
+    pad(buff, millis % 1000, 3).append('Z');
+  }
+
+  private static StringBuilder pad(final StringBuilder buff, final long value, final int width) {
+    for (long limit = 10, i = 1; i < width; i++, limit *= 10) {
+      if (value < limit) {
+        buff.append('0');
+      }
+    }
+    return buff.append(value);
+  }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2009-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.planet57.gossip.extra.format;
+
+import java.util.Iterator;
+import java.util.Map;
+
+import com.planet57.gossip.ArgumentRenderer;
+import com.planet57.gossip.MessageTemplate;
+
+/**
+ * Renders {@link Map} as {@link java.util.AbstractMap#toString()} does, without intermediate strings.
+ *
+ * Keys and values are rendered as message arguments.
+ *
+ * @since 2.0.1
+ */
+public class MapRenderer
+    implements ArgumentRenderer<Map<?, ?>>
+{
+  public void render(final Map<?, ?> value, final StringBuilder buff) {
+    buff.append('{');
+    Iterator<? extends Map.Entry<?, ?>> iter = value.entrySet().iterator();
+    while (iter.hasNext()) {
+      Map.Entry<?, ?> entry = iter.next();
+      append(value, entry.getKey(), buff);
+      buff.append('=');
+      append(value, entry.getValue(), buff);
+      if (iter.hasNext()) {
+        buff.append(", ");
+      }
+    }
+    buff.append('}');
+  }
+
+  private static void append(final Map<?, ?> map, final Object value, final StringBuilder buff) {
+    if (value == map) {
+      buff.append("(this Map)");
+    }
+    else {
+      MessageTemplate.appendArgument(buff, value);
+    }
+  }
+}
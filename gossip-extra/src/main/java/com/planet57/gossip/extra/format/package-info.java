@@ -0,0 +1,26 @@
+/*
+ * Copyright (c) 2009-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+/**
+ * Extra message argument renderers.
+ *
+ * Renderers are opt-in; register them with {@link com.planet57.gossip.ArgumentRenderers}.
+ *
+ * @since 2.0.1
+ */
+@ParametersAreNonnullByDefault
+package com.planet57.gossip.extra.format;
+
+import javax.annotation.ParametersAreNonnullByDefault;
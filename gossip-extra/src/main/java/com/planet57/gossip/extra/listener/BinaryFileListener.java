@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2009-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.planet57.gossip.extra.listener;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.planet57.gossip.Event;
+import com.planet57.gossip.extra.render.BinaryRenderer;
+import com.planet57.gossip.listener.ListenerSupport;
+import com.planet57.gossip.model.io.props.Configurable;
+
+import javax.annotation.Nullable;
+
+/**
+ * Writes events to a file as binary records; see {@link BinaryRenderer}.
+ *
+ * Files are converted to text or JSON off-line with gossip-decoder.  When appending, a new header is written,
+ * so records written before are still decoded.
+ *
+ * @since 2.0.1
+ */
+@Configurable
+public class BinaryFileListener
+    extends ListenerSupport
+    implements Closeable
+{
+  public static final int DEFAULT_BUFFER_SIZE = 8192;
+
+  private static final Pattern PATTERN = Pattern.compile("\\$\\{([^}]+)\\}");
+
+  private final BinaryRenderer renderer = new BinaryRenderer();
+
+  private File file;
+
+  private boolean append;
+
+  private int bufferSize = DEFAULT_BUFFER_SIZE;
+
+  private OutputStream out;
+
+  private boolean closed;
+
+  public File getFile() {
+    return file;
+  }
+
+  public void setFile(final File file) {
+    this.file = file;
+  }
+
+  public void setFile(final String fileName) {
+    assert fileName != null;
+    setFile(new File(evaluate(fileName.trim())));
+  }
+
+  public boolean isAppend() {
+    return append;
+  }
+
+  public void setAppend(final boolean append) {
+    this.append = append;
+  }
+
+  public int getBufferSize() {
+    return bufferSize;
+  }
+
+  public void setBufferSize(final int n) {
+    this.bufferSize = n;
+  }
+
+  protected OutputStream createStream() throws IOException {
+    File file = getFile();
+    File dir = file.getParentFile();
+    if (dir != null && !dir.isDirectory() && !dir.mkdirs()) {
+      log.warn("Unable to create directory structure for: {}", file);
+    }
+
+    log.trace("Creating stream for file: {}", file);
+    OutputStream stream = new FileOutputStream(file, isAppend());
+
+    // Maybe buffer
+    if (bufferSize > 0) {
+      log.trace("Using buffer size: {}", bufferSize);
+      stream = new BufferedOutputStream(stream, bufferSize);
+    }
+
+    renderer.reset();
+    return stream;
+  }
+
+  public void onEvent(final Event event) throws Exception {
+    assert event != null;
+
+    if (!isLoggable(event)) {
+      return;
+    }
+
+    // the renderer holds per-stream state; encode and write together
+    synchronized (renderer) {
+      if (closed) {
+        return;
+      }
+      if (out == null) {
+        out = createStream();
+      }
+      renderer.render(event, out);
+      out.flush();
+    }
+  }
+
+  /**
+   * Close the file; events received after closing are discarded.
+   */
+  public void close() throws IOException {
+    synchronized (renderer) {
+      closed = true;
+      if (out != null) {
+        out.close();
+      }
+    }
+  }
+
+  protected String evaluate(@Nullable String input) {
+    if (input != null) {
+      Matcher matcher = PATTERN.matcher(input);
+
+      while (matcher.find()) {
+        String rep = System.getProperty(matcher.group(1));
+        if (rep != null) {
+          input = input.replace(matcher.group(0), rep);
+          matcher.reset(input);
+        }
+      }
+    }
+
+    return input;
+  }
+
+  @Override
+  public String toString() {
+    return getClass().getSimpleName() + "{" +
+        "append=" + append +
+        ", bufferSize=" + bufferSize +
+        ", file=" + file +
+        ", threshold=" + getThreshold() +
+        '}';
+  }
+}
@@ -19,6 +19,7 @@ import com.planet57.gossip.Log;
 import com.planet57.gossip.listener.CountingWriter;
 import com.planet57.gossip.listener.FileListener;
 import com.planet57.gossip.listener.FileListener.RollingStrategy;
+import com.planet57.gossip.model.io.props.Configurable;
 import org.slf4j.Logger;
 
 import java.io.File;
@@ -29,6 +30,7 @@ import java.io.File;
  * @author <a href="mailto:jason@planet57.com">Jason Dillon</a>
  * @since 1.6
  */
+@Configurable
 public class FileSizeRollingStrategy
     implements RollingStrategy
 {
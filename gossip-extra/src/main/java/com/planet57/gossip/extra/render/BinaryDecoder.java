@@ -0,0 +1,351 @@
+/*
+ * Copyright (c) 2009-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.planet57.gossip.extra.render;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.planet57.gossip.ContextMap;
+import com.planet57.gossip.Event;
+import com.planet57.gossip.Fields;
+import com.planet57.gossip.Level;
+import com.planet57.gossip.LoggerSupport;
+import com.planet57.gossip.MessageTemplate;
+import org.slf4j.IMarkerFactory;
+import org.slf4j.helpers.BasicMarkerFactory;
+
+import javax.annotation.Nullable;
+
+import static com.planet57.gossip.extra.render.BinaryRenderer.*;
+
+/**
+ * Decodes records written by {@link BinaryRenderer} back into events.
+ *
+ * Messages are formatted from their template and arguments; exceptions are restored as {@link DecodedThrowable}.
+ * Events are restored with loggers which log nothing, so they can be rendered, but not logged again.
+ *
+ * @since 2.0.1
+ */
+public class BinaryDecoder
+    implements Closeable
+{
+  private final DataInputStream in;
+
+  private final List<String> references = new ArrayList<String>();
+
+  private final Map<Integer, String> templates = new HashMap<Integer, String>();
+
+  private final Map<String, DecodedLogger> loggers = new HashMap<String, DecodedLogger>();
+
+  private final IMarkerFactory markers = new BasicMarkerFactory();
+
+  private boolean started;
+
+  private long timeStamp;
+
+  private byte[] bytes = new byte[256];
+
+  public BinaryDecoder(final InputStream in) {
+    if (in == null) {
+      throw new NullPointerException();
+    }
+    this.in = new DataInputStream(new BufferedInputStream(in));
+  }
+
+  /**
+   * Returns the next event; or null at the end of the stream.
+   *
+   * @throws EOFException if the stream ends within a record.
+   */
+  @Nullable
+  public Event next() throws IOException {
+    int tag;
+    while ((tag = in.read()) == MAGIC[0]) {
+      readHeader();
+    }
+    if (tag == -1) {
+      return null;
+    }
+    if (tag != EVENT) {
+      throw new IOException("Invalid record: " + tag);
+    }
+    if (!started) {
+      throw new IOException("Missing header");
+    }
+    return readEvent();
+  }
+
+  private void readHeader() throws IOException {
+    for (int i = 1; i < MAGIC.length; i++) {
+      if (in.readUnsignedByte() != MAGIC[i]) {
+        throw new IOException("Invalid header");
+      }
+    }
+    int version = in.readUnsignedByte();
+    if (version != VERSION) {
+      throw new IOException("Unsupported version: " + version);
+    }
+    references.clear();
+    templates.clear();
+    timeStamp = 0;
+    started = true;
+  }
+
+  private Event readEvent() throws IOException {
+    timeStamp += readSignedVarint();
+    Level level = Level.forId(in.readUnsignedByte());
+    String name = readRef();
+    String threadName = readRef();
+    int flags = in.readUnsignedByte();
+
+    String message;
+    if ((flags & (FLAG_TEMPLATE | FLAG_TEMPLATE_ID)) != 0) {
+      String template;
+      if ((flags & FLAG_TEMPLATE_ID) != 0) {
+        template = readTemplateId();
+      }
+      else {
+        template = readRef();
+      }
+      int size = (int) readVarint();
+      Object[] args = new Object[size];
+      for (int i = 0; i < size; i++) {
+        args[i] = readValue();
+      }
+      message = MessageTemplate.of(template).format(args);
+    }
+    else {
+      message = readString();
+    }
+
+    String marker = null;
+    if ((flags & FLAG_MARKER) != 0) {
+      marker = readRef();
+    }
+
+    ContextMap context = ContextMap.EMPTY;
+    if ((flags & FLAG_CONTEXT) != 0) {
+      for (int n = (int) readVarint(); n > 0; n--) {
+        context = context.with(readRef(), readString());
+      }
+    }
+
+    Fields fields = null;
+    if ((flags & FLAG_FIELDS) != 0) {
+      Fields.Builder builder = new Fields.Builder();
+      for (int n = (int) readVarint(); n > 0; n--) {
+        readField(builder, readRef());
+      }
+      fields = builder.build();
+    }
+
+    Throwable cause = null;
+    if ((flags & FLAG_CAUSE) != 0) {
+      cause = readCause();
+    }
+
+    return new Event(logger(name), level, marker != null ? markers.getMarker(marker) : null, message, cause, fields,
+        timeStamp, threadName, context);
+  }
+
+  @Nullable
+  private Object readValue() throws IOException {
+    int type = in.readUnsignedByte();
+    switch (type) {
+      case VALUE_NULL:
+        return null;
+      case VALUE_INT:
+        return (int) readSignedVarint();
+      case VALUE_LONG:
+        return readSignedVarint();
+      case VALUE_DOUBLE:
+        return Double.longBitsToDouble(in.readLong());
+      case VALUE_TRUE:
+        return Boolean.TRUE;
+      case VALUE_FALSE:
+        return Boolean.FALSE;
+      case VALUE_STRING:
+        return readString();
+      default:
+        throw new IOException("Invalid value type: " + type);
+    }
+  }
+
+  private void readField(final Fields.Builder builder, final String key) throws IOException {
+    int type = in.readUnsignedByte();
+    switch (type) {
+      case VALUE_INT:
+        builder.add(key, (int) readSignedVarint());
+        break;
+      case VALUE_LONG:
+        builder.add(key, readSignedVarint());
+        break;
+      case VALUE_DOUBLE:
+        builder.add(key, Double.longBitsToDouble(in.readLong()));
+        break;
+      case VALUE_TRUE:
+        builder.add(key, true);
+        break;
+      case VALUE_FALSE:
+        builder.add(key, false);
+        break;
+      case VALUE_NULL:
+        builder.add(key, (Object) null);
+        break;
+      case VALUE_STRING:
+        builder.add(key, (Object) readString());
+        break;
+      default:
+        throw new IOException("Invalid value type: " + type);
+    }
+  }
+
+  private Throwable readCause() throws IOException {
+    // read the chain first; causes are constructed innermost first
+    List<Object[]> chain = new ArrayList<Object[]>();
+    boolean more;
+    do {
+      String className = readRef();
+      String message = readString();
+      StackTraceElement[] frames = new StackTraceElement[(int) readVarint()];
+      for (int i = 0; i < frames.length; i++) {
+        String declaringClass = readRef();
+        String methodName = readRef();
+        String fileName = in.readUnsignedByte() != 0 ? readRef() : null;
+        frames[i] = new StackTraceElement(declaringClass, methodName, fileName, (int) readSignedVarint());
+      }
+      chain.add(new Object[]{className, message, frames});
+      more = in.readUnsignedByte() != 0;
+    }
+    while (more);
+
+    Throwable cause = null;
+    for (int i = chain.size() - 1; i >= 0; i--) {
+      Object[] entry = chain.get(i);
+      cause = new DecodedThrowable((String) entry[0], (String) entry[1], (StackTraceElement[]) entry[2], cause);
+    }
+    return cause;
+  }
+
+  private DecodedLogger logger(final String name) {
+    DecodedLogger logger = loggers.get(name);
+    if (logger == null) {
+      logger = new DecodedLogger(name);
+      loggers.put(name, logger);
+    }
+    return logger;
+  }
+
+  //
+  // Decoding
+  //
+
+  private long readVarint() throws IOException {
+    long result = 0;
+    for (int shift = 0; shift < 64; shift += 7) {
+      int b = in.readUnsignedByte();
+      result |= (long) (b & 0x7F) << shift;
+      if ((b & 0x80) == 0) {
+        return result;
+      }
+    }
+    throw new IOException("Invalid varint");
+  }
+
+  private long readSignedVarint() throws IOException {
+    long value = readVarint();
+    return (value >>> 1) ^ -(value & 1);
+  }
+
+  private String readTemplateId() throws IOException {
+    long ref = readVarint();
+    int id = (int) (ref >>> 1);
+    if ((ref & 1) != 0) {
+      String template = readString();
+      templates.put(id, template);
+      return template;
+    }
+    String template = templates.get(id);
+    if (template == null) {
+      throw new IOException("Invalid template id: " + id);
+    }
+    return template;
+  }
+
+  private String readRef() throws IOException {
+    long ref = readVarint();
+    if (ref == REF_DEFINE) {
+      String value = readString();
+      references.add(value);
+      return value;
+    }
+    else if (ref == REF_INLINE) {
+      return readString();
+    }
+    long id = ref - REF_ID;
+    if (id >= references.size()) {
+      throw new IOException("Invalid reference: " + id);
+    }
+    return references.get((int) id);
+  }
+
+  @Nullable
+  private String readString() throws IOException {
+    long length = readVarint();
+    if (length == 0) {
+      return null;
+    }
+    int n = (int) (length - 1);
+    if (n > bytes.length) {
+      bytes = new byte[Math.max(n, bytes.length * 2)];
+    }
+    in.readFully(bytes, 0, n);
+    return new String(bytes, 0, n, "UTF-8");
+  }
+
+  public void close() throws IOException {
+    in.close();
+  }
+
+  /**
+   * Logger of restored events; logs nothing.
+   */
+  private static final class DecodedLogger
+      extends LoggerSupport
+  {
+    private DecodedLogger(final String name) {
+      super(name);
+    }
+
+    @Override
+    protected boolean isEnabled(final Level level) {
+      return false;
+    }
+
+    @Override
+    protected void doLog(final Event event) {
+      // empty
+    }
+  }
+}
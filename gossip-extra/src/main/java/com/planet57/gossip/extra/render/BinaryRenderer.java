@@ -0,0 +1,489 @@
+/*
+ * Copyright (c) 2009-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.planet57.gossip.extra.render;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.planet57.gossip.ContextMap;
+import com.planet57.gossip.Event;
+import com.planet57.gossip.Fields;
+import com.planet57.gossip.MessageTemplate;
+import com.planet57.gossip.Templates;
+import org.slf4j.Marker;
+
+/**
+ * Renders events as compact binary records; see {@link BinaryDecoder}.
+ *
+ * <pre>
+ * stream  := (header record*)+
+ * header  := 'G' 'S' 'P' 'B' version:u8               resets references and the time base
+ * record  := EVENT delta:zigzag level:u8 logger:ref thread:ref flags:u8
+ *            ((template:ref | template-id) argc:varint value* | message:string)
+ *            [marker:ref] [mdc:varint (key:ref string)*] [fields:varint (key:ref value)*] [cause]
+ * ref     := 0 string | 1 string | (id + 2):varint    defined (next id), inline, or reference
+ * template-id := (id * 2 + 1):varint string | (id * 2):varint    defined with its text, or reference
+ * value   := NULL | INT zigzag | LONG zigzag | DOUBLE 8 bytes | TRUE | FALSE | STRING string
+ * cause   := class:ref message:string frames:varint (class:ref method:ref file:(0 | 1 ref) line:zigzag)*
+ *            more:u8 [cause]
+ * string  := 0 | (length + 1):varint utf-8           null, or bytes
+ * </pre>
+ *
+ * The time-stamp is delta encoded against the previous record.  Logger and thread names, templates, markers and
+ * keys are written once per stream and referenced after.  Templates registered at build-time are written as their
+ * id, along with their text the first time in each stream; see {@link Templates}.  So streams are decoded without
+ * the registry, and ids of different builds do not collide.  Arguments are kept typed; messages are only formatted
+ * when decoded.  Events logged already formatted carry their message instead.
+ *
+ * Instances hold per-stream state and are not thread-safe.  Each record is built in a buffer and the state it
+ * changes is kept only once written; after a failed write the stream continues from the state before the record.
+ * Bytes of a partially written record cannot be taken back, so the output should be {@link #reset} then.
+ *
+ * @since 2.0.1
+ */
+public class BinaryRenderer
+{
+  static final byte[] MAGIC = {'G', 'S', 'P', 'B'};
+
+  static final int VERSION = 1;
+
+  static final int EVENT = 1;
+
+  static final int REF_DEFINE = 0;
+
+  static final int REF_INLINE = 1;
+
+  static final int REF_ID = 2;
+
+  static final int FLAG_TEMPLATE = 1;
+
+  static final int FLAG_MARKER = 1 << 1;
+
+  static final int FLAG_CONTEXT = 1 << 2;
+
+  static final int FLAG_FIELDS = 1 << 3;
+
+  static final int FLAG_CAUSE = 1 << 4;
+
+  static final int FLAG_TEMPLATE_ID = 1 << 5;
+
+  static final int VALUE_NULL = 0;
+
+  static final int VALUE_INT = 1;
+
+  static final int VALUE_LONG = 2;
+
+  static final int VALUE_DOUBLE = 3;
+
+  static final int VALUE_TRUE = 4;
+
+  static final int VALUE_FALSE = 5;
+
+  static final int VALUE_STRING = 6;
+
+  /**
+   * Limit of strings defined per stream; further strings are written inline.
+   */
+  static final int MAX_REFERENCES = 64 * 1024;
+
+  /**
+   * Buffers larger than this are not kept for reuse.
+   */
+  private static final int MAX_BUFFER_CAPACITY = 64 * 1024;
+
+  /**
+   * Limit of nested causes rendered; guards against cyclic causes.
+   */
+  private static final int MAX_CAUSE_DEPTH = 32;
+
+  private final Map<String, Integer> references = new HashMap<String, Integer>();
+
+  /**
+   * Strings defined by the record being built; forgotten if it is not written.
+   */
+  private final List<String> defined = new ArrayList<String>();
+
+  /**
+   * Ids of templates defined in the stream.
+   */
+  private final Set<Integer> templateIds = new HashSet<Integer>();
+
+  /**
+   * Ids of templates defined by the record being built; forgotten if it is not written.
+   */
+  private final List<Integer> definedTemplateIds = new ArrayList<Integer>();
+
+  private boolean started;
+
+  private long timeStamp;
+
+  private byte[] buff = new byte[512];
+
+  private int count;
+
+  /**
+   * Start a new stream; the next event is preceded by a header.
+   */
+  public void reset() {
+    references.clear();
+    templateIds.clear();
+    started = false;
+    timeStamp = 0;
+  }
+
+  /**
+   * Render an event as a record; the first record of a stream is preceded by a header.
+   */
+  public void render(final Event event, final OutputStream out) throws IOException {
+    if (event == null || out == null) {
+      throw new NullPointerException();
+    }
+
+    count = 0;
+    boolean written = false;
+    try {
+      if (!started) {
+        writeBytes(MAGIC);
+        writeByte(VERSION);
+      }
+      writeEvent(event);
+      out.write(buff, 0, count);
+
+      started = true;
+      timeStamp = event.getTimeStamp();
+      written = true;
+    }
+    finally {
+      if (!written) {
+        for (String value : defined) {
+          references.remove(value);
+        }
+        templateIds.removeAll(definedTemplateIds);
+      }
+      defined.clear();
+      definedTemplateIds.clear();
+      if (buff.length > MAX_BUFFER_CAPACITY) {
+        buff = new byte[512];
+      }
+    }
+  }
+
+  private void writeEvent(final Event event) {
+    writeByte(EVENT);
+    writeSignedVarint(event.getTimeStamp() - timeStamp);
+    writeByte(event.getLevel().id);
+    writeRef(event.getName());
+    writeRef(event.getThreadName());
+
+    String template = event.getTemplate();
+    Marker marker = event.getMarker();
+    ContextMap context = event.getContext();
+    Fields fields = event.getFields();
+    Throwable cause = event.getCause();
+
+    int templateId = template != null ? event.getTemplateId() : Templates.UNKNOWN;
+
+    int flags = 0;
+    if (templateId > Templates.UNKNOWN) {
+      flags |= FLAG_TEMPLATE_ID;
+    }
+    else if (template != null) {
+      flags |= FLAG_TEMPLATE;
+    }
+    if (marker != null) {
+      flags |= FLAG_MARKER;
+    }
+    if (!context.isEmpty()) {
+      flags |= FLAG_CONTEXT;
+    }
+    if (fields != null && fields.size() != 0) {
+      flags |= FLAG_FIELDS;
+    }
+    if (cause != null) {
+      flags |= FLAG_CAUSE;
+    }
+    writeByte(flags);
+
+    if (template != null) {
+      if (templateId > Templates.UNKNOWN) {
+        if (templateIds.add(templateId)) {
+          definedTemplateIds.add(templateId);
+          writeVarint(((long) templateId << 1) | 1);
+          writeString(template);
+        }
+        else {
+          writeVarint((long) templateId << 1);
+        }
+      }
+      else {
+        writeRef(template);
+      }
+      Fields arguments = event.getArguments();
+      int size = arguments != null ? arguments.size() : 0;
+      writeVarint(size);
+      for (int i = 0; i < size; i++) {
+        writeValue(arguments, i);
+      }
+    }
+    else {
+      writeString(event.getMessage());
+    }
+
+    if (marker != null) {
+      writeRef(marker.getName());
+    }
+
+    if (!context.isEmpty()) {
+      writeVarint(context.size());
+      for (Map.Entry<String, String> entry : context.entrySet()) {
+        writeRef(entry.getKey());
+        writeString(entry.getValue());
+      }
+    }
+
+    if (fields != null && fields.size() != 0) {
+      writeVarint(fields.size());
+      for (int i = 0; i < fields.size(); i++) {
+        writeRef(fields.getKey(i));
+        writeValue(fields, i);
+      }
+    }
+
+    if (cause != null) {
+      writeCause(cause);
+    }
+  }
+
+  private void writeValue(final Fields fields, final int index) {
+    switch (fields.getType(index)) {
+      case INT:
+        writeByte(VALUE_INT);
+        writeSignedVarint(fields.getInt(index));
+        break;
+
+      case LONG:
+        writeByte(VALUE_LONG);
+        writeSignedVarint(fields.getLong(index));
+        break;
+
+      case DOUBLE:
+        writeByte(VALUE_DOUBLE);
+        writeLong(Double.doubleToRawLongBits(fields.getDouble(index)));
+        break;
+
+      case BOOLEAN:
+        writeByte(fields.getBoolean(index) ? VALUE_TRUE : VALUE_FALSE);
+        break;
+
+      case OBJECT:
+        writeObject(fields.getObject(index));
+        break;
+
+      default:
+        throw new InternalError();
+    }
+  }
+
+  /**
+   * Write an object argument; types which format the same when boxed again are kept, others as formatted.
+   */
+  private void writeObject(final Object value) {
+    if (value == null) {
+      writeByte(VALUE_NULL);
+    }
+    else if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+      writeByte(VALUE_INT);
+      writeSignedVarint(((Number) value).intValue());
+    }
+    else if (value instanceof Long) {
+      writeByte(VALUE_LONG);
+      writeSignedVarint((Long) value);
+    }
+    else if (value instanceof Double) {
+      writeByte(VALUE_DOUBLE);
+      writeLong(Double.doubleToRawLongBits((Double) value));
+    }
+    else if (value instanceof Boolean) {
+      writeByte((Boolean) value ? VALUE_TRUE : VALUE_FALSE);
+    }
+    else {
+      writeByte(VALUE_STRING);
+      if (value instanceof String) {
+        writeString((String) value);
+      }
+      else {
+        // as formatted into a message; ie. arrays
+        StringBuilder text = new StringBuilder();
+        MessageTemplate.appendArgument(text, value);
+        writeString(text.toString());
+      }
+    }
+  }
+
+  private void writeCause(final Throwable cause) {
+    Throwable current = cause;
+    for (int depth = 0; ; depth++) {
+      writeRef(current instanceof DecodedThrowable
+          ? ((DecodedThrowable) current).getClassName()
+          : current.getClass().getName());
+      writeString(current.getMessage());
+
+      StackTraceElement[] frames = current.getStackTrace();
+      writeVarint(frames.length);
+      for (StackTraceElement frame : frames) {
+        writeRef(frame.getClassName());
+        writeRef(frame.getMethodName());
+        if (frame.getFileName() != null) {
+          writeByte(1);
+          writeRef(frame.getFileName());
+        }
+        else {
+          writeByte(0);
+        }
+        writeSignedVarint(frame.getLineNumber());
+      }
+
+      Throwable next = current.getCause();
+      if (next == null || next == current || depth == MAX_CAUSE_DEPTH) {
+        writeByte(0);
+        return;
+      }
+      writeByte(1);
+      current = next;
+    }
+  }
+
+  //
+  // Encoding
+  //
+
+  private void ensure(final int n) {
+    if (count + n > buff.length) {
+      byte[] bigger = new byte[Math.max(buff.length * 2, count + n)];
+      System.arraycopy(buff, 0, bigger, 0, count);
+      buff = bigger;
+    }
+  }
+
+  private void writeByte(final int b) {
+    ensure(1);
+    buff[count++] = (byte) b;
+  }
+
+  private void writeBytes(final byte[] bytes) {
+    ensure(bytes.length);
+    System.arraycopy(bytes, 0, buff, count, bytes.length);
+    count += bytes.length;
+  }
+
+  private void writeLong(final long value) {
+    ensure(8);
+    for (int shift = 56; shift >= 0; shift -= 8) {
+      buff[count++] = (byte) (value >>> shift);
+    }
+  }
+
+  private void writeVarint(long value) {
+    ensure(10);
+    while ((value & ~0x7FL) != 0) {
+      buff[count++] = (byte) ((value & 0x7F) | 0x80);
+      value >>>= 7;
+    }
+    buff[count++] = (byte) value;
+  }
+
+  private void writeSignedVarint(final long value) {
+    writeVarint((value << 1) ^ (value >> 63));
+  }
+
+  private void writeRef(final String value) {
+    Integer id = references.get(value);
+    if (id != null) {
+      writeVarint(id + REF_ID);
+    }
+    else if (references.size() < MAX_REFERENCES) {
+      references.put(value, references.size());
+      defined.add(value);
+      writeByte(REF_DEFINE);
+      writeString(value);
+    }
+    else {
+      writeByte(REF_INLINE);
+      writeString(value);
+    }
+  }
+
+  /**
+   * Write a string as its UTF-8 length and bytes; without intermediate arrays.
+   */
+  private void writeString(final String value) {
+    if (value == null) {
+      writeByte(0);
+      return;
+    }
+
+    int len = value.length();
+    int bytes = 0;
+    for (int i = 0; i < len; i++) {
+      char c = value.charAt(i);
+      if (c < 0x80) {
+        bytes += 1;
+      }
+      else if (c < 0x800) {
+        bytes += 2;
+      }
+      else if (Character.isHighSurrogate(c) && i + 1 < len && Character.isLowSurrogate(value.charAt(i + 1))) {
+        bytes += 4;
+        i++;
+      }
+      else {
+        bytes += 3;
+      }
+    }
+
+    writeVarint(bytes + 1);
+    ensure(bytes);
+    for (int i = 0; i < len; i++) {
+      char c = value.charAt(i);
+      if (c < 0x80) {
+        buff[count++] = (byte) c;
+      }
+      else if (c < 0x800) {
+        buff[count++] = (byte) (0xC0 | (c >> 6));
+        buff[count++] = (byte) (0x80 | (c & 0x3F));
+      }
+      else if (Character.isHighSurrogate(c) && i + 1 < len && Character.isLowSurrogate(value.charAt(i + 1))) {
+        int cp = Character.toCodePoint(c, value.charAt(++i));
+        buff[count++] = (byte) (0xF0 | (cp >> 18));
+        buff[count++] = (byte) (0x80 | ((cp >> 12) & 0x3F));
+        buff[count++] = (byte) (0x80 | ((cp >> 6) & 0x3F));
+        buff[count++] = (byte) (0x80 | (cp & 0x3F));
+      }
+      else {
+        // unpaired surrogates are written as is; decoders replace them
+        buff[count++] = (byte) (0xE0 | (c >> 12));
+        buff[count++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+        buff[count++] = (byte) (0x80 | (c & 0x3F));
+      }
+    }
+  }
+}
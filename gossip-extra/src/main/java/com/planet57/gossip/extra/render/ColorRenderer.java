@@ -16,6 +16,7 @@
 package com.planet57.gossip.extra.render;
 
 import com.planet57.gossip.Event;
+import com.planet57.gossip.model.io.props.Configurable;
 import com.planet57.gossip.render.PatternRenderer;
 
 import static org.fusesource.jansi.Ansi.Attribute.*;
@@ -28,6 +29,7 @@ import static org.fusesource.jansi.Ansi.*;
  * @author <a href="mailto:jason@planet57.com">Jason Dillon</a>
  * @since 1.6
  */
+@Configurable
 public class ColorRenderer
     extends PatternRenderer
 {
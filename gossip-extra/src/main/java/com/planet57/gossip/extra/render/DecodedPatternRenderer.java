@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2009-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.planet57.gossip.extra.render;
+
+import com.planet57.gossip.Event;
+import com.planet57.gossip.render.PatternRenderer;
+
+/**
+ * {@link PatternRenderer} for events restored by {@link BinaryDecoder}; causes are rendered with the class names of
+ * the original throwables, rather than {@link DecodedThrowable}.
+ *
+ * @since 2.0.1
+ */
+public class DecodedPatternRenderer
+    extends PatternRenderer
+{
+  public DecodedPatternRenderer(final String pattern) {
+    super(pattern);
+  }
+
+  @Override
+  protected void renderCause(final Event event, final StringBuilder buff) {
+    assert event != null;
+    assert buff != null;
+
+    Throwable cause = event.getCause();
+    if (cause != null) {
+      buff.append(cause);
+      renderNewLine(buff);
+
+      while (cause != null) {
+        for (StackTraceElement e : cause.getStackTrace()) {
+          buff.append("    at ").append(e.getClassName()).append(".").append(e.getMethodName());
+          buff.append(" (").append(getLocation(e)).append(")");
+          renderNewLine(buff);
+        }
+
+        cause = cause.getCause();
+        if (cause != null) {
+          buff.append("Caused by: ").append(getClassName(cause)).append(": ");
+          buff.append(cause.getMessage());
+          renderNewLine(buff);
+        }
+      }
+    }
+  }
+
+  private static String getClassName(final Throwable cause) {
+    if (cause instanceof DecodedThrowable) {
+      return ((DecodedThrowable) cause).getClassName();
+    }
+    return cause.getClass().getName();
+  }
+}
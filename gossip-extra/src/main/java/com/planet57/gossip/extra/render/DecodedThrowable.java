@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2009-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.planet57.gossip.extra.render;
+
+import javax.annotation.Nullable;
+
+/**
+ * Throwable restored by {@link BinaryDecoder}; stands in for a throwable whose class may not be available.
+ *
+ * @since 2.0.1
+ */
+public class DecodedThrowable
+    extends Throwable
+{
+  private static final long serialVersionUID = 1;
+
+  private final String className;
+
+  public DecodedThrowable(final String className,
+                          @Nullable final String message,
+                          final StackTraceElement[] stackTrace,
+                          @Nullable final Throwable cause)
+  {
+    super(message, cause);
+    this.className = className;
+    setStackTrace(stackTrace);
+  }
+
+  /**
+   * Returns the class name of the original throwable.
+   */
+  public String getClassName() {
+    return className;
+  }
+
+  /**
+   * Stack trace is restored; not filled in.
+   */
+  @Override
+  public synchronized Throwable fillInStackTrace() {
+    return this;
+  }
+
+  @Override
+  public String toString() {
+    String message = getLocalizedMessage();
+    return message != null ? className + ": " + message : className;
+  }
+}
@@ -0,0 +1,364 @@
+/*
+ * Copyright (c) 2009-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.planet57.gossip.extra.render;
+
+import java.util.Iterator;
+import java.util.Map;
+
+import com.planet57.gossip.ContextMap;
+import com.planet57.gossip.Event;
+import com.planet57.gossip.Fields;
+import com.planet57.gossip.model.io.props.Configurable;
+import com.planet57.gossip.render.Renderer;
+import org.slf4j.Marker;
+
+import javax.annotation.Nullable;
+
+/**
+ * Renders events as JSON; one object per line.
+ *
+ * <pre>
+ * {"timestamp":1262304000000,"level":"ERROR","logger":"foo.Bar","thread":"main","message":"failed",
+ *  "markers":["AUDIT"],"mdc":{"user":"bob"},"fields":{"count":3},
+ *  "exception":{"class":"java.io.IOException","message":"boom","frames":[{"class":"foo.Bar","method":"run",
+ *  "file":"Bar.java","line":42}],"cause":{...}}}
+ * </pre>
+ *
+ * Entries without a value are omitted.  Field values are written as JSON numbers and booleans where typed;
+ * non-finite numbers and other values are written as strings.
+ *
+ * @since 2.0.1
+ */
+@Configurable
+public class JsonRenderer
+    implements Renderer
+{
+  private static final String NEWLINE = System.getProperty("line.separator");
+
+  /**
+   * Buffers larger than this are not kept for reuse.
+   */
+  private static final int MAX_BUFFER_CAPACITY = 64 * 1024;
+
+  /**
+   * Limit of nested causes rendered; guards against cyclic causes.
+   */
+  private static final int MAX_CAUSE_DEPTH = 32;
+
+  // Pre-escaped keys, including separators
+
+  private static final String TIMESTAMP = "{\"timestamp\":";
+
+  private static final String LEVEL = ",\"level\":\"";
+
+  private static final String LOGGER = "\",\"logger\":";
+
+  private static final String THREAD = ",\"thread\":";
+
+  private static final String MESSAGE = ",\"message\":";
+
+  private static final String MARKERS = ",\"markers\":[";
+
+  private static final String MDC = ",\"mdc\":{";
+
+  private static final String FIELDS = ",\"fields\":{";
+
+  private static final String EXCEPTION = ",\"exception\":";
+
+  private static final String CLASS = "{\"class\":";
+
+  private static final String EXCEPTION_MESSAGE = ",\"message\":";
+
+  private static final String FRAMES = ",\"frames\":[";
+
+  private static final String FRAME_METHOD = ",\"method\":";
+
+  private static final String FRAME_FILE = ",\"file\":";
+
+  private static final String FRAME_LINE = ",\"line\":";
+
+  private static final String FRAME_NATIVE = ",\"native\":true";
+
+  private static final String CAUSE = ",\"cause\":";
+
+  private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+  private static final ThreadLocal<StringBuilder> buffers = new ThreadLocal<StringBuilder>()
+  {
+    @Override
+    protected StringBuilder initialValue() {
+      return new StringBuilder(512);
+    }
+  };
+
+  private boolean includeFrames = true;
+
+  public boolean isIncludeFrames() {
+    return includeFrames;
+  }
+
+  /**
+   * Include stack frames of exceptions; defaults to true.
+   */
+  public void setIncludeFrames(final boolean includeFrames) {
+    this.includeFrames = includeFrames;
+  }
+
+  @Override
+  public String toString() {
+    return getClass().getSimpleName() + "{" +
+        "includeFrames=" + includeFrames +
+        '}';
+  }
+
+  public String render(final Event event) {
+    if (event == null) {
+      throw new NullPointerException();
+    }
+
+    StringBuilder buff = buffers.get();
+    try {
+      render(event, buff);
+      return buff.toString();
+    }
+    finally {
+      if (buff.capacity() > MAX_BUFFER_CAPACITY) {
+        buffers.remove();
+      }
+      else {
+        buff.setLength(0);
+      }
+    }
+  }
+
+  /**
+   * Render an event as a JSON object followed by a newline.
+   */
+  protected void render(final Event event, final StringBuilder buff) {
+    assert event != null;
+    assert buff != null;
+
+    buff.append(TIMESTAMP).append(event.getTimeStamp());
+    buff.append(LEVEL).append(event.getLevel().name());
+    buff.append(LOGGER);
+    appendString(event.getName(), buff);
+    buff.append(THREAD);
+    appendString(event.getThreadName(), buff);
+    buff.append(MESSAGE);
+    appendString(event.getMessage(), buff);
+
+    Marker marker = event.getMarker();
+    if (marker != null) {
+      buff.append(MARKERS);
+      renderMarker(marker, buff, true);
+      buff.append(']');
+    }
+
+    ContextMap context = event.getContext();
+    if (!context.isEmpty()) {
+      buff.append(MDC);
+      boolean first = true;
+      for (Map.Entry<String, String> entry : context.entrySet()) {
+        if (!first) {
+          buff.append(',');
+        }
+        first = false;
+        appendString(entry.getKey(), buff);
+        buff.append(':');
+        appendString(entry.getValue(), buff);
+      }
+      buff.append('}');
+    }
+
+    Fields fields = event.getFields();
+    if (fields != null && fields.size() != 0) {
+      buff.append(FIELDS);
+      for (int i = 0; i < fields.size(); i++) {
+        if (i != 0) {
+          buff.append(',');
+        }
+        appendString(fields.getKey(i), buff);
+        buff.append(':');
+        renderFieldValue(fields, i, buff);
+      }
+      buff.append('}');
+    }
+
+    Throwable cause = event.getCause();
+    if (cause != null) {
+      buff.append(EXCEPTION);
+      renderCause(cause, buff, 0);
+    }
+
+    buff.append('}').append(NEWLINE);
+  }
+
+  /**
+   * Render the marker name and the names of its references, depth first.
+   */
+  private void renderMarker(final Marker marker, final StringBuilder buff, final boolean first) {
+    if (!first) {
+      buff.append(',');
+    }
+    appendString(marker.getName(), buff);
+
+    if (marker.hasReferences()) {
+      Iterator<?> iter = marker.iterator();
+      while (iter.hasNext()) {
+        renderMarker((Marker) iter.next(), buff, false);
+      }
+    }
+  }
+
+  private void renderFieldValue(final Fields fields, final int index, final StringBuilder buff) {
+    switch (fields.getType(index)) {
+      case INT:
+        buff.append(fields.getInt(index));
+        break;
+
+      case LONG:
+        buff.append(fields.getLong(index));
+        break;
+
+      case DOUBLE:
+        double value = fields.getDouble(index);
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+          buff.append('"').append(value).append('"');
+        }
+        else {
+          buff.append(value);
+        }
+        break;
+
+      case BOOLEAN:
+        buff.append(fields.getBoolean(index));
+        break;
+
+      case OBJECT:
+        Object object = fields.getObject(index);
+        appendString(object != null ? String.valueOf(object) : null, buff);
+        break;
+
+      default:
+        throw new InternalError();
+    }
+  }
+
+  private void renderCause(final Throwable cause, final StringBuilder buff, final int depth) {
+    buff.append(CLASS);
+    appendString(cause instanceof DecodedThrowable
+        ? ((DecodedThrowable) cause).getClassName()
+        : cause.getClass().getName(), buff);
+    if (cause.getMessage() != null) {
+      buff.append(EXCEPTION_MESSAGE);
+      appendString(cause.getMessage(), buff);
+    }
+
+    if (includeFrames) {
+      buff.append(FRAMES);
+      StackTraceElement[] frames = cause.getStackTrace();
+      for (int i = 0; i < frames.length; i++) {
+        if (i != 0) {
+          buff.append(',');
+        }
+        renderFrame(frames[i], buff);
+      }
+      buff.append(']');
+    }
+
+    Throwable next = cause.getCause();
+    if (next != null && next != cause && depth < MAX_CAUSE_DEPTH) {
+      buff.append(CAUSE);
+      renderCause(next, buff, depth + 1);
+    }
+    buff.append('}');
+  }
+
+  private void renderFrame(final StackTraceElement frame, final StringBuilder buff) {
+    buff.append(CLASS);
+    appendString(frame.getClassName(), buff);
+    buff.append(FRAME_METHOD);
+    appendString(frame.getMethodName(), buff);
+    if (frame.getFileName() != null) {
+      buff.append(FRAME_FILE);
+      appendString(frame.getFileName(), buff);
+    }
+    if (frame.getLineNumber() >= 0) {
+      buff.append(FRAME_LINE).append(frame.getLineNumber());
+    }
+    if (frame.isNativeMethod()) {
+      buff.append(FRAME_NATIVE);
+    }
+    buff.append('}');
+  }
+
+  /**
+   * Append a quoted and escaped JSON string, or {@code null}.
+   */
+  static void appendString(@Nullable final String value, final StringBuilder buff) {
+    if (value == null) {
+      buff.append("null");
+      return;
+    }
+
+    buff.append('"');
+    int len = value.length();
+    int start = 0;
+    for (int i = 0; i < len; i++) {
+      char c = value.charAt(i);
+      if (c >= 0x20 && c != '"' && c != '\\' && c != '\u2028' && c != '\u2029') {
+        continue;
+      }
+
+      // append the run of plain characters before the escape
+      buff.append(value, start, i);
+      start = i + 1;
+
+      switch (c) {
+        case '"':
+          buff.append("\\\"");
+          break;
+        case '\\':
+          buff.append("\\\\");
+          break;
+        case '\n':
+          buff.append("\\n");
+          break;
+        case '\r':
+          buff.append("\\r");
+          break;
+        case '\t':
+          buff.append("\\t");
+          break;
+        case '\b':
+          buff.append("\\b");
+          break;
+        case '\f':
+          buff.append("\\f");
+          break;
+        default:
+          // other control characters, and line/paragraph separators which break javascript parsers
+          buff.append("\\u")
+              .append(HEX[(c >> 12) & 0xF])
+              .append(HEX[(c >> 8) & 0xF])
+              .append(HEX[(c >> 4) & 0xF])
+              .append(HEX[c & 0xF]);
+      }
+    }
+    buff.append(value, start, len);
+    buff.append('"');
+  }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2009-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.planet57.gossip.extra.format;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.planet57.gossip.ArgumentRenderers;
+import com.planet57.gossip.MessageTemplate;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests for {@link CollectionRenderer} and {@link MapRenderer}.
+ */
+public class CollectionRendererTest
+{
+  @Before
+  public void setUp() {
+    ArgumentRenderers.register(Collection.class, new CollectionRenderer());
+    ArgumentRenderers.register(Map.class, new MapRenderer());
+    ArgumentRenderers.register(byte[].class, new ByteArrayRenderer());
+  }
+
+  @After
+  public void tearDown() {
+    ArgumentRenderers.unregister(Collection.class);
+    ArgumentRenderers.unregister(Map.class);
+    ArgumentRenderers.unregister(byte[].class);
+  }
+
+  private static String format(final Object value) {
+    return MessageTemplate.of("{}").format(new Object[]{value});
+  }
+
+  @Test
+  public void testLikeToString() {
+    List<Object> list = new ArrayList<Object>(Arrays.asList("a", null, 1));
+    list.add(list);
+    assertEquals(list.toString(), format(list));
+
+    Map<Object, Object> map = new LinkedHashMap<Object, Object>();
+    map.put("a", 1);
+    map.put(null, Arrays.asList(2, 3));
+    map.put("self", map);
+    assertEquals(map.toString(), format(map));
+  }
+
+  @Test
+  public void testElements() {
+    List<Object> list = Arrays.<Object>asList(new byte[]{0x0a, (byte) 0xff}, new int[]{1, 2});
+    assertEquals("[0aff, [1, 2]]", format(list));
+  }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2009-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.planet57.gossip.extra.format;
+
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Random;
+import java.util.TimeZone;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests for {@link DateRenderer}.
+ */
+public class DateRendererTest
+{
+  private static String render(final long time) {
+    StringBuilder buff = new StringBuilder();
+    new DateRenderer().render(new Date(time), buff);
+    return buff.toString();
+  }
+
+  @Test
+  public void testEpoch() {
+    assertEquals("1970-01-01T00:00:00.000Z", render(0));
+    assertEquals("1969-12-31T23:59:59.999Z", render(-1));
+    assertEquals("2000-02-29T12:34:56.007Z", render(951827696007L));
+  }
+
+  @Test
+  public void testLikeSimpleDateFormat() {
+    SimpleDateFormat format = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'");
+    format.setTimeZone(TimeZone.getTimeZone("UTC"));
+
+    Random random = new Random(57);
+    for (int i = 0; i < 10000; i++) {
+      // 1600 to 2400; the gregorian calendar is proleptic from 1583
+      long time = -11676096000000L + (long) (random.nextDouble() * 25246080000000L);
+      assertEquals(format.format(new Date(time)), render(time));
+    }
+  }
+}
@@ -0,0 +1,226 @@
+/*
+ * Copyright (c) 2009-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.planet57.gossip.extra.render;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.planet57.gossip.CapturingLogger;
+import com.planet57.gossip.Event;
+import com.planet57.gossip.EventBuilder;
+import com.planet57.gossip.GossipMDCAdapter;
+import com.planet57.gossip.Level;
+import com.planet57.gossip.Templates;
+import com.planet57.gossip.render.PatternRenderer;
+import org.junit.After;
+import org.junit.Test;
+import org.slf4j.helpers.BasicMarkerFactory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for {@link BinaryRenderer} and {@link BinaryDecoder}.
+ */
+public class BinaryRendererTest
+{
+  private static final String PATTERN = "%d %t [%l] %C %marker {%X} - %m%f%n%x";
+
+  @After
+  public void tearDown() {
+    new GossipMDCAdapter().clear();
+  }
+
+  private static List<Event> decode(final byte[] bytes) throws Exception {
+    List<Event> events = new ArrayList<Event>();
+    BinaryDecoder decoder = new BinaryDecoder(new ByteArrayInputStream(bytes));
+    try {
+      Event event;
+      while ((event = decoder.next()) != null) {
+        events.add(event);
+      }
+    }
+    finally {
+      decoder.close();
+    }
+    return events;
+  }
+
+  @Test
+  public void testRoundTrip() throws Exception {
+    CapturingLogger logger = new CapturingLogger("test.BinaryRendererTest");
+    GossipMDCAdapter.putValue("user", "bob");
+    logger.info("plain");
+    logger.info(new BasicMarkerFactory().getMarker("AUDIT"), "a {} b {} c {}", new Object[]{1, 2L, "\u00e9t\u00e9 \ud83d\ude00"});
+    logger.debug("escaped \\{} and {} {}", new int[]{1, 2}, null);
+    Exception cause = new IllegalStateException("inner");
+    logger.warn("failed {}", "x", new RuntimeException("outer", cause));
+    EventBuilder.at(logger, Level.ERROR)
+        .message("latency {} ok {}").arg(1.5).arg(true)
+        .field("count", 3).field("big", Long.MAX_VALUE).field("name", "n")
+        .log();
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    BinaryRenderer renderer = new BinaryRenderer();
+    for (Event event : logger.events) {
+      renderer.render(event, out);
+    }
+
+    List<Event> decoded = decode(out.toByteArray());
+    assertEquals(logger.events.size(), decoded.size());
+
+    PatternRenderer text = new PatternRenderer(PATTERN);
+    PatternRenderer decodedText = new DecodedPatternRenderer(PATTERN);
+    JsonRenderer json = new JsonRenderer();
+    for (int i = 0; i < decoded.size(); i++) {
+      assertEquals(text.render(logger.events.get(i)), decodedText.render(decoded.get(i)));
+      assertEquals(json.render(logger.events.get(i)), json.render(decoded.get(i)));
+    }
+  }
+
+  @Test
+  public void testReferences() throws Exception {
+    CapturingLogger logger = new CapturingLogger("test.BinaryRendererTest");
+    logger.info("value {}", 1);
+    logger.info("value {}", 2);
+
+    BinaryRenderer renderer = new BinaryRenderer();
+    ByteArrayOutputStream first = new ByteArrayOutputStream();
+    renderer.render(logger.events.get(0), first);
+    ByteArrayOutputStream second = new ByteArrayOutputStream();
+    renderer.render(logger.events.get(1), second);
+
+    // names and template are only written once
+    assertTrue(second.size() < 12);
+    assertTrue(first.size() > second.size() + "value {}".length());
+  }
+
+  @Test
+  public void testTemplateId() throws Exception {
+    File file = File.createTempFile("templates", ".properties");
+    file.deleteOnExit();
+    OutputStream registry = new FileOutputStream(file);
+    try {
+      registry.write("7001=BinaryRendererTest.testTemplateId {}\n".getBytes("ISO-8859-1"));
+    }
+    finally {
+      registry.close();
+    }
+    Templates.load(file.toURI().toURL());
+
+    CapturingLogger logger = new CapturingLogger("test.BinaryRendererTest");
+    logger.info("BinaryRendererTest.testTemplateId {}", 1);
+    logger.info("BinaryRendererTest.testTemplateId {}", 2);
+
+    BinaryRenderer renderer = new BinaryRenderer();
+    ByteArrayOutputStream first = new ByteArrayOutputStream();
+    renderer.render(logger.events.get(0), first);
+    ByteArrayOutputStream second = new ByteArrayOutputStream();
+    renderer.render(logger.events.get(1), second);
+
+    // the text is written with the first use of the id in the stream only
+    assertTrue(first.toString("ISO-8859-1").contains("testTemplateId"));
+    assertFalse(second.toString("ISO-8859-1").contains("testTemplateId"));
+    assertTrue(second.size() < 12);
+
+    first.write(second.toByteArray());
+    List<Event> decoded = decode(first.toByteArray());
+    assertEquals("BinaryRendererTest.testTemplateId 1", decoded.get(0).getMessage());
+    assertEquals("BinaryRendererTest.testTemplateId 2", decoded.get(1).getMessage());
+  }
+
+  @Test
+  public void testAppendedStreams() throws Exception {
+    CapturingLogger logger = new CapturingLogger("test.BinaryRendererTest");
+    logger.info("one {}", 1);
+    logger.info("two {}", 2);
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    BinaryRenderer renderer = new BinaryRenderer();
+    renderer.render(logger.events.get(0), out);
+    // ie. a file opened again for append
+    renderer.reset();
+    renderer.render(logger.events.get(1), out);
+
+    List<Event> decoded = decode(out.toByteArray());
+    assertEquals(2, decoded.size());
+    assertEquals("one 1", decoded.get(0).getMessage());
+    assertEquals("two 2", decoded.get(1).getMessage());
+    assertEquals(logger.events.get(1).getTimeStamp(), decoded.get(1).getTimeStamp());
+    assertNull(decoded.get(1).getCause());
+  }
+
+  @Test
+  public void testFailedWrite() throws Exception {
+    CapturingLogger logger = new CapturingLogger("test.BinaryRendererTest");
+    logger.info("one {}", 1);
+    logger.info("two {}", 2);
+
+    BinaryRenderer renderer = new BinaryRenderer();
+    try {
+      renderer.render(logger.events.get(0), new OutputStream()
+      {
+        @Override
+        public void write(final int b) throws IOException {
+          throw new IOException("full");
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) throws IOException {
+          throw new IOException("full");
+        }
+      });
+      fail();
+    }
+    catch (IOException e) {
+      // expected
+    }
+
+    // nothing the failed record defined is referenced
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    renderer.render(logger.events.get(0), out);
+    renderer.render(logger.events.get(1), out);
+
+    List<Event> decoded = decode(out.toByteArray());
+    assertEquals(2, decoded.size());
+    assertEquals("one 1", decoded.get(0).getMessage());
+    assertEquals("two 2", decoded.get(1).getMessage());
+    assertEquals(logger.events.get(0).getTimeStamp(), decoded.get(0).getTimeStamp());
+  }
+
+  @Test
+  public void testArgumentsCopied() throws Exception {
+    CapturingLogger logger = new CapturingLogger("test.BinaryRendererTest");
+    Object[] args = {"a", "b"};
+    logger.info("{} {}", args);
+    // ie. a caller reusing its array
+    args[0] = "changed";
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    new BinaryRenderer().render(logger.events.get(0), out);
+    assertEquals("a b", decode(out.toByteArray()).get(0).getMessage());
+    assertEquals("a", logger.events.get(0).getArguments().getObject(0));
+  }
+}
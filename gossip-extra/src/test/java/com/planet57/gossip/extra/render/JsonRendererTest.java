@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2009-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.planet57.gossip.extra.render;
+
+import com.planet57.gossip.CapturingLogger;
+import com.planet57.gossip.EventBuilder;
+import com.planet57.gossip.GossipMDCAdapter;
+import com.planet57.gossip.Level;
+import org.junit.After;
+import org.junit.Test;
+import org.slf4j.Marker;
+import org.slf4j.helpers.BasicMarkerFactory;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests for {@link JsonRenderer}.
+ */
+public class JsonRendererTest
+{
+  private static final String NEWLINE = System.getProperty("line.separator");
+
+  @After
+  public void tearDown() {
+    new GossipMDCAdapter().clear();
+  }
+
+  private static String strip(final String json) {
+    // timestamp and thread vary
+    return json.replaceFirst("\"timestamp\":\\d+", "\"timestamp\":0").replaceFirst("\"thread\":\"[^\"]*\"", "\"thread\":\"t\"");
+  }
+
+  @Test
+  public void testEscaping() {
+    StringBuilder buff = new StringBuilder();
+    JsonRenderer.appendString("a\"b\\c\nd\te\u0001f\u2028", buff);
+    assertEquals("\"a\\\"b\\\\c\\nd\\te\\u0001f\\u2028\"", buff.toString());
+
+    buff.setLength(0);
+    JsonRenderer.appendString(null, buff);
+    assertEquals("null", buff.toString());
+  }
+
+  @Test
+  public void testRender() {
+    CapturingLogger logger = new CapturingLogger("test.JsonRendererTest");
+    BasicMarkerFactory markers = new BasicMarkerFactory();
+    Marker marker = markers.getMarker("AUDIT");
+    marker.add(markers.getMarker("SECURITY"));
+    GossipMDCAdapter.putValue("user", "bob");
+
+    EventBuilder.at(logger, Level.INFO)
+        .message("hello {}")
+        .arg("world")
+        .marker(marker)
+        .field("count", 3)
+        .field("ratio", 0.5)
+        .field("ok", true)
+        .field("name", "x\"y")
+        .field("nan", Double.NaN)
+        .log();
+
+    String json = new JsonRenderer().render(logger.events.get(0));
+    assertEquals("{\"timestamp\":0,\"level\":\"INFO\",\"logger\":\"test.JsonRendererTest\",\"thread\":\"t\"," +
+        "\"message\":\"hello world\",\"markers\":[\"AUDIT\",\"SECURITY\"],\"mdc\":{\"user\":\"bob\"}," +
+        "\"fields\":{\"count\":3,\"ratio\":0.5,\"ok\":true,\"name\":\"x\\\"y\",\"nan\":\"NaN\"}}" + NEWLINE,
+        strip(json));
+  }
+
+  @Test
+  public void testException() {
+    CapturingLogger logger = new CapturingLogger("test.JsonRendererTest");
+    Exception cause = new IllegalStateException("inner");
+    cause.setStackTrace(new StackTraceElement[]{new StackTraceElement("a.B", "run", null, -1)});
+    Exception e = new RuntimeException("outer", cause);
+    e.setStackTrace(new StackTraceElement[]{new StackTraceElement("a.C", "call", "C.java", 7)});
+    logger.error("failed", e);
+
+    JsonRenderer renderer = new JsonRenderer();
+    assertEquals("{\"timestamp\":0,\"level\":\"ERROR\",\"logger\":\"test.JsonRendererTest\",\"thread\":\"t\"," +
+        "\"message\":\"failed\",\"exception\":{\"class\":\"java.lang.RuntimeException\",\"message\":\"outer\"," +
+        "\"frames\":[{\"class\":\"a.C\",\"method\":\"call\",\"file\":\"C.java\",\"line\":7}]," +
+        "\"cause\":{\"class\":\"java.lang.IllegalStateException\",\"message\":\"inner\"," +
+        "\"frames\":[{\"class\":\"a.B\",\"method\":\"run\"}]}}}" + NEWLINE,
+        strip(renderer.render(logger.events.get(0))));
+
+    renderer.setIncludeFrames(false);
+    assertEquals("{\"timestamp\":0,\"level\":\"ERROR\",\"logger\":\"test.JsonRendererTest\",\"thread\":\"t\"," +
+        "\"message\":\"failed\",\"exception\":{\"class\":\"java.lang.RuntimeException\",\"message\":\"outer\"," +
+        "\"cause\":{\"class\":\"java.lang.IllegalStateException\",\"message\":\"inner\"}}}" + NEWLINE,
+        strip(renderer.render(logger.events.get(0))));
+  }
+}
@@ -0,0 +1,261 @@
+/*
+ * Copyright (c) 2009-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.planet57.gossip.processor;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+
+/**
+ * Generates {@code ComponentConfigurator} implementations for types annotated with {@code @Configurable}.
+ *
+ * Generated configurators set simple properties (strings, primitives and their wrappers, enums) and inject nested
+ * components with direct calls; anything else is left to the reflective configurator at runtime.
+ *
+ * @since 2.0.1
+ */
+public class ConfiguratorProcessor
+    extends AbstractProcessor
+{
+  private static final String PACKAGE = "com.planet57.gossip.model.io.props";
+
+  private static final String ANNOTATION = PACKAGE + ".Configurable";
+
+  private static final String SUPPORT = PACKAGE + ".ComponentConfiguratorSupport";
+
+  private static final String SUFFIX = "_Configurator";
+
+  private static final Map<String, String> CONVERTERS = new LinkedHashMap<String, String>();
+
+  static {
+    CONVERTERS.put("boolean", "toBoolean");
+    CONVERTERS.put("byte", "toByte");
+    CONVERTERS.put("short", "toShort");
+    CONVERTERS.put("int", "toInt");
+    CONVERTERS.put("long", "toLong");
+    CONVERTERS.put("float", "toFloat");
+    CONVERTERS.put("double", "toDouble");
+    CONVERTERS.put("java.lang.Boolean", "toBoolean");
+    CONVERTERS.put("java.lang.Byte", "toByte");
+    CONVERTERS.put("java.lang.Short", "toShort");
+    CONVERTERS.put("java.lang.Integer", "toInt");
+    CONVERTERS.put("java.lang.Long", "toLong");
+    CONVERTERS.put("java.lang.Float", "toFloat");
+    CONVERTERS.put("java.lang.Double", "toDouble");
+  }
+
+  @Override
+  public Set<String> getSupportedAnnotationTypes() {
+    return Collections.singleton(ANNOTATION);
+  }
+
+  @Override
+  public SourceVersion getSupportedSourceVersion() {
+    return SourceVersion.latestSupported();
+  }
+
+  @Override
+  public boolean process(final Set<? extends TypeElement> annotations, final RoundEnvironment round) {
+    TypeElement annotation = processingEnv.getElementUtils().getTypeElement(ANNOTATION);
+    if (annotation == null) {
+      return false;
+    }
+
+    for (Element element : round.getElementsAnnotatedWith(annotation)) {
+      if (element.getKind() != ElementKind.CLASS) {
+        error(element, "@Configurable is only supported on classes");
+        continue;
+      }
+
+      TypeElement type = (TypeElement) element;
+      if (validate(type)) {
+        try {
+          generate(type);
+        }
+        catch (IOException e) {
+          error(type, "Failed to generate configurator: " + e);
+        }
+      }
+    }
+
+    return true;
+  }
+
+  private void error(final Element element, final String message) {
+    processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+  }
+
+  private boolean validate(final TypeElement type) {
+    Set<Modifier> modifiers = type.getModifiers();
+    if (!modifiers.contains(Modifier.PUBLIC) || modifiers.contains(Modifier.ABSTRACT)) {
+      error(type, "@Configurable type must be public and concrete");
+      return false;
+    }
+    if (type.getEnclosingElement().getKind() != ElementKind.PACKAGE && !modifiers.contains(Modifier.STATIC)) {
+      error(type, "@Configurable nested type must be static");
+      return false;
+    }
+    for (ExecutableElement ctor : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+      if (ctor.getParameters().isEmpty() && ctor.getModifiers().contains(Modifier.PUBLIC)) {
+        return true;
+      }
+    }
+    error(type, "@Configurable type must have a public default constructor");
+    return false;
+  }
+
+  /**
+   * Collects public single-argument setters, including inherited, by method name.
+   */
+  private Map<String, List<ExecutableElement>> setters(final TypeElement type) {
+    Map<String, List<ExecutableElement>> result = new LinkedHashMap<String, List<ExecutableElement>>();
+    for (ExecutableElement method : ElementFilter.methodsIn(processingEnv.getElementUtils().getAllMembers(type))) {
+      String name = method.getSimpleName().toString();
+      Set<Modifier> modifiers = method.getModifiers();
+      if (name.length() > 3 && name.startsWith("set") && method.getParameters().size() == 1
+          && modifiers.contains(Modifier.PUBLIC) && !modifiers.contains(Modifier.STATIC)) {
+        List<ExecutableElement> candidates = result.get(name);
+        if (candidates == null) {
+          candidates = new ArrayList<ExecutableElement>(1);
+          result.put(name, candidates);
+        }
+        candidates.add(method);
+      }
+    }
+    return result;
+  }
+
+  private TypeMirror parameterType(final ExecutableElement method) {
+    return processingEnv.getTypeUtils().erasure(method.getParameters().get(0).asType());
+  }
+
+  private boolean isEnum(final TypeMirror type) {
+    return type.getKind() == TypeKind.DECLARED && ((DeclaredType) type).asElement().getKind() == ElementKind.ENUM;
+  }
+
+  private boolean isSimple(final TypeMirror type) {
+    String name = type.toString();
+    return "java.lang.String".equals(name) || CONVERTERS.containsKey(name) || isEnum(type);
+  }
+
+  /**
+   * Select the setter for a simple property; when overloaded prefer the string setter.
+   */
+  private ExecutableElement selectSetter(final List<ExecutableElement> candidates) {
+    if (candidates.size() == 1) {
+      return candidates.get(0);
+    }
+    for (ExecutableElement method : candidates) {
+      if ("java.lang.String".equals(parameterType(method).toString())) {
+        return method;
+      }
+    }
+    return null;
+  }
+
+  private static String propertyName(final String setter) {
+    return Character.toLowerCase(setter.charAt(3)) + setter.substring(4);
+  }
+
+  private String convert(final TypeMirror type) {
+    String name = type.toString();
+    if ("java.lang.String".equals(name)) {
+      return "value";
+    }
+    if (isEnum(type)) {
+      return "toEnum(" + name + ".class, value)";
+    }
+    return CONVERTERS.get(name) + "(value)";
+  }
+
+  private void generate(final TypeElement type) throws IOException {
+    PackageElement pkg = processingEnv.getElementUtils().getPackageOf(type);
+    String binaryName = processingEnv.getElementUtils().getBinaryName(type).toString();
+    String simpleName = (pkg.isUnnamed() ? binaryName : binaryName.substring(pkg.getQualifiedName().length() + 1)) + SUFFIX;
+    String typeName = type.getQualifiedName().toString();
+
+    Map<String, List<ExecutableElement>> setters = setters(type);
+
+    PrintWriter out = new PrintWriter(processingEnv.getFiler().createSourceFile(binaryName + SUFFIX, type).openWriter());
+    try {
+      if (!pkg.isUnnamed()) {
+        out.printf("package %s;%n%n", pkg.getQualifiedName());
+      }
+      out.printf("/**%n * Generated configurator for {@link %s}.%n */%n", typeName);
+      out.printf("public final class %s%n    extends %s%n{%n", simpleName, SUPPORT);
+
+      out.printf("  public Object create() throws Exception {%n");
+      out.printf("    return new %s();%n", typeName);
+      out.printf("  }%n%n");
+
+      out.printf("  public boolean set(final Object target, final String name, final String value) throws Exception {%n");
+      out.printf("    %s component = (%s) target;%n", typeName, typeName);
+      for (List<ExecutableElement> candidates : setters.values()) {
+        ExecutableElement setter = selectSetter(candidates);
+        if (setter != null && isSimple(parameterType(setter))) {
+          String method = setter.getSimpleName().toString();
+          out.printf("    if (\"%s\".equals(name)) {%n", propertyName(method));
+          out.printf("      component.%s(%s);%n", method, convert(parameterType(setter)));
+          out.printf("      return true;%n");
+          out.printf("    }%n");
+        }
+      }
+      out.printf("    return false;%n");
+      out.printf("  }%n%n");
+
+      out.printf("  public boolean inject(final Object target, final String name, final Object value) throws Exception {%n");
+      out.printf("    %s component = (%s) target;%n", typeName, typeName);
+      for (List<ExecutableElement> candidates : setters.values()) {
+        for (ExecutableElement setter : candidates) {
+          TypeMirror parameter = parameterType(setter);
+          if (parameter.getKind() == TypeKind.DECLARED && !isSimple(parameter)) {
+            String method = setter.getSimpleName().toString();
+            out.printf("    if (\"%s\".equals(name) && value instanceof %s) {%n", propertyName(method), parameter);
+            out.printf("      component.%s((%s) value);%n", method, parameter);
+            out.printf("      return true;%n");
+            out.printf("    }%n");
+          }
+        }
+      }
+      out.printf("    return false;%n");
+      out.printf("  }%n");
+      out.printf("}%n");
+    }
+    finally {
+      out.close();
+    }
+  }
+}
@@ -0,0 +1,248 @@
+/*
+ * Copyright (c) 2009-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.planet57.gossip.processor;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+
+import com.sun.source.tree.ExpressionTree;
+import com.sun.source.tree.IdentifierTree;
+import com.sun.source.tree.LiteralTree;
+import com.sun.source.tree.MemberSelectTree;
+import com.sun.source.tree.MethodInvocationTree;
+import com.sun.source.tree.Tree;
+import com.sun.source.util.TreePath;
+import com.sun.source.util.TreePathScanner;
+import com.sun.source.util.Trees;
+
+/**
+ * Extracts literal message templates of logging calls into a registry resource; see {@code Templates}.
+ *
+ * Enabled with {@code -Agossip.templates}.  Calls are matched by method name, as types are not yet known while
+ * processing; the first string literal argument of {@code trace}, {@code debug}, {@code info}, {@code warn},
+ * {@code error} and {@code message} (ie. {@code EventBuilder}) is taken as the template.  Ids are derived from each
+ * template alone, so are stable between builds and unaffected by other templates; templates with the same id fail the
+ * build, rather than either being given another.  Incremental builds only see changed sources; templates missing from
+ * the registry are interned at runtime.
+ *
+ * Requires the compiler tree API of javac.
+ *
+ * @since 2.0.1
+ */
+public class TemplateProcessor
+    extends AbstractProcessor
+{
+  public static final String OPTION = "gossip.templates";
+
+  private static final String RESOURCE = "META-INF/com.planet57.gossip/templates.properties";
+
+  private static final Set<String> METHODS = new HashSet<String>(Arrays.asList(
+      "trace", "debug", "info", "warn", "error", "message"
+  ));
+
+  private final SortedSet<String> templates = new TreeSet<String>();
+
+  private Trees trees;
+
+  @Override
+  public Set<String> getSupportedAnnotationTypes() {
+    return Collections.singleton("*");
+  }
+
+  @Override
+  public Set<String> getSupportedOptions() {
+    return Collections.singleton(OPTION);
+  }
+
+  @Override
+  public SourceVersion getSupportedSourceVersion() {
+    return SourceVersion.latestSupported();
+  }
+
+  @Override
+  public synchronized void init(final ProcessingEnvironment processingEnv) {
+    super.init(processingEnv);
+    if (!processingEnv.getOptions().containsKey(OPTION)) {
+      return;
+    }
+    try {
+      trees = Trees.instance(processingEnv);
+    }
+    catch (IllegalArgumentException e) {
+      processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+          "Template extraction requires javac; templates will be interned at runtime");
+    }
+  }
+
+  @Override
+  public boolean process(final Set<? extends TypeElement> annotations, final RoundEnvironment round) {
+    if (trees == null) {
+      return false;
+    }
+
+    Scanner scanner = new Scanner();
+    for (Element element : round.getRootElements()) {
+      TreePath path = trees.getPath(element);
+      if (path != null) {
+        scanner.scan(path, null);
+      }
+    }
+
+    if (round.processingOver() && !templates.isEmpty()) {
+      SortedMap<Integer, String> registry = assign();
+      if (registry != null) {
+        try {
+          write(registry);
+        }
+        catch (IOException e) {
+          processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Failed to write template registry: " + e);
+        }
+      }
+    }
+
+    // never claim annotations
+    return false;
+  }
+
+  private class Scanner
+      extends TreePathScanner<Void, Void>
+  {
+    @Override
+    public Void visitMethodInvocation(final MethodInvocationTree node, final Void unused) {
+      if (METHODS.contains(methodName(node.getMethodSelect()))) {
+        for (ExpressionTree arg : node.getArguments()) {
+          if (arg.getKind() == Tree.Kind.STRING_LITERAL) {
+            templates.add((String) ((LiteralTree) arg).getValue());
+            break;
+          }
+        }
+      }
+      return super.visitMethodInvocation(node, unused);
+    }
+  }
+
+  private static String methodName(final ExpressionTree select) {
+    if (select instanceof MemberSelectTree) {
+      return ((MemberSelectTree) select).getIdentifier().toString();
+    }
+    if (select instanceof IdentifierTree) {
+      return ((IdentifierTree) select).getName().toString();
+    }
+    return null;
+  }
+
+  /**
+   * Returns the id of a template; positive, and derived only from the template.
+   *
+   * {@link String#hashCode()} is specified, so ids are the same for all compilers and runtimes.
+   */
+  private static int idOf(final String template) {
+    int id = template.hashCode() & Integer.MAX_VALUE;
+    // zero is Templates.UNKNOWN
+    return id != 0 ? id : Integer.MAX_VALUE;
+  }
+
+  /**
+   * Assign ids; null if templates collide, which is reported as an error.
+   */
+  private SortedMap<Integer, String> assign() {
+    SortedMap<Integer, String> result = new TreeMap<Integer, String>();
+    boolean collided = false;
+    for (String template : templates) {
+      int id = idOf(template);
+      String existing = result.put(id, template);
+      if (existing != null) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, String.format(
+            "Message templates have the same id: %d; change either of \"%s\" or \"%s\"", id, existing, template));
+        collided = true;
+      }
+    }
+    return collided ? null : result;
+  }
+
+  private void write(final SortedMap<Integer, String> registry) throws IOException {
+    FileObject file = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", RESOURCE);
+    Writer out = new OutputStreamWriter(file.openOutputStream(), "ISO-8859-1");
+    try {
+      out.write("# Generated by " + getClass().getName() + "; do not edit\n");
+      for (Map.Entry<Integer, String> entry : registry.entrySet()) {
+        out.write(entry.getKey().toString());
+        out.write('=');
+        escape(entry.getValue(), out);
+        out.write('\n');
+      }
+    }
+    finally {
+      out.close();
+    }
+  }
+
+  /**
+   * Escape a value as {@link java.util.Properties#load(java.io.InputStream)} expects.
+   */
+  private static void escape(final String value, final Writer out) throws IOException {
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      switch (c) {
+        case '\\':
+          out.write("\\\\");
+          break;
+        case '\n':
+          out.write("\\n");
+          break;
+        case '\r':
+          out.write("\\r");
+          break;
+        case '\t':
+          out.write("\\t");
+          break;
+        case '\f':
+          out.write("\\f");
+          break;
+        case ' ':
+          out.write(i == 0 ? "\\ " : " ");
+          break;
+        default:
+          if (c < 0x20 || c > 0x7e) {
+            out.write(String.format("\\u%04x", (int) c));
+          }
+          else {
+            out.write(c);
+          }
+      }
+    }
+  }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2009-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.planet57.gossip.slf4j;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.annotation.Nullable;
+
+import org.slf4j.spi.MDCAdapter;
+import com.planet57.gossip.GossipMDCAdapter;
+
+/**
+ * {@link GossipMDCAdapter} with the SLF4J 2.x per-key stacks; stacks are not captured by events.
+ *
+ * @since 2.0.1
+ */
+public class DequeMDCAdapter
+    extends GossipMDCAdapter
+    implements MDCAdapter
+{
+  private final ThreadLocal<Map<String, Deque<String>>> stacks = new ThreadLocal<Map<String, Deque<String>>>();
+
+  public void pushByKey(final String key, final String value) {
+    if (key == null) {
+      return;
+    }
+    Map<String, Deque<String>> map = stacks.get();
+    if (map == null) {
+      map = new HashMap<String, Deque<String>>();
+      stacks.set(map);
+    }
+    Deque<String> deque = map.get(key);
+    if (deque == null) {
+      deque = new ArrayDeque<String>();
+      map.put(key, deque);
+    }
+    deque.push(value);
+  }
+
+  /**
+   * @return {@code null} if the stack is empty.
+   */
+  @Nullable
+  public String popByKey(final String key) {
+    Deque<String> deque = deque(key);
+    return deque != null ? deque.pollFirst() : null;
+  }
+
+  @Nullable
+  public Deque<String> getCopyOfDequeByKey(final String key) {
+    Deque<String> deque = deque(key);
+    return deque != null ? new ArrayDeque<String>(deque) : null;
+  }
+
+  public void clearDequeByKey(final String key) {
+    Deque<String> deque = deque(key);
+    if (deque != null) {
+      deque.clear();
+    }
+  }
+
+  @Nullable
+  private Deque<String> deque(@Nullable final String key) {
+    Map<String, Deque<String>> map = stacks.get();
+    return map != null && key != null ? map.get(key) : null;
+  }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2009-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.planet57.gossip.slf4j;
+
+import java.util.function.Supplier;
+
+import javax.annotation.Nullable;
+
+import org.slf4j.Marker;
+import org.slf4j.spi.CallerBoundaryAware;
+import org.slf4j.spi.LoggingEventBuilder;
+import com.planet57.gossip.EventBuilder;
+import com.planet57.gossip.Level;
+import com.planet57.gossip.LoggerSupport;
+
+/**
+ * Maps the SLF4J 2.x fluent API onto {@link EventBuilder}.
+ *
+ * Key-value pairs become event fields; suppliers are only evaluated when the level is enabled.
+ * Events carry a single marker; markers after the first are ignored.
+ *
+ * @since 2.0.1
+ */
+public class GossipLoggingEventBuilder
+    implements LoggingEventBuilder, CallerBoundaryAware
+{
+  private final EventBuilder builder;
+
+  @Nullable
+  private Supplier<String> messageSupplier;
+
+  private boolean marked;
+
+  public GossipLoggingEventBuilder(final LoggerSupport logger, final Level level) {
+    this.builder = EventBuilder.at(logger, level).fqcn(GossipLoggingEventBuilder.class.getName());
+  }
+
+  public void setCallerBoundary(final String fqcn) {
+    builder.fqcn(fqcn);
+  }
+
+  public LoggingEventBuilder setCause(final Throwable cause) {
+    builder.cause(cause);
+    return this;
+  }
+
+  public LoggingEventBuilder addMarker(final Marker marker) {
+    if (!marked) {
+      builder.marker(marker);
+      marked = true;
+    }
+    return this;
+  }
+
+  public LoggingEventBuilder addArgument(@Nullable final Object value) {
+    builder.arg(value);
+    return this;
+  }
+
+  public LoggingEventBuilder addArgument(final Supplier<?> supplier) {
+    if (builder.isEnabled()) {
+      builder.arg(supplier.get());
+    }
+    return this;
+  }
+
+  public LoggingEventBuilder addKeyValue(final String key, @Nullable final Object value) {
+    builder.field(key, value);
+    return this;
+  }
+
+  public LoggingEventBuilder addKeyValue(final String key, final Supplier<Object> supplier) {
+    if (builder.isEnabled()) {
+      builder.field(key, supplier.get());
+    }
+    return this;
+  }
+
+  public LoggingEventBuilder setMessage(final String message) {
+    builder.message(message);
+    messageSupplier = null;
+    return this;
+  }
+
+  public LoggingEventBuilder setMessage(final Supplier<String> supplier) {
+    messageSupplier = supplier;
+    return this;
+  }
+
+  public void log() {
+    if (messageSupplier != null && builder.isEnabled()) {
+      builder.message(messageSupplier.get());
+    }
+    builder.log();
+  }
+
+  public void log(final String message) {
+    setMessage(message);
+    log();
+  }
+
+  public void log(final String message, @Nullable final Object arg) {
+    setMessage(message);
+    builder.arg(arg);
+    log();
+  }
+
+  public void log(final String message, @Nullable final Object arg1, @Nullable final Object arg2) {
+    setMessage(message);
+    builder.arg(arg1).arg(arg2);
+    log();
+  }
+
+  public void log(final String message, @Nullable final Object... args) {
+    setMessage(message);
+    if (args != null) {
+      for (Object arg : args) {
+        builder.arg(arg);
+      }
+    }
+    log();
+  }
+
+  public void log(final Supplier<String> supplier) {
+    setMessage(supplier);
+    log();
+  }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2009-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.planet57.gossip.slf4j;
+
+import org.slf4j.ILoggerFactory;
+import org.slf4j.IMarkerFactory;
+import org.slf4j.helpers.BasicMarkerFactory;
+import org.slf4j.spi.MDCAdapter;
+import org.slf4j.spi.SLF4JServiceProvider;
+import com.planet57.gossip.Gossip;
+import com.planet57.gossip.Log;
+
+/**
+ * Gossip provider for SLF4J 2.x.
+ *
+ * @since 2.0.1
+ */
+public class GossipServiceProvider
+    implements SLF4JServiceProvider
+{
+  public static String REQUESTED_API_VERSION = "2.0.99";  // to avoid constant folding by the compiler, this field must *not* be final
+
+  private ILoggerFactory loggerFactory;
+
+  private IMarkerFactory markerFactory;
+
+  private MDCAdapter mdcAdapter;
+
+  public void initialize() {
+    Gossip gossip = Gossip.getInstance();
+    Log.configure(gossip);
+    loggerFactory = new LoggerFactoryAdapter(gossip);
+    markerFactory = new BasicMarkerFactory();
+    mdcAdapter = new DequeMDCAdapter();
+  }
+
+  public ILoggerFactory getLoggerFactory() {
+    return loggerFactory;
+  }
+
+  public IMarkerFactory getMarkerFactory() {
+    return markerFactory;
+  }
+
+  public MDCAdapter getMDCAdapter() {
+    return mdcAdapter;
+  }
+
+  public String getRequestedApiVersion() {
+    return REQUESTED_API_VERSION;
+  }
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2009-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.planet57.gossip.slf4j;
+
+import javax.annotation.Nullable;
+
+import org.slf4j.Marker;
+import org.slf4j.event.Level;
+import org.slf4j.helpers.AbstractLogger;
+import org.slf4j.spi.LocationAwareLogger;
+import org.slf4j.spi.LoggingEventBuilder;
+import com.planet57.gossip.LoggerSupport;
+
+/**
+ * SLF4J 2.x {@link org.slf4j.Logger} adapter for Gossip loggers.
+ *
+ * Fluent events are built by {@link GossipLoggingEventBuilder} instead of the generic SLF4J builder.
+ * Bridges logging through {@link LocationAwareLogger} are passed straight to the delegate.
+ *
+ * @since 2.0.1
+ */
+public class LoggerAdapter
+    extends AbstractLogger
+    implements LocationAwareLogger
+{
+  /**
+   * Events logged through the {@link org.slf4j.Logger} methods are logged through {@link AbstractLogger}.
+   */
+  private static final String FQCN = AbstractLogger.class.getName();
+
+  private static final long serialVersionUID = 1;
+
+  private final LoggerSupport delegate;
+
+  public LoggerAdapter(final LoggerSupport delegate) {
+    this.delegate = delegate;
+    this.name = delegate.getName();
+  }
+
+  public LoggerSupport getDelegate() {
+    return delegate;
+  }
+
+  static com.planet57.gossip.Level toLevel(final Level level) {
+    switch (level) {
+      case TRACE:
+        return com.planet57.gossip.Level.TRACE;
+      case DEBUG:
+        return com.planet57.gossip.Level.DEBUG;
+      case INFO:
+        return com.planet57.gossip.Level.INFO;
+      case WARN:
+        return com.planet57.gossip.Level.WARN;
+      case ERROR:
+        return com.planet57.gossip.Level.ERROR;
+      default:
+        throw new InternalError();
+    }
+  }
+
+  @Override
+  public LoggingEventBuilder makeLoggingEventBuilder(final Level level) {
+    return new GossipLoggingEventBuilder(delegate, toLevel(level));
+  }
+
+  @Override
+  protected String getFullyQualifiedCallerName() {
+    return FQCN;
+  }
+
+  @Override
+  protected void handleNormalizedLoggingCall(final Level level,
+                                             @Nullable final Marker marker,
+                                             final String messagePattern,
+                                             @Nullable final Object[] arguments,
+                                             @Nullable final Throwable throwable)
+  {
+    // arguments are normalized; a trailing throwable has already been taken as the cause
+    delegate.log(marker, FQCN, level.toInt(), messagePattern, arguments, throwable);
+  }
+
+  public void log(@Nullable final Marker marker,
+                  final String fqcn,
+                  final int level,
+                  final String message,
+                  @Nullable final Object[] args,
+                  @Nullable final Throwable cause)
+  {
+    delegate.log(marker, fqcn, level, message, args, cause);
+  }
+
+  public boolean isTraceEnabled() {
+    return delegate.isTraceEnabled();
+  }
+
+  public boolean isTraceEnabled(final Marker marker) {
+    return delegate.isTraceEnabled();
+  }
+
+  public boolean isDebugEnabled() {
+    return delegate.isDebugEnabled();
+  }
+
+  public boolean isDebugEnabled(final Marker marker) {
+    return delegate.isDebugEnabled();
+  }
+
+  public boolean isInfoEnabled() {
+    return delegate.isInfoEnabled();
+  }
+
+  public boolean isInfoEnabled(final Marker marker) {
+    return delegate.isInfoEnabled();
+  }
+
+  public boolean isWarnEnabled() {
+    return delegate.isWarnEnabled();
+  }
+
+  public boolean isWarnEnabled(final Marker marker) {
+    return delegate.isWarnEnabled();
+  }
+
+  public boolean isErrorEnabled() {
+    return delegate.isErrorEnabled();
+  }
+
+  public boolean isErrorEnabled(final Marker marker) {
+    return delegate.isErrorEnabled();
+  }
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright (c) 2009-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.planet57.gossip.slf4j;
+
+import org.slf4j.ILoggerFactory;
+import org.slf4j.Logger;
+import com.planet57.gossip.Gossip;
+
+/**
+ * Adapts {@link Gossip} loggers to the SLF4J 2.x {@link Logger} interface.
+ *
+ * Adapters are not cached; they hold no state, and holding them would keep otherwise unused loggers registered.
+ *
+ * @since 2.0.1
+ */
+public class LoggerFactoryAdapter
+    implements ILoggerFactory
+{
+  private final Gossip gossip;
+
+  public LoggerFactoryAdapter(final Gossip gossip) {
+    if (gossip == null) {
+      throw new NullPointerException();
+    }
+    this.gossip = gossip;
+  }
+
+  public Logger getLogger(final String name) {
+    return new LoggerAdapter(gossip.getLogger(name));
+  }
+}
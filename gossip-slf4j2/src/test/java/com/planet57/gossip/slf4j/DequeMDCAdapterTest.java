@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2009-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.planet57.gossip.slf4j;
+
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link DequeMDCAdapter}.
+ */
+public class DequeMDCAdapterTest
+{
+  private final DequeMDCAdapter mdc = new DequeMDCAdapter();
+
+  @After
+  public void tearDown() {
+    mdc.clear();
+    mdc.clearDequeByKey("key");
+  }
+
+  @Test
+  public void testPushPopPeek() {
+    mdc.pushByKey("key", "a");
+    mdc.pushByKey("key", "b");
+    assertEquals("b", mdc.getCopyOfDequeByKey("key").peek());
+
+    // copies are detached
+    mdc.getCopyOfDequeByKey("key").clear();
+
+    assertEquals("b", mdc.popByKey("key"));
+    assertEquals("a", mdc.getCopyOfDequeByKey("key").peek());
+    assertEquals("a", mdc.popByKey("key"));
+    assertNull(mdc.popByKey("key"));
+  }
+
+  @Test
+  public void testClear() {
+    mdc.pushByKey("key", "a");
+    mdc.pushByKey("key", "b");
+    mdc.clearDequeByKey("key");
+    assertNull(mdc.popByKey("key"));
+    assertTrue(mdc.getCopyOfDequeByKey("key").isEmpty());
+
+    assertNull(mdc.popByKey("missing"));
+    assertNull(mdc.getCopyOfDequeByKey("missing"));
+  }
+
+  @Test
+  public void testSeparateFromContext() {
+    mdc.put("key", "value");
+    mdc.pushByKey("key", "pushed");
+
+    Map<String, String> context = mdc.getCopyOfContextMap();
+    assertEquals(1, context.size());
+    assertEquals("value", context.get("key"));
+    assertEquals("pushed", mdc.popByKey("key"));
+
+    mdc.clear();
+    assertNull(mdc.get("key"));
+  }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2009-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.planet57.gossip.slf4j;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import com.planet57.gossip.Gossip;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link GossipServiceProvider}.
+ */
+public class GossipServiceProviderTest
+{
+  @Before
+  public void setUp() {
+    // levels below the early-event threshold are disabled until configured
+    assertTrue(Gossip.getInstance().awaitConfiguration(10, TimeUnit.SECONDS));
+  }
+
+  @Test
+  public void testDiscovered() {
+    assertTrue(LoggerFactory.getILoggerFactory() instanceof LoggerFactoryAdapter);
+
+    Logger log = LoggerFactory.getLogger(getClass());
+    assertTrue(log instanceof LoggerAdapter);
+    assertTrue(log.atError() instanceof GossipLoggingEventBuilder);
+  }
+
+  @Test
+  public void testSuppliersOnlyEvaluatedWhenEnabled() {
+    Logger log = LoggerFactory.getLogger(getClass());
+
+    final AtomicInteger calls = new AtomicInteger();
+    Supplier<Object> supplier = new Supplier<Object>()
+    {
+      public Object get() {
+        return calls.incrementAndGet();
+      }
+    };
+
+    log.atTrace().addArgument(supplier).addKeyValue("key", supplier).log("trace {}");
+    assertEquals(0, calls.get());
+
+    log.atError().addArgument(supplier).addKeyValue("key", supplier).log("error {}");
+    assertEquals(2, calls.get());
+  }
+}
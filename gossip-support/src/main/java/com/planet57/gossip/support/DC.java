@@ -15,15 +15,24 @@
  */
 package com.planet57.gossip.support;
 
+import com.planet57.gossip.ContextMap;
+import com.planet57.gossip.GossipMDCAdapter;
 import org.slf4j.MDC;
 
-import java.util.HashMap;
-import java.util.LinkedList;
-import java.util.Map;
+import java.io.Serializable;
+import java.util.NoSuchElementException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+
+import javax.annotation.Nullable;
 
 /**
  * Diagnostic context; provides map and stack facilities.
  *
+ * State is held structured and immutable; each update replaces the state of the current thread, so state may be
+ * shared with other threads without copying.  When the Slf4j MDC is backed by {@link GossipMDCAdapter} the state
+ * is published as-is and only rendered when read, otherwise the rendered state is published on each update.
+ *
  * @author <a href="mailto:jason@planet57.com">Jason Dillon</a>
  * @since 1.6
  */
@@ -51,73 +60,117 @@ public class DC
   /**
    * Container for thread diagnostic context state.
    *
+   * Immutable; {@link #toString()} renders the published value, cached on first use.
+   *
    * @since 1.7
    */
   public static class State
+      implements Serializable
   {
-    private final Map<String, String> map;
+    private static final long serialVersionUID = 1;
+
+    private static final State EMPTY = new State(ContextMap.EMPTY, null);
+
+    private final ContextMap map;
 
-    private final LinkedList<String> stack;
+    @Nullable
+    private final Node stack;
 
-    private State() {
-      this.map = new HashMap<String, String>();
-      this.stack = new LinkedList<String>();
+    @Nullable
+    private transient String rendered;
+
+    private State(final ContextMap map, @Nullable final Node stack) {
+      this.map = map;
+      this.stack = stack;
     }
 
-    private State(final State source) {
-      this();
-      checkNotNull(source);
-      this.map.putAll(source.map);
-      this.stack.addAll(source.stack);
+    private boolean isEmpty() {
+      return map.isEmpty() && stack == null;
     }
 
-    @Override
-    public String toString() {
-      return "State{" +
-          "map=" + map +
-          ", stack=" + stack +
-          '}';
+    private State withMap(final ContextMap map) {
+      return map == this.map ? this : new State(map, stack);
     }
-  }
 
-  private static InheritableThreadLocal<State> stateHolder = new InheritableThreadLocal<State>()
-  {
-    @Override
-    protected State initialValue() {
-      return new State();
+    private State withStack(@Nullable final Node stack) {
+      return new State(map, stack);
     }
 
-    @Override
-    protected State childValue(final State parentValue) {
-      return new State(parentValue);
+    private void render(final StringBuilder buff) {
+      // Append the stack if there is one
+      if (stack != null) {
+        buff.append('[');
+        for (Node node = stack; node != null; node = node.next) {
+          buff.append(node.value);
+          if (node.next != null) {
+            buff.append(", ");
+          }
+        }
+        buff.append(']');
+      }
+
+      if (!map.isEmpty()) {
+        // Append the context if there is some
+        if (stack != null) {
+          buff.append(SEPARATOR);
+        }
+        buff.append('{');
+        map.appendTo(buff);
+        buff.append('}');
+      }
     }
-  };
 
-  private static State state() {
-    return stateHolder.get();
+    /**
+     * Returns the published value; {@link #PREFIX} and the rendered state.
+     */
+    @Override
+    public String toString() {
+      String result = rendered;
+      if (result == null) {
+        StringBuilder buff = new StringBuilder(PREFIX);
+        render(buff);
+        rendered = result = buff.toString();
+      }
+      return result;
+    }
   }
 
   /**
-   * Helper to get {@link State#map}.
+   * Immutable stack node.
    */
-  private static Map<String, String> map() {
-    return state().map;
+  private static final class Node
+      implements Serializable
+  {
+    private static final long serialVersionUID = 1;
+
+    private final String value;
+
+    @Nullable
+    private final Node next;
+
+    private Node(final String value, @Nullable final Node next) {
+      this.value = value;
+      this.next = next;
+    }
   }
 
   /**
-   * Helper to get {@link State#stack}.
+   * State is immutable; child threads share the state of the parent.
    */
-  private static LinkedList<String> stack() {
-    return state().stack;
+  private static final InheritableThreadLocal<State> stateHolder = new InheritableThreadLocal<State>();
+
+  private static State state() {
+    State state = stateHolder.get();
+    return state != null ? state : State.EMPTY;
   }
 
   /**
-   * Get a copy of the state for the current thread.
+   * Get the state for the current thread.
    *
    * @since 1.7
    */
   public static State getState() {
-    return new State(state());
+    return state();
   }
 
   /**
@@ -127,8 +180,7 @@ public class DC
    */
   public static void setState(final State state) {
     checkNotNull(state);
-    stateHolder.set(state);
-    update();
+    update(state);
   }
 
   /**
@@ -147,36 +199,26 @@ public class DC
    * @since 1.7
    */
   public static StringBuilder render() {
-    State state = state();
     StringBuilder buff = new StringBuilder();
-
-    // Append the stack if there is one
-    if (!state.stack.isEmpty()) {
-      buff.append(state.stack);
-    }
-
-    if (!state.map.isEmpty()) {
-      // Append the context if there is some
-      if (buff.length() != 0) {
-        buff.append(SEPARATOR);
-      }
-      buff.append(state.map);
-    }
-
+    state().render(buff);
     return buff;
   }
 
   /**
-   * Updates and <em>publishes</em> the rendered state to the Slf4j MDC.
+   * Updates the current threads state and <em>publishes</em> it to the Slf4j MDC.
    */
-  private static void update() {
-    StringBuilder buff = render();
-    if (buff.length() != 0) {
-      buff.insert(0, PREFIX);
-      MDC.put(KEY, buff.toString());
+  private static void update(final State state) {
+    if (state.isEmpty()) {
+      reset();
     }
     else {
-      reset();
+      stateHolder.set(state);
+      if (MDC.getMDCAdapter() instanceof GossipMDCAdapter) {
+        GossipMDCAdapter.putValue(KEY, state);
+      }
+      else {
+        MDC.put(KEY, state.toString());
+      }
     }
   }
 
@@ -184,8 +226,8 @@ public class DC
 
   public static void put(final Object key, final Object value) {
     checkNotNull(key);
-    map().put(key.toString(), String.valueOf(value));
-    update();
+    State state = state();
+    update(state.withMap(state.map.with(key.toString(), String.valueOf(value))));
   }
 
   public static void put(final Class key, final Object value) {
@@ -210,20 +252,20 @@ public class DC
   public static RestoreHandle install(final Object key, final Object value) {
     checkNotNull(key);
     final String _key = String.valueOf(key);
-    final Map<String, String> map = map();
-    final boolean exists = map.containsKey(_key);
-    final Object prev = map().put(_key, String.valueOf(value));
-    update();
+    State state = state();
+    final boolean exists = state.map.containsKey(_key);
+    final String prev = state.map.get(_key);
+    update(state.withMap(state.map.with(_key, String.valueOf(value))));
     return new RestoreHandle()
     {
       public void restore() {
+        State state = state();
         if (exists) {
-          map.put(_key, String.valueOf(prev));
+          update(state.withMap(state.map.with(_key, String.valueOf(prev))));
         }
         else {
-          map.remove(_key);
+          update(state.withMap(state.map.without(_key)));
         }
-        update();
       }
     };
   }
@@ -238,7 +280,7 @@ public class DC
 
   public static String get(final Object key) {
     checkNotNull(key);
-    return map().get(key.toString());
+    return state().map.get(key.toString());
   }
 
   public static String get(final Class key) {
@@ -248,8 +290,8 @@ public class DC
 
   public static void remove(final Object key) {
     checkNotNull(key);
-    map().remove(key.toString());
-    update();
+    State state = state();
+    update(state.withMap(state.map.without(key.toString())));
   }
 
   public static void remove(final Class key) {
@@ -261,18 +303,85 @@ public class DC
 
   public static void push(final Object value) {
     checkNotNull(value);
-    stack().addFirst(value.toString());
-    update();
+    State state = state();
+    update(state.withStack(new Node(value.toString(), state.stack)));
   }
 
   public static String pop() {
-    String value = stack().removeFirst();
-    update();
-    return value;
+    State state = state();
+    if (state.stack == null) {
+      throw new NoSuchElementException();
+    }
+    update(state.withStack(state.stack.next));
+    return state.stack.value;
   }
 
   public static String peek() {
-    return stack().peek();
+    Node stack = state().stack;
+    return stack != null ? stack.value : null;
+  }
+
+  // Propagation
+
+  /**
+   * Wrap a task to run with the state of the current thread; the state of the running thread is restored after.
+   *
+   * @since 2.0.1
+   */
+  public static Runnable wrap(final Runnable task) {
+    checkNotNull(task);
+    final State captured = state();
+    return new Runnable()
+    {
+      public void run() {
+        State previous = state();
+        update(captured);
+        try {
+          task.run();
+        }
+        finally {
+          update(previous);
+        }
+      }
+    };
+  }
+
+  /**
+   * Wrap a task to call with the state of the current thread; the state of the calling thread is restored after.
+   *
+   * @since 2.0.1
+   */
+  public static <T> Callable<T> wrap(final Callable<T> task) {
+    checkNotNull(task);
+    final State captured = state();
+    return new Callable<T>()
+    {
+      public T call() throws Exception {
+        State previous = state();
+        update(captured);
+        try {
+          return task.call();
+        }
+        finally {
+          update(previous);
+        }
+      }
+    };
+  }
+
+  /**
+   * Wrap an executor to run tasks with the state of the thread which submitted them.
+   *
+   * @since 2.0.1
+   */
+  public static Executor wrap(final Executor executor) {
+    checkNotNull(executor);
+    return new Executor()
+    {
+      public void execute(final Runnable task) {
+        executor.execute(wrap(task));
+      }
+    };
   }
 
   // Misc Helpers
@@ -287,4 +396,4 @@ public class DC
     }
     return reference;
   }
-}
\ No newline at end of file
+}
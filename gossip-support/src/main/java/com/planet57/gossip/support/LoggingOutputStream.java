@@ -20,10 +20,29 @@ import org.slf4j.Logger;
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
 
 /**
  * {@link OutputStream} which logs lines to a {@link Logger}.
  *
+ * Bytes are decoded with the given charset and split into lines on CR, LF or CRLF; each non-blank line is logged
+ * without its terminator.  Partial lines are held until terminated or the stream is closed.  Nothing is buffered
+ * while the level is disabled for the logger.
+ *
+ * Each thread has its own buffer, so lines written concurrently are not interleaved; closing logs the partial lines
+ * of all threads.  Output written by a thread while it is logging a line (ie. by a console listener writing to the
+ * redirected stream) is discarded.
+ *
  * @author <a href="mailto://Jim.Moore@rocketmail.com">Jim Moore</a>
  * @author <a href="mailto:jason@planet57.com">Jason Dillon</a>
  * @link https://github.com/apache/log4j/blob/trunk/contribs/JimMoore/LoggingOutputStream.java
@@ -32,136 +51,287 @@ import java.io.OutputStream;
 public class LoggingOutputStream
     extends OutputStream
 {
-  protected static final String LINE_SEPERATOR = System.getProperty("line.separator");
-
   /**
-   * Used to maintain the contract of {@link #close()}.
+   * The default number of bytes decoded at once.
    */
-  protected boolean hasBeenClosed = false;
+  public static final int DEFAULT_BUFFER_LENGTH = 2048;
 
-  /**
-   * The internal buffer where data is stored.
-   */
-  protected byte[] buf;
+  protected final Logger logger;
 
-  /**
-   * The number of valid bytes in the buffer. This value is always in the range <tt>0</tt> through <tt>buf.length</tt>;
-   * elements <tt>buf[0]</tt>
-   * through <tt>buf[count-1]</tt> contain valid byte data.
-   */
-  protected int count;
+  protected final Level level;
 
-  /**
-   * Remembers the size of the buffer for speed.
-   */
-  private int bufLength;
+  private final Charset charset;
+
+  private final ThreadLocal<LineBuffer> buffers = new ThreadLocal<LineBuffer>()
+  {
+    @Override
+    protected LineBuffer initialValue() {
+      LineBuffer buffer = new LineBuffer(logger, level, charset);
+      synchronized (threads) {
+        threads.put(Thread.currentThread(), buffer);
+      }
+      return buffer;
+    }
+  };
 
   /**
-   * The default number of bytes in the buffer. =2048
+   * Buffers of all threads, for closing; weakly keyed so buffers of terminated threads are released.
    */
-  public static final int DEFAULT_BUFFER_LENGTH = 2048;
-
-  protected Logger logger;
+  private final Map<Thread, LineBuffer> threads = new WeakHashMap<Thread, LineBuffer>();
 
-  protected Level level;
+  private volatile boolean closed;
 
   public LoggingOutputStream(final Logger logger, final Level level) {
+    this(logger, level, Charset.defaultCharset());
+  }
+
+  /**
+   * @since 2.0.1
+   */
+  public LoggingOutputStream(final Logger logger, final Level level, final Charset charset) {
     if (logger == null) {
       throw new NullPointerException();
     }
     if (level == null) {
       throw new NullPointerException();
     }
+    if (charset == null) {
+      throw new NullPointerException();
+    }
 
-    this.level = level;
     this.logger = logger;
-    bufLength = DEFAULT_BUFFER_LENGTH;
-    buf = new byte[DEFAULT_BUFFER_LENGTH];
-    count = 0;
+    this.level = level;
+    this.charset = charset;
   }
 
-
   /**
-   * Closes this output stream and releases any system resources associated with this stream. The general contract of
-   * <code>close</code> is that it
-   * closes the output stream. A closed stream cannot perform output operations and cannot be reopened.
+   * @since 2.0.1
    */
-  public void close() {
-    flush();
-    hasBeenClosed = true;
+  public Charset getCharset() {
+    return charset;
   }
 
-
-  /**
-   * Writes the specified byte to this output stream. The general contract for <code>write</code> is that one byte is
-   * written to the output stream. The
-   * byte to be written is the eight low-order bits of the argument <code>b</code>. The 24 high-order bits of
-   * <code>b</code> are ignored.
-   *
-   * @param b the <code>byte</code> to write
-   * @throws IOException if an I/O error occurs. In particular, an <code>IOException</code> may be thrown if the output
-   *                     stream has been closed.
-   */
-  public void write(final int b) throws IOException {
-    if (hasBeenClosed) {
+  private void ensureOpen() throws IOException {
+    if (closed) {
       throw new IOException("The stream has been closed.");
     }
+  }
 
-    // don't log nulls
-    if (b == 0) {
-      return;
+  @Override
+  public void write(final int b) throws IOException {
+    ensureOpen();
+    if (level.isEnabled(logger)) {
+      buffers.get().write(b);
     }
+  }
 
-    // would this be writing past the buffer?
-    if (count == bufLength) {
-      // grow the buffer
-      final int newBufLength = bufLength + DEFAULT_BUFFER_LENGTH;
-      final byte[] newBuf = new byte[newBufLength];
+  @Override
+  public void write(final byte[] b, final int off, final int len) throws IOException {
+    if (b == null) {
+      throw new NullPointerException();
+    }
+    if (off < 0 || len < 0 || off + len > b.length || off + len < 0) {
+      throw new IndexOutOfBoundsException();
+    }
+    ensureOpen();
+    if (len != 0 && level.isEnabled(logger)) {
+      buffers.get().write(b, off, len);
+    }
+  }
 
-      System.arraycopy(buf, 0, newBuf, 0, bufLength);
+  /**
+   * Decodes bytes written by the current thread; partial lines are held until terminated.
+   */
+  @Override
+  public void flush() {
+    if (!closed) {
+      buffers.get().decode(false);
+    }
+  }
 
-      buf = newBuf;
-      bufLength = newBufLength;
+  /**
+   * Closes this stream, logging any partial lines of all threads.
+   */
+  @Override
+  public void close() {
+    if (closed) {
+      return;
     }
+    closed = true;
 
-    buf[count] = (byte) b;
-    count++;
+    List<LineBuffer> pending;
+    synchronized (threads) {
+      pending = new ArrayList<LineBuffer>(threads.values());
+      threads.clear();
+    }
+    for (LineBuffer buffer : pending) {
+      buffer.close();
+    }
+    buffers.remove();
   }
 
   /**
-   * Flushes this output stream and forces any buffered output bytes to be written out. The general contract of
-   * <code>flush</code> is that calling it
-   * is an indication that, if any bytes previously written have been buffered by the implementation of the output
-   * stream, such bytes should
-   * immediately be written to their intended destination.
+   * Per-thread decoder and line buffer; synchronized only so {@link #close()} may flush it from another thread.
+   *
+   * Static, as threads hold their buffer; referencing the stream would keep it, and its thread-local, reachable from
+   * every thread which wrote to it.
    */
-  public void flush() {
-    if (count == 0) {
-      return;
+  private static final class LineBuffer
+  {
+    private final Logger logger;
+
+    private final Level level;
+
+    private final CharsetDecoder decoder;
+
+    private final ByteBuffer bytes = ByteBuffer.allocate(DEFAULT_BUFFER_LENGTH);
+
+    private final CharBuffer chars = CharBuffer.allocate(DEFAULT_BUFFER_LENGTH);
+
+    private final StringBuilder line = new StringBuilder();
+
+    /**
+     * True if the last character was CR; so the LF of CRLF does not end another line.
+     */
+    private boolean afterCR;
+
+    /**
+     * True while logging; guards against output of listeners writing to this stream.
+     */
+    private boolean logging;
+
+    LineBuffer(final Logger logger, final Level level, final Charset charset) {
+      this.logger = logger;
+      this.level = level;
+      this.decoder = charset.newDecoder()
+          .onMalformedInput(CodingErrorAction.REPLACE)
+          .onUnmappableCharacter(CodingErrorAction.REPLACE);
     }
 
-    // don't print out blank lines; flushing from PrintStream puts out these
-    if (count == LINE_SEPERATOR.length()) {
-      if (((char) buf[0]) == LINE_SEPERATOR.charAt(0) &&
-          ((count == 1) ||  // <- Unix & Mac, -> Windows
-              ((count == 2) && ((char) buf[1]) == LINE_SEPERATOR.charAt(1)))) {
-        reset();
+    synchronized void write(final int b) {
+      if (logging) {
         return;
       }
+      bytes.put((byte) b);
+      if (b == '\n' || b == '\r' || !bytes.hasRemaining()) {
+        decode(false);
+      }
     }
 
-    final byte[] theBytes = new byte[count];
+    synchronized void write(final byte[] b, int off, int len) {
+      if (logging) {
+        return;
+      }
+      while (len > 0) {
+        int n = Math.min(len, bytes.remaining());
+        bytes.put(b, off, n);
+        off += n;
+        len -= n;
+        decode(false);
+      }
+    }
 
-    System.arraycopy(buf, 0, theBytes, 0, count);
+    /**
+     * Decode pending bytes; incomplete sequences remain pending unless at the end of input.
+     */
+    synchronized void decode(final boolean endOfInput) {
+      if (logging) {
+        return;
+      }
+      bytes.flip();
+      CoderResult result;
+      do {
+        result = decoder.decode(bytes, chars, endOfInput);
+        drain();
+      }
+      while (result.isOverflow());
+      if (endOfInput) {
+        while (decoder.flush(chars).isOverflow()) {
+          drain();
+        }
+        drain();
+        decoder.reset();
+      }
+      bytes.compact();
+    }
 
-    level.log(logger, new String(theBytes));
+    private void drain() {
+      chars.flip();
+      while (chars.hasRemaining()) {
+        char c = chars.get();
+        if (c == '\n' || c == '\r') {
+          if (c == '\r' || !afterCR) {
+            emit();
+          }
+          afterCR = c == '\r';
+        }
+        else {
+          afterCR = false;
+          // don't log nulls
+          if (c != 0) {
+            line.append(c);
+          }
+        }
+      }
+      chars.clear();
+    }
+
+    synchronized void close() {
+      decode(true);
+      emit();
+    }
 
-    reset();
+    private void emit() {
+      // don't log blank lines
+      if (line.length() == 0) {
+        return;
+      }
+      String message = line.toString();
+      line.setLength(0);
+      logging = true;
+      try {
+        level.log(logger, message);
+      }
+      finally {
+        logging = false;
+      }
+    }
   }
 
-  private void reset() {
-    // not resetting the buffer -- assuming that if it grew that it
-    //   will likely grow similarly again
-    count = 0;
+  //
+  // Helpers
+  //
+
+  /**
+   * Create a {@link PrintStream} which logs lines to the given logger.
+   *
+   * @since 2.0.1
+   */
+  public static PrintStream createPrintStream(final Logger logger, final Level level) {
+    return new PrintStream(new LoggingOutputStream(logger, level), false);
+  }
+
+  /**
+   * Install a {@link PrintStream} which logs lines to the given logger as {@link System#out}.
+   *
+   * @return the previous {@link System#out}
+   * @since 2.0.1
+   */
+  public static PrintStream installOut(final Logger logger, final Level level) {
+    PrintStream previous = System.out;
+    System.setOut(createPrintStream(logger, level));
+    return previous;
+  }
+
+  /**
+   * Install a {@link PrintStream} which logs lines to the given logger as {@link System#err}.
+   *
+   * @return the previous {@link System#err}
+   * @since 2.0.1
+   */
+  public static PrintStream installErr(final Logger logger, final Level level) {
+    PrintStream previous = System.err;
+    System.setErr(createPrintStream(logger, level));
+    return previous;
   }
 }
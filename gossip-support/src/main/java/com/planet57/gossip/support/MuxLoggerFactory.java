@@ -15,11 +15,22 @@
  */
 package com.planet57.gossip.support;
 
+import com.planet57.gossip.Level;
+import com.planet57.gossip.LoggerSupport;
+import com.planet57.gossip.MessageTemplate;
 import org.slf4j.Logger;
+import org.slf4j.Marker;
+import org.slf4j.spi.LocationAwareLogger;
 
-import java.lang.reflect.InvocationHandler;
-import java.lang.reflect.Method;
-import java.lang.reflect.Proxy;
+import java.util.Arrays;
+
+import javax.annotation.Nullable;
+
+import static com.planet57.gossip.Level.DEBUG;
+import static com.planet57.gossip.Level.ERROR;
+import static com.planet57.gossip.Level.INFO;
+import static com.planet57.gossip.Level.TRACE;
+import static com.planet57.gossip.Level.WARN;
 
 /**
  * Factory to produce a multiplexing {@link Logger}.
@@ -30,45 +41,518 @@ import java.lang.reflect.Proxy;
 public class MuxLoggerFactory
 {
   /**
-   * @param loggers The first logger will be responsible for all methods which return values, otherwise all loggers are
-   *                invoked in order.
+   * @param loggers The first logger will be responsible for {@link Logger#getName()}; level checks are enabled if any
+   *                logger is enabled, otherwise all loggers are invoked in order.
    */
   public static Logger create(final Logger... loggers) {
-    return (Logger) Proxy
-        .newProxyInstance(Logger.class.getClassLoader(), new Class[]{Logger.class}, new Handler(loggers));
+    return new MuxLogger(loggers);
   }
 
-  private static class Handler
-      implements InvocationHandler
+  /**
+   * Fans out to target loggers directly.
+   *
+   * Formatted messages are rendered at most once and shared by all Gossip ({@link LoggerSupport}) targets;
+   * other targets are handed the original format and arguments, through {@link LocationAwareLogger} where supported
+   * so callers are found past this logger.
+   */
+  private static final class MuxLogger
+      implements Logger
   {
+    private static final String FQCN = MuxLogger.class.getName();
+
     private final Logger[] loggers;
 
-    private Handler(final Logger[] loggers) {
+    /**
+     * Parallel to {@link #loggers}; non-null where the target is a {@link LoggerSupport}.
+     */
+    private final LoggerSupport[] gossip;
+
+    private MuxLogger(final Logger[] loggers) {
       assert loggers != null;
       assert loggers.length > 0;
-      this.loggers = loggers;
+      this.loggers = loggers.clone();
+      this.gossip = new LoggerSupport[loggers.length];
+      for (int i = 0; i < loggers.length; i++) {
+        if (loggers[i] instanceof LoggerSupport) {
+          gossip[i] = (LoggerSupport) loggers[i];
+        }
+      }
+    }
+
+    @Override
+    public String toString() {
+      return getClass().getSimpleName() + "{loggers=" + Arrays.asList(loggers) + '}';
+    }
+
+    public String getName() {
+      return loggers[0].getName();
+    }
+
+    private boolean isEnabled(final Level level) {
+      for (Logger logger : loggers) {
+        if (level.isEnabled(logger)) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    private void log(final Level level, final String msg) {
+      for (int i = 0; i < loggers.length; i++) {
+        if (gossip[i] != null) {
+          gossip[i].logFormatted(FQCN, level, msg, null);
+        }
+        else if (loggers[i] instanceof LocationAwareLogger) {
+          ((LocationAwareLogger) loggers[i]).log(null, FQCN, level.id, msg, null, null);
+        }
+        else {
+          level.log(loggers[i], msg);
+        }
+      }
+    }
+
+    private void log(final Level level, final String msg, final Throwable cause) {
+      for (int i = 0; i < loggers.length; i++) {
+        if (gossip[i] != null) {
+          gossip[i].logFormatted(FQCN, level, msg, cause);
+        }
+        else if (loggers[i] instanceof LocationAwareLogger) {
+          ((LocationAwareLogger) loggers[i]).log(null, FQCN, level.id, msg, null, cause);
+        }
+        else {
+          level.log(loggers[i], msg, cause);
+        }
+      }
     }
 
-    public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
-      assert proxy != null;
-      assert method != null;
+    private void log(final Level level, final String format, final Object arg) {
+      String message = null;
+      Throwable cause = null;
+      for (int i = 0; i < loggers.length; i++) {
+        LoggerSupport target = gossip[i];
+        if (target == null) {
+          if (!(loggers[i] instanceof LocationAwareLogger)) {
+            level.log(loggers[i], format, arg);
+          }
+          else if (level.isEnabled(loggers[i])) {
+            ((LocationAwareLogger) loggers[i]).log(null, FQCN, level.id, format, new Object[]{arg}, null);
+          }
+        }
+        else if (level.isEnabled(target)) {
+          if (message == null) {
+            Object[] args = {arg};
+            MessageTemplate template = MessageTemplate.of(format);
+            message = template.format(args);
+            cause = template.getCause(args);
+          }
+          target.logFormatted(FQCN, level, message, cause);
+        }
+      }
+    }
 
-      if (method.getDeclaringClass().equals(Object.class)) {
-        return method.invoke(this, args);
+    private void log(final Level level, final String format, final Object arg1, final Object arg2) {
+      String message = null;
+      Throwable cause = null;
+      for (int i = 0; i < loggers.length; i++) {
+        LoggerSupport target = gossip[i];
+        if (target == null) {
+          if (!(loggers[i] instanceof LocationAwareLogger)) {
+            level.log(loggers[i], format, arg1, arg2);
+          }
+          else if (level.isEnabled(loggers[i])) {
+            ((LocationAwareLogger) loggers[i]).log(null, FQCN, level.id, format, new Object[]{arg1, arg2}, null);
+          }
+        }
+        else if (level.isEnabled(target)) {
+          if (message == null) {
+            Object[] args = {arg1, arg2};
+            MessageTemplate template = MessageTemplate.of(format);
+            message = template.format(args);
+            cause = template.getCause(args);
+          }
+          target.logFormatted(FQCN, level, message, cause);
+        }
       }
-      else {
-        // For methods that return something, pick the first logger (mostly name + isEnabled() muck)
-        if (method.getReturnType() != Void.TYPE) {
-          return method.invoke(loggers[0], args);
+    }
+
+    private void log(final Level level, final String format, final Object[] args) {
+      String message = null;
+      Throwable cause = null;
+      for (int i = 0; i < loggers.length; i++) {
+        LoggerSupport target = gossip[i];
+        if (target == null) {
+          if (!(loggers[i] instanceof LocationAwareLogger)) {
+            level.log(loggers[i], format, args);
+          }
+          else if (level.isEnabled(loggers[i])) {
+            ((LocationAwareLogger) loggers[i]).log(null, FQCN, level.id, format, args, null);
+          }
+        }
+        else if (level.isEnabled(target)) {
+          if (message == null) {
+            MessageTemplate template = MessageTemplate.of(format);
+            message = template.format(args);
+            cause = template.getCause(args);
+          }
+          target.logFormatted(FQCN, level, message, cause);
         }
+      }
+    }
 
-        // Else invoke them all
-        for (Logger logger : loggers) {
-          method.invoke(logger, args);
+    /**
+     * Log with a marker; through {@link LocationAwareLogger} where supported, so callers are found past this logger.
+     */
+    private void log(final Level level,
+                     final Marker marker,
+                     final String format,
+                     @Nullable final Object[] args,
+                     @Nullable final Throwable cause)
+    {
+      for (Logger logger : loggers) {
+        if (logger instanceof LocationAwareLogger) {
+          ((LocationAwareLogger) logger).log(marker, FQCN, level.id, format, args, cause);
+        }
+        else if (args != null) {
+          log(logger, level, marker, format, args);
+        }
+        else {
+          log(logger, level, marker, format, cause);
         }
+      }
+    }
+
+    private static void log(final Logger logger, final Level level, final Marker marker, final String format, final Object[] args) {
+      switch (level) {
+        case TRACE:
+          logger.trace(marker, format, args);
+          break;
+        case DEBUG:
+          logger.debug(marker, format, args);
+          break;
+        case INFO:
+          logger.info(marker, format, args);
+          break;
+        case WARN:
+          logger.warn(marker, format, args);
+          break;
+        case ERROR:
+          logger.error(marker, format, args);
+          break;
+        default:
+          throw new UnsupportedOperationException();
+      }
+    }
 
-        return null; // void
+    private static void log(final Logger logger,
+                            final Level level,
+                            final Marker marker,
+                            final String msg,
+                            @Nullable final Throwable cause)
+    {
+      switch (level) {
+        case TRACE:
+          logger.trace(marker, msg, cause);
+          break;
+        case DEBUG:
+          logger.debug(marker, msg, cause);
+          break;
+        case INFO:
+          logger.info(marker, msg, cause);
+          break;
+        case WARN:
+          logger.warn(marker, msg, cause);
+          break;
+        case ERROR:
+          logger.error(marker, msg, cause);
+          break;
+        default:
+          throw new UnsupportedOperationException();
       }
     }
+
+    //
+    // TRACE
+    //
+
+    public boolean isTraceEnabled() {
+      return isEnabled(TRACE);
+    }
+
+    public void trace(final String msg) {
+      log(TRACE, msg);
+    }
+
+    public void trace(final String format, final Object arg) {
+      log(TRACE, format, arg);
+    }
+
+    public void trace(final String format, final Object arg1, final Object arg2) {
+      log(TRACE, format, arg1, arg2);
+    }
+
+    public void trace(final String format, final Object... args) {
+      log(TRACE, format, args);
+    }
+
+    public void trace(final String msg, final Throwable cause) {
+      log(TRACE, msg, cause);
+    }
+
+    public boolean isTraceEnabled(final Marker marker) {
+      for (Logger logger : loggers) {
+        if (logger.isTraceEnabled(marker)) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    public void trace(final Marker marker, final String msg) {
+      log(TRACE, marker, msg, null, null);
+    }
+
+    public void trace(final Marker marker, final String format, final Object arg) {
+      log(TRACE, marker, format, new Object[]{arg}, null);
+    }
+
+    public void trace(final Marker marker, final String format, final Object arg1, final Object arg2) {
+      log(TRACE, marker, format, new Object[]{arg1, arg2}, null);
+    }
+
+    public void trace(final Marker marker, final String format, final Object... args) {
+      log(TRACE, marker, format, args, null);
+    }
+
+    public void trace(final Marker marker, final String msg, final Throwable cause) {
+      log(TRACE, marker, msg, null, cause);
+    }
+
+    //
+    // DEBUG
+    //
+
+    public boolean isDebugEnabled() {
+      return isEnabled(DEBUG);
+    }
+
+    public void debug(final String msg) {
+      log(DEBUG, msg);
+    }
+
+    public void debug(final String format, final Object arg) {
+      log(DEBUG, format, arg);
+    }
+
+    public void debug(final String format, final Object arg1, final Object arg2) {
+      log(DEBUG, format, arg1, arg2);
+    }
+
+    public void debug(final String format, final Object... args) {
+      log(DEBUG, format, args);
+    }
+
+    public void debug(final String msg, final Throwable cause) {
+      log(DEBUG, msg, cause);
+    }
+
+    public boolean isDebugEnabled(final Marker marker) {
+      for (Logger logger : loggers) {
+        if (logger.isDebugEnabled(marker)) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    public void debug(final Marker marker, final String msg) {
+      log(DEBUG, marker, msg, null, null);
+    }
+
+    public void debug(final Marker marker, final String format, final Object arg) {
+      log(DEBUG, marker, format, new Object[]{arg}, null);
+    }
+
+    public void debug(final Marker marker, final String format, final Object arg1, final Object arg2) {
+      log(DEBUG, marker, format, new Object[]{arg1, arg2}, null);
+    }
+
+    public void debug(final Marker marker, final String format, final Object... args) {
+      log(DEBUG, marker, format, args, null);
+    }
+
+    public void debug(final Marker marker, final String msg, final Throwable cause) {
+      log(DEBUG, marker, msg, null, cause);
+    }
+
+    //
+    // INFO
+    //
+
+    public boolean isInfoEnabled() {
+      return isEnabled(INFO);
+    }
+
+    public void info(final String msg) {
+      log(INFO, msg);
+    }
+
+    public void info(final String format, final Object arg) {
+      log(INFO, format, arg);
+    }
+
+    public void info(final String format, final Object arg1, final Object arg2) {
+      log(INFO, format, arg1, arg2);
+    }
+
+    public void info(final String format, final Object... args) {
+      log(INFO, format, args);
+    }
+
+    public void info(final String msg, final Throwable cause) {
+      log(INFO, msg, cause);
+    }
+
+    public boolean isInfoEnabled(final Marker marker) {
+      for (Logger logger : loggers) {
+        if (logger.isInfoEnabled(marker)) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    public void info(final Marker marker, final String msg) {
+      log(INFO, marker, msg, null, null);
+    }
+
+    public void info(final Marker marker, final String format, final Object arg) {
+      log(INFO, marker, format, new Object[]{arg}, null);
+    }
+
+    public void info(final Marker marker, final String format, final Object arg1, final Object arg2) {
+      log(INFO, marker, format, new Object[]{arg1, arg2}, null);
+    }
+
+    public void info(final Marker marker, final String format, final Object... args) {
+      log(INFO, marker, format, args, null);
+    }
+
+    public void info(final Marker marker, final String msg, final Throwable cause) {
+      log(INFO, marker, msg, null, cause);
+    }
+
+    //
+    // WARN
+    //
+
+    public boolean isWarnEnabled() {
+      return isEnabled(WARN);
+    }
+
+    public void warn(final String msg) {
+      log(WARN, msg);
+    }
+
+    public void warn(final String format, final Object arg) {
+      log(WARN, format, arg);
+    }
+
+    public void warn(final String format, final Object arg1, final Object arg2) {
+      log(WARN, format, arg1, arg2);
+    }
+
+    public void warn(final String format, final Object... args) {
+      log(WARN, format, args);
+    }
+
+    public void warn(final String msg, final Throwable cause) {
+      log(WARN, msg, cause);
+    }
+
+    public boolean isWarnEnabled(final Marker marker) {
+      for (Logger logger : loggers) {
+        if (logger.isWarnEnabled(marker)) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    public void warn(final Marker marker, final String msg) {
+      log(WARN, marker, msg, null, null);
+    }
+
+    public void warn(final Marker marker, final String format, final Object arg) {
+      log(WARN, marker, format, new Object[]{arg}, null);
+    }
+
+    public void warn(final Marker marker, final String format, final Object arg1, final Object arg2) {
+      log(WARN, marker, format, new Object[]{arg1, arg2}, null);
+    }
+
+    public void warn(final Marker marker, final String format, final Object... args) {
+      log(WARN, marker, format, args, null);
+    }
+
+    public void warn(final Marker marker, final String msg, final Throwable cause) {
+      log(WARN, marker, msg, null, cause);
+    }
+
+    //
+    // ERROR
+    //
+
+    public boolean isErrorEnabled() {
+      return isEnabled(ERROR);
+    }
+
+    public void error(final String msg) {
+      log(ERROR, msg);
+    }
+
+    public void error(final String format, final Object arg) {
+      log(ERROR, format, arg);
+    }
+
+    public void error(final String format, final Object arg1, final Object arg2) {
+      log(ERROR, format, arg1, arg2);
+    }
+
+    public void error(final String format, final Object... args) {
+      log(ERROR, format, args);
+    }
+
+    public void error(final String msg, final Throwable cause) {
+      log(ERROR, msg, cause);
+    }
+
+    public boolean isErrorEnabled(final Marker marker) {
+      for (Logger logger : loggers) {
+        if (logger.isErrorEnabled(marker)) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    public void error(final Marker marker, final String msg) {
+      log(ERROR, marker, msg, null, null);
+    }
+
+    public void error(final Marker marker, final String format, final Object arg) {
+      log(ERROR, marker, format, new Object[]{arg}, null);
+    }
+
+    public void error(final Marker marker, final String format, final Object arg1, final Object arg2) {
+      log(ERROR, marker, format, new Object[]{arg1, arg2}, null);
+    }
+
+    public void error(final Marker marker, final String format, final Object... args) {
+      log(ERROR, marker, format, args, null);
+    }
+
+    public void error(final Marker marker, final String msg, final Throwable cause) {
+      log(ERROR, marker, msg, null, cause);
+    }
   }
-}
\ No newline at end of file
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2009-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.planet57.gossip.support;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.After;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Tests for {@link DC}.
+ */
+public class DCTest
+{
+  @After
+  public void tearDown() {
+    DC.reset();
+  }
+
+  @Test
+  public void testRender() {
+    DC.push("a");
+    DC.push("b");
+    DC.put("k", "v");
+    assertEquals("[b, a],{k=v}", DC.render().toString());
+    assertEquals("v", DC.get("k"));
+
+    assertEquals("b", DC.pop());
+    assertEquals("a", DC.peek());
+    DC.remove("k");
+    assertEquals("[a]", DC.render().toString());
+
+    DC.pop();
+    assertNull(DC.peek());
+    assertEquals("", DC.render().toString());
+  }
+
+  @Test
+  public void testInstall() {
+    DC.put("k", "v");
+    DC.RestoreHandle handle = DC.install("k", "w");
+    assertEquals("w", DC.get("k"));
+    handle.restore();
+    assertEquals("v", DC.get("k"));
+
+    handle = DC.install("x", "y");
+    handle.restore();
+    assertNull(DC.get("x"));
+  }
+
+  @Test
+  public void testStateRenderedOnce() {
+    DC.put("k", "v");
+    DC.State state = DC.getState();
+    assertEquals(DC.PREFIX + "{k=v}", state.toString());
+    assertSame(state.toString(), state.toString());
+
+    // state is immutable; updates do not affect a captured state
+    DC.put("k", "w");
+    assertEquals(DC.PREFIX + "{k=v}", state.toString());
+    DC.setState(state);
+    assertEquals("v", DC.get("k"));
+  }
+
+  @Test
+  public void testWrap() throws Exception {
+    final AtomicReference<String> seen = new AtomicReference<String>();
+    DC.put("k", "v");
+    Runnable task = DC.wrap(new Runnable()
+    {
+      public void run() {
+        seen.set(DC.get("k"));
+      }
+    });
+    Callable<String> call = DC.wrap(new Callable<String>()
+    {
+      public String call() {
+        return DC.get("k");
+      }
+    });
+    DC.reset();
+
+    DC.put("k", "other");
+    task.run();
+    assertEquals("v", seen.get());
+    assertEquals("v", call.call());
+    // state of the running thread is restored
+    assertEquals("other", DC.get("k"));
+  }
+
+  @Test
+  public void testWrapExecutor() throws Exception {
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      // start the worker before any state is set, so it is not inherited
+      executor.submit(new Runnable()
+      {
+        public void run() {
+        }
+      }).get();
+
+      final AtomicReference<String> seen = new AtomicReference<String>();
+      DC.push("request");
+      DC.wrap(executor).execute(new Runnable()
+      {
+        public void run() {
+          seen.set(DC.peek());
+        }
+      });
+      executor.submit(new Runnable()
+      {
+        public void run() {
+          // state is not left behind on the worker
+          assertNull(DC.peek());
+        }
+      }).get();
+      assertEquals("request", seen.get());
+    }
+    finally {
+      executor.shutdown();
+    }
+  }
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright (c) 2009-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.planet57.gossip.support;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.lang.ref.WeakReference;
+import java.nio.charset.Charset;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.planet57.gossip.Level;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Tests for {@link LoggingOutputStream}.
+ */
+public class LoggingOutputStreamTest
+{
+  private static final String NEWLINE = System.getProperty("line.separator");
+
+  private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+  private ByteArrayOutputStream out;
+
+  private PrintStreamLogger logger;
+
+  @Before
+  public void setUp() throws Exception {
+    out = new ByteArrayOutputStream();
+    logger = new PrintStreamLogger(new PrintStream(out, true, "UTF-8"), Level.INFO);
+    logger.setName("out");
+  }
+
+  @Test
+  public void testLines() throws Exception {
+    LoggingOutputStream stream = new LoggingOutputStream(logger, Level.INFO, UTF_8);
+    stream.write("a\nb\r\nc\rd\n\n".getBytes("UTF-8"));
+    stream.write('e');
+    stream.write("f".getBytes("UTF-8"));
+    stream.flush();
+    assertEquals("[INFO] out - a" + NEWLINE + "[INFO] out - b" + NEWLINE + "[INFO] out - c" + NEWLINE +
+        "[INFO] out - d" + NEWLINE, out.toString());
+
+    // partial line is logged on close
+    stream.close();
+    assertEquals("[INFO] out - a" + NEWLINE + "[INFO] out - b" + NEWLINE + "[INFO] out - c" + NEWLINE +
+        "[INFO] out - d" + NEWLINE + "[INFO] out - ef" + NEWLINE, out.toString());
+  }
+
+  @Test
+  public void testCloseLogsOtherThreads() throws Exception {
+    final LoggingOutputStream stream = new LoggingOutputStream(logger, Level.INFO, UTF_8);
+    Thread thread = new Thread()
+    {
+      @Override
+      public void run() {
+        try {
+          stream.write("partial".getBytes("UTF-8"));
+        }
+        catch (Exception e) {
+          throw new RuntimeException(e);
+        }
+      }
+    };
+    thread.start();
+    thread.join();
+    assertEquals("", out.toString());
+
+    stream.close();
+    assertEquals("[INFO] out - partial" + NEWLINE, out.toString());
+  }
+
+  @Test
+  public void testClosedReclaimedWhileWritersLive() throws Exception {
+    final AtomicReference<LoggingOutputStream> holder = new AtomicReference<LoggingOutputStream>(
+        new LoggingOutputStream(logger, Level.INFO, UTF_8));
+    final CountDownLatch written = new CountDownLatch(1);
+    final CountDownLatch done = new CountDownLatch(1);
+    Thread thread = new Thread()
+    {
+      @Override
+      public void run() {
+        try {
+          holder.getAndSet(null).write("partial".getBytes("UTF-8"));
+          written.countDown();
+          done.await();
+        }
+        catch (Exception e) {
+          throw new RuntimeException(e);
+        }
+      }
+    };
+    LoggingOutputStream stream = holder.get();
+    thread.start();
+    written.await();
+
+    stream.close();
+    WeakReference<LoggingOutputStream> ref = new WeakReference<LoggingOutputStream>(stream);
+    stream = null;
+    try {
+      for (int i = 0; i < 50 && ref.get() != null; i++) {
+        System.gc();
+        Thread.sleep(20);
+      }
+      assertNull(ref.get());
+    }
+    finally {
+      done.countDown();
+      thread.join();
+    }
+  }
+
+  @Test
+  public void testSplitCharacter() throws Exception {
+    LoggingOutputStream stream = new LoggingOutputStream(logger, Level.INFO, UTF_8);
+    byte[] bytes = "\u00e9t\u00e9\n".getBytes("UTF-8");
+    for (byte b : bytes) {
+      stream.write(b);
+    }
+    assertEquals("[INFO] out - \u00e9t\u00e9" + NEWLINE, out.toString("UTF-8"));
+  }
+
+  @Test
+  public void testDisabled() throws Exception {
+    LoggingOutputStream stream = new LoggingOutputStream(logger, Level.DEBUG, UTF_8);
+    stream.write("ignored\n".getBytes("UTF-8"));
+    stream.close();
+    assertEquals("", out.toString());
+  }
+
+  @Test
+  public void testInstallOut() {
+    PrintStream previous = LoggingOutputStream.installOut(logger, Level.WARN);
+    try {
+      System.out.println("hello");
+      System.out.print("a");
+      System.out.println("b");
+    }
+    finally {
+      System.setOut(previous);
+    }
+    assertEquals("[WARN] out - hello" + NEWLINE + "[WARN] out - ab" + NEWLINE, out.toString());
+  }
+}
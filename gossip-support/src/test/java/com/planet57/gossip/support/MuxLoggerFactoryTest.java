@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2009-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.planet57.gossip.support;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+
+import com.planet57.gossip.CapturingLogger;
+import com.planet57.gossip.Event;
+import com.planet57.gossip.Level;
+import com.planet57.gossip.LoggerDelegateFactory;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.Marker;
+import org.slf4j.MarkerFactory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link MuxLoggerFactory}.
+ */
+public class MuxLoggerFactoryTest
+{
+  private static final String NEWLINE = System.getProperty("line.separator");
+
+  @Test
+  public void testFanOut() {
+    ByteArrayOutputStream out1 = new ByteArrayOutputStream();
+    PrintStreamLogger log1 = new PrintStreamLogger(new PrintStream(out1), Level.WARN);
+    log1.setName("one");
+
+    ByteArrayOutputStream out2 = new ByteArrayOutputStream();
+    PrintStreamLogger log2 = new PrintStreamLogger(new PrintStream(out2), Level.DEBUG);
+    log2.setName("two");
+
+    Logger log = MuxLoggerFactory.create(log1, log2);
+    assertEquals("one", log.getName());
+
+    // enabled if any target is enabled
+    assertTrue(log.isDebugEnabled());
+    assertFalse(log.isTraceEnabled());
+
+    log.debug("a {} c", "b");
+    log.warn("x {} {}", "y", "z");
+
+    assertEquals("[WARN] one - x y z" + NEWLINE, out1.toString());
+    assertEquals("[DEBUG] two - a b c" + NEWLINE + "[WARN] two - x y z" + NEWLINE, out2.toString());
+  }
+
+  @Test
+  public void testMarkerCaller() {
+    CapturingLogger one = new CapturingLogger("one", Level.INFO);
+    CapturingLogger two = new CapturingLogger("two");
+    Logger log = MuxLoggerFactory.create(one, two);
+    Marker marker = MarkerFactory.getMarker("AUDIT");
+    Throwable cause = new Exception();
+
+    log.debug(marker, "a {}", "b");
+    log.info(marker, "x {}", "y", cause);
+
+    assertEquals(1, one.events.size());
+    assertEquals(2, two.events.size());
+
+    Event event = one.events.get(0);
+    assertSame(marker, event.getMarker());
+    assertEquals("x y", event.getMessage());
+    assertSame(cause, event.getCause());
+
+    // logged through the multiplexing logger, so the caller is found past it
+    String fqcn = MuxLoggerFactory.class.getName() + "$MuxLogger";
+    assertEquals(fqcn, event.getFqcn());
+    assertEquals(fqcn, two.events.get(0).getFqcn());
+    assertEquals("a b", two.events.get(0).getMessage());
+  }
+
+  @Test
+  public void testCallerThroughDelegate() {
+    CapturingLogger target = new CapturingLogger("target");
+    Logger log = MuxLoggerFactory.create(LoggerDelegateFactory.create(target));
+
+    log.info("plain");
+    log.info("a {}", "b");
+    log.warn("cause", new Exception());
+
+    // the delegate passes the outermost wrapper through
+    assertEquals(3, target.events.size());
+    assertEquals("a b", target.events.get(1).getMessage());
+    for (Event event : target.events) {
+      assertEquals(MuxLoggerFactory.class.getName() + "$MuxLogger", event.getFqcn());
+    }
+  }
+}